@@ -1,8 +1,11 @@
 package com.example.dummy;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 
+// Blocking controllers and method security; not available on the reactive stack
 @Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @ComponentScan(basePackageClasses = DummyComponent.class)
 public class DummyComponent {}
@@ -0,0 +1,120 @@
+package com.example.dummy.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.example.auth.security.CompiledMethodSecurityExpressionHandler;
+import com.example.dummy.service.TestService;
+
+/**
+ * Calls the {@link TestService} endpoints through method security with the default SpEL handler and
+ * with {@link CompiledMethodSecurityExpressionHandler}. {@code dynamicPermission} uses an
+ * expression the compiler leaves to SpEL, so it shows the cost of the fallback path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TestServiceAuthorizationBenchmark {
+
+  @Param({"spel", "compiled"})
+  public String handler;
+
+  private AnnotationConfigApplicationContext context;
+  private TestService testService;
+
+  @Configuration
+  @EnableMethodSecurity
+  static class SpelConfig {
+    @Bean
+    public TestService testService() {
+      return new TestService();
+    }
+  }
+
+  @Configuration
+  @EnableMethodSecurity
+  static class CompiledConfig {
+    @Bean
+    static MethodSecurityExpressionHandler methodSecurityExpressionHandler() {
+      return new CompiledMethodSecurityExpressionHandler();
+    }
+
+    @Bean
+    public TestService testService() {
+      return new TestService();
+    }
+  }
+
+  @Setup
+  public void setUp() {
+    context =
+        new AnnotationConfigApplicationContext(
+            "compiled".equals(handler) ? CompiledConfig.class : SpelConfig.class);
+    testService = context.getBean(TestService.class);
+
+    // Benchmark threads are not the setup thread, so share one context across all of them
+    SecurityContextHolder.setStrategyName(SecurityContextHolder.MODE_GLOBAL);
+    SecurityContextHolder.getContext()
+        .setAuthentication(
+            new TestingAuthenticationToken(
+                "bench@example.com", "n/a", "ROLE_USER", "ROLE_MANAGER", "user:read"));
+  }
+
+  @TearDown
+  public void tearDown() {
+    SecurityContextHolder.clearContext();
+    context.close();
+  }
+
+  @Benchmark
+  public String authenticated() {
+    return testService.getAuthenticatedMessage();
+  }
+
+  @Benchmark
+  public String singleRole() {
+    return testService.getUserMessage();
+  }
+
+  @Benchmark
+  public String anyRole() {
+    return testService.getAdminOrManagerMessage();
+  }
+
+  @Benchmark
+  public String bothRoles() {
+    return testService.getUserAndManagerMessage();
+  }
+
+  @Benchmark
+  public String permission() {
+    return testService.getPermissionBasedMessage();
+  }
+
+  @Benchmark
+  public String dynamicPermission() {
+    return testService.getDynamicPermissionMessage("user");
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder()
+                .include(TestServiceAuthorizationBenchmark.class.getSimpleName())
+                .build())
+        .run();
+  }
+}
@@ -0,0 +1,121 @@
+package com.example.dummy.service;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.example.auth.security.CompiledMethodSecurityExpressionHandler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/** Runs the {@link TestService} checks through the compiled expression handler. */
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration
+class TestServiceCompiledExpressionTest {
+
+  @Configuration
+  @EnableMethodSecurity
+  static class TestConfig {
+    @Bean
+    static MethodSecurityExpressionHandler methodSecurityExpressionHandler() {
+      return new CompiledMethodSecurityExpressionHandler();
+    }
+
+    @Bean
+    public TestService testService() {
+      return new TestService();
+    }
+  }
+
+  @Autowired private TestService testService;
+
+  @Nested
+  class AuthenticatedEndpoint {
+    @Test
+    void shouldDenyAccessWhenNotAuthenticated() {
+      assertThrows(
+          AuthenticationCredentialsNotFoundException.class,
+          () -> testService.getAuthenticatedMessage());
+    }
+
+    @Test
+    @WithMockUser
+    void shouldAllowAccessWhenAuthenticated() {
+      assertThat(testService.getAuthenticatedMessage()).contains("requires authentication");
+    }
+  }
+
+  @Nested
+  class RoleEndpoints {
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void shouldDenyAccessWithoutUserRole() {
+      assertThrows(AccessDeniedException.class, () -> testService.getUserMessage());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void shouldAllowAccessWithUserRole() {
+      assertThat(testService.getUserMessage()).contains("USER role");
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void shouldDenyAnyRoleWithoutAdminOrManager() {
+      assertThrows(AccessDeniedException.class, () -> testService.getAdminOrManagerMessage());
+    }
+
+    @Test
+    @WithMockUser(roles = "MANAGER")
+    void shouldAllowAnyRoleWithManager() {
+      assertThat(testService.getAdminOrManagerMessage()).contains("either ADMIN or MANAGER");
+    }
+
+    @Test
+    @WithMockUser(roles = "MANAGER")
+    void shouldDenyBothRolesWithOnlyManager() {
+      assertThrows(AccessDeniedException.class, () -> testService.getUserAndManagerMessage());
+    }
+
+    @Test
+    @WithMockUser(roles = {"USER", "MANAGER"})
+    void shouldAllowBothRolesWithUserAndManager() {
+      assertThat(testService.getUserAndManagerMessage()).contains("both USER and MANAGER");
+    }
+  }
+
+  @Nested
+  class PermissionEndpoints {
+    @Test
+    @WithMockUser(authorities = "user:read")
+    void shouldAllowAccessWithCorrectPermission() {
+      assertThat(testService.getPermissionBasedMessage()).contains("specific permission");
+    }
+
+    @Test
+    @WithMockUser(authorities = {"user:write", "ROLE_USER"})
+    void shouldDenyAccessWithWrongPermission() {
+      assertThrows(AccessDeniedException.class, () -> testService.getPermissionBasedMessage());
+    }
+
+    @Test
+    @WithMockUser(authorities = "user:read")
+    void shouldEvaluateDynamicPermissionThroughSpel() {
+      assertThat(testService.getDynamicPermissionMessage("user"))
+          .contains("dynamic permission: user:read");
+      assertThrows(
+          AccessDeniedException.class, () -> testService.getDynamicPermissionMessage("role"));
+    }
+  }
+}
@@ -1,8 +1,21 @@
 package com.example.auth;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 
+import com.example.auth.model.User;
+import com.example.auth.repository.UserRepository;
+
+/**
+ * Servlet stack on JPA, including the repository and entity scanning applications used to declare.
+ * {@link com.example.auth.reactive.ReactiveUserAuthComponent} replaces it on WebFlux.
+ */
 @Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @ComponentScan(basePackageClasses = UserAuthComponent.class)
+@EnableJpaRepositories(basePackageClasses = UserRepository.class)
+@EntityScan(basePackageClasses = User.class)
 public class UserAuthComponent {}
@@ -0,0 +1,47 @@
+package com.example.auth.config;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.auth.security.InProcessInvalidationBus;
+import com.example.auth.security.InvalidationBus;
+import com.example.auth.security.PostgresInvalidationBus;
+
+/**
+ * Invalidation bus selected by {@code auth.invalidation.bus}: {@code in-process} for a single node,
+ * or {@code postgres} to reach every node that shares the PostgreSQL database.
+ */
+@Configuration
+public class InvalidationConfig {
+  @Value("${auth.invalidation.flush-interval:100ms}")
+  private Duration flushInterval;
+
+  @Value("${auth.invalidation.max-keys:500}")
+  private int maxKeys;
+
+  @Bean
+  @ConditionalOnProperty(
+      name = "auth.invalidation.bus",
+      havingValue = "in-process",
+      matchIfMissing = true)
+  public InvalidationBus inProcessInvalidationBus() {
+    return new InProcessInvalidationBus(flushInterval, maxKeys);
+  }
+
+  /** Servlet stack only; needs the PostgreSQL JDBC driver. */
+  @Bean
+  @ConditionalOnProperty(name = "auth.invalidation.bus", havingValue = "postgres")
+  @ConditionalOnClass(name = "org.postgresql.PGConnection")
+  public InvalidationBus postgresInvalidationBus(
+      DataSource dataSource,
+      @Value("${auth.invalidation.channel:auth_invalidation}") String channel) {
+    return new PostgresInvalidationBus(dataSource, channel, flushInterval, maxKeys);
+  }
+}
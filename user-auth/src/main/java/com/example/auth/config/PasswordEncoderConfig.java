@@ -0,0 +1,37 @@
+package com.example.auth.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.auth.security.BoundedPasswordEncoder;
+import com.example.auth.security.PasswordHashCalibrator;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/** Password hashing shared by the servlet and reactive security configurations. */
+@Configuration
+public class PasswordEncoderConfig {
+  /**
+   * Hashes off the request threads with a cost calibrated to this machine at startup. A thread
+   * count of 0 means one per available processor.
+   */
+  @Bean
+  public BoundedPasswordEncoder passwordEncoder(
+      @Value("${auth.password-hashing.algorithm:bcrypt}") String algorithm,
+      @Value("${auth.password-hashing.target-latency:0}") Duration targetLatency,
+      @Value("${auth.password-hashing.threads:0}") int threads,
+      @Value("${auth.password-hashing.queue-capacity:64}") int queueCapacity,
+      @Value("${auth.password-hashing.max-wait:2s}") Duration maxWait,
+      ObjectProvider<MeterRegistry> meterRegistry) {
+    return new BoundedPasswordEncoder(
+        new PasswordHashCalibrator(targetLatency).delegatingEncoder(algorithm),
+        threads > 0 ? threads : Runtime.getRuntime().availableProcessors(),
+        queueCapacity,
+        maxWait,
+        meterRegistry);
+  }
+}
@@ -0,0 +1,31 @@
+package com.example.auth.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.auth.model.PooledSequenceGenerator;
+
+/**
+ * Hibernate settings for batched writes. Sequence ids are reserved {@code auth.id.allocation-size}
+ * at a time, so inserts need no round trip for the key and are sent in JDBC batches, ordered by
+ * entity so each batch holds one statement. Explicit {@code spring.jpa.properties} win.
+ */
+@Configuration
+public class PersistenceConfig {
+  private static final int DEFAULT_BATCH_SIZE = 50;
+
+  @Bean
+  public HibernatePropertiesCustomizer batchingHibernateProperties(
+      @Value("${auth.id.allocation-size:" + PooledSequenceGenerator.DEFAULT_ALLOCATION_SIZE + "}")
+          int allocationSize) {
+    return properties -> {
+      properties.putIfAbsent(PooledSequenceGenerator.ALLOCATION_SIZE, allocationSize);
+      properties.putIfAbsent(AvailableSettings.STATEMENT_BATCH_SIZE, DEFAULT_BATCH_SIZE);
+      properties.putIfAbsent(AvailableSettings.ORDER_INSERTS, true);
+      properties.putIfAbsent(AvailableSettings.ORDER_UPDATES, true);
+    };
+  }
+}
@@ -0,0 +1,37 @@
+package com.example.auth.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.example.auth.security.InMemoryRefreshTokenStore;
+import com.example.auth.security.JdbcRefreshTokenStore;
+import com.example.auth.security.RefreshTokenStore;
+
+/**
+ * Refresh-token store selected by {@code auth.refresh-tokens.store}: {@code memory} for a single
+ * node, or {@code jdbc} to share tokens between nodes. Scheduling runs the expiry sweeper.
+ */
+@Configuration
+@EnableScheduling
+public class RefreshTokenConfig {
+  @Bean
+  @ConditionalOnProperty(
+      name = "auth.refresh-tokens.store",
+      havingValue = "memory",
+      matchIfMissing = true)
+  public RefreshTokenStore inMemoryRefreshTokenStore() {
+    return new InMemoryRefreshTokenStore();
+  }
+
+  /** Needs the tables from {@code db/refresh-tokens/schema.sql}; servlet stack only. */
+  @Bean
+  @ConditionalOnProperty(name = "auth.refresh-tokens.store", havingValue = "jdbc")
+  public RefreshTokenStore jdbcRefreshTokenStore(
+      JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+    return new JdbcRefreshTokenStore(jdbcTemplate, transactionManager);
+  }
+}
@@ -0,0 +1,36 @@
+package com.example.auth.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import com.example.auth.security.InMemoryRevocationLog;
+import com.example.auth.security.JdbcRevocationLog;
+import com.example.auth.security.RevocationLog;
+
+/**
+ * Revocation log selected by {@code auth.revocation.log}: {@code memory} for a single node, or
+ * {@code jdbc} so revocations survive restarts and reach nodes when they start. Scheduling runs the
+ * denylist sweeper.
+ */
+@Configuration
+@EnableScheduling
+public class RevocationConfig {
+  @Bean
+  @ConditionalOnProperty(
+      name = "auth.revocation.log",
+      havingValue = "memory",
+      matchIfMissing = true)
+  public RevocationLog inMemoryRevocationLog() {
+    return new InMemoryRevocationLog();
+  }
+
+  /** Needs the table from {@code db/revocation/schema.sql}; servlet stack only. */
+  @Bean
+  @ConditionalOnProperty(name = "auth.revocation.log", havingValue = "jdbc")
+  public RevocationLog jdbcRevocationLog(JdbcTemplate jdbcTemplate) {
+    return new JdbcRevocationLog(jdbcTemplate);
+  }
+}
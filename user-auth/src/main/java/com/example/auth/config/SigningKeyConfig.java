@@ -0,0 +1,60 @@
+package com.example.auth.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import com.example.auth.security.InMemorySigningKeyStore;
+import com.example.auth.security.JdbcSigningKeyStore;
+import com.example.auth.security.SigningKeyRing;
+import com.example.auth.security.SigningKeyStore;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+
+/**
+ * Key ring for {@code jwt.algorithm} {@code RS256} or {@code ES256}, with the key store selected by
+ * {@code jwt.keys.store}: {@code memory} for a single node, or {@code jdbc} so every node signs
+ * with and publishes the same keys. Scheduling runs the rotation. With the default {@code HS256}
+ * tokens are signed with {@code jwt.secret} and none of this is created.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnExpression("!'${jwt.algorithm:HS256}'.equalsIgnoreCase('HS256')")
+public class SigningKeyConfig {
+  @Bean
+  @ConditionalOnProperty(name = "jwt.keys.store", havingValue = "memory", matchIfMissing = true)
+  public SigningKeyStore inMemorySigningKeyStore() {
+    return new InMemorySigningKeyStore();
+  }
+
+  /** Needs the table from {@code db/signing-keys/schema.sql}; servlet stack only. */
+  @Bean
+  @ConditionalOnProperty(name = "jwt.keys.store", havingValue = "jdbc")
+  public SigningKeyStore jdbcSigningKeyStore(JdbcTemplate jdbcTemplate) {
+    return new JdbcSigningKeyStore(jdbcTemplate);
+  }
+
+  @Bean
+  @DependsOnDatabaseInitialization
+  public SigningKeyRing signingKeyRing(
+      SigningKeyStore store,
+      @Value("${jwt.algorithm}") String algorithm,
+      @Value("${jwt.keys.rotation-interval:7d}") Duration rotationInterval,
+      @Value("${jwt.keys.activation-delay:10m}") Duration activationDelay,
+      @Value("${jwt.expiration}") long accessTokenExpiration,
+      @Value("${jwt.refresh-expiration}") long refreshTokenExpiration) {
+    return new SigningKeyRing(
+        store,
+        SignatureAlgorithm.forName(algorithm.toUpperCase()),
+        rotationInterval,
+        activationDelay,
+        Duration.ofMillis(Math.max(accessTokenExpiration, refreshTokenExpiration)));
+  }
+}
@@ -5,6 +5,8 @@ import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import com.example.auth.dto.*;
+import com.example.auth.middleware.JwtAuthenticationFilter;
+import com.example.auth.model.ParsedToken;
 import com.example.auth.service.UserService;
 
 import jakarta.validation.Valid;
@@ -27,20 +29,21 @@ public class AuthController {
   }
 
   @PostMapping("/logout")
-  public ResponseEntity<Void> logout(@RequestHeader("Authorization") @Valid String token) {
+  public ResponseEntity<Void> logout(
+      @RequestAttribute(JwtAuthenticationFilter.PARSED_TOKEN_ATTRIBUTE) ParsedToken token) {
     userService.logout(token);
     return ResponseEntity.ok().build();
   }
 
   @PostMapping("/refresh")
   public ResponseEntity<TokenResponse> refreshToken(
-      @RequestHeader("Authorization") String refreshToken) {
+      @RequestAttribute(JwtAuthenticationFilter.PARSED_TOKEN_ATTRIBUTE) ParsedToken refreshToken) {
     return ResponseEntity.ok(userService.refreshToken(refreshToken));
   }
 
   @PostMapping("/change-password")
   public ResponseEntity<Void> changePassword(
-      @RequestHeader("Authorization") String token,
+      @RequestAttribute(JwtAuthenticationFilter.PARSED_TOKEN_ATTRIBUTE) ParsedToken token,
       @RequestParam @Valid String oldPassword,
       @RequestParam @Valid String newPassword) {
     userService.changePassword(token, oldPassword, newPassword);
@@ -48,7 +51,8 @@ public class AuthController {
   }
 
   @DeleteMapping("/delete")
-  public ResponseEntity<Void> deleteUser(@RequestHeader("Authorization") @Valid String token) {
+  public ResponseEntity<Void> deleteUser(
+      @RequestAttribute(JwtAuthenticationFilter.PARSED_TOKEN_ATTRIBUTE) ParsedToken token) {
     userService.deleteUser(token);
     return ResponseEntity.ok().build();
   }
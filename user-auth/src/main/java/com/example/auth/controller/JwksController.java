@@ -0,0 +1,59 @@
+package com.example.auth.controller;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.auth.security.SigningKeyRing;
+
+/**
+ * Publishes the token verification keys so other services can verify tokens locally. The document
+ * is prerendered by {@link SigningKeyRing}; clients revalidate with {@code If-None-Match} once
+ * their copy is {@code jwt.keys.jwks-max-age} old. Lists no keys when tokens are signed with the
+ * shared HS256 secret. Written against the common annotations so the reactive stack reuses it.
+ */
+@RestController
+public class JwksController {
+  private static final byte[] NO_KEYS = "{\"keys\":[]}".getBytes(StandardCharsets.UTF_8);
+
+  private final ObjectProvider<SigningKeyRing> signingKeyRing;
+  private final CacheControl cacheControl;
+
+  public JwksController(
+      ObjectProvider<SigningKeyRing> signingKeyRing,
+      @Value("${jwt.keys.jwks-max-age:5m}") Duration maxAge) {
+    this.signingKeyRing = signingKeyRing;
+    this.cacheControl = CacheControl.maxAge(maxAge).cachePublic();
+  }
+
+  @GetMapping("/.well-known/jwks.json")
+  public ResponseEntity<byte[]> jwks(
+      @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+    SigningKeyRing ring = signingKeyRing.getIfAvailable();
+    if (ring == null) {
+      return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(NO_KEYS);
+    }
+    String etag = ring.jwksEtag();
+    if (etag.equals(ifNoneMatch)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+          .eTag(etag)
+          .cacheControl(cacheControl)
+          .build();
+    }
+    return ResponseEntity.ok()
+        .eTag(etag)
+        .cacheControl(cacheControl)
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(ring.jwks());
+  }
+}
@@ -6,6 +6,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import com.example.auth.dto.CreateRoleRequest;
+import com.example.auth.dto.RoleMemberPageResponse;
 import com.example.auth.dto.RoleResponse;
 import com.example.auth.dto.UpdateRoleRequest;
 import com.example.auth.service.RoleService;
@@ -29,6 +30,14 @@ public class RoleController {
     return ResponseEntity.ok(roleService.getRoleById(id));
   }
 
+  @GetMapping("/{id}/members")
+  public ResponseEntity<RoleMemberPageResponse> getRoleMembers(
+      @PathVariable Long id,
+      @RequestParam(required = false) Long afterId,
+      @RequestParam(defaultValue = "100") int limit) {
+    return ResponseEntity.ok(roleService.getRoleMembers(id, afterId, limit));
+  }
+
   @PostMapping
   public ResponseEntity<RoleResponse> createRole(@Valid @RequestBody CreateRoleRequest request) {
     return ResponseEntity.ok(roleService.createRole(request));
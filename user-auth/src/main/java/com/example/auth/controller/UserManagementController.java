@@ -1,12 +1,20 @@
 package com.example.auth.controller;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.example.auth.dto.BulkUserRolesRequest;
+import com.example.auth.dto.BulkUserRolesResponse;
 import com.example.auth.dto.CurrentUserResponse;
 import com.example.auth.dto.UpdateUserRolesRequest;
+import com.example.auth.dto.UserPageResponse;
+import com.example.auth.service.UserImportService;
 import com.example.auth.service.UserService;
 
 import jakarta.validation.Valid;
@@ -17,10 +25,31 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class UserManagementController {
   private final UserService userService;
+  private final UserImportService userImportService;
 
   @GetMapping
-  public ResponseEntity<List<CurrentUserResponse>> getAllUsers() {
-    return ResponseEntity.ok(userService.getAllUsers());
+  public ResponseEntity<UserPageResponse> getAllUsers(
+      @RequestParam(required = false) Long afterId, @RequestParam(defaultValue = "100") int limit) {
+    return ResponseEntity.ok(userService.getUsers(afterId, limit));
+  }
+
+  @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> exportUsers() {
+    return ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_NDJSON)
+        .body(userService.exportUsers());
+  }
+
+  @PostMapping(
+      path = "/import",
+      consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE},
+      produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> importUsers(
+      @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType, InputStream body)
+      throws IOException {
+    return ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_NDJSON)
+        .body(userImportService.importUsers(body, contentType));
   }
 
   @GetMapping("/{id}")
@@ -35,6 +64,12 @@ public class UserManagementController {
     return ResponseEntity.ok().build();
   }
 
+  @PutMapping("/roles")
+  public ResponseEntity<BulkUserRolesResponse> updateRoleMembers(
+      @Valid @RequestBody BulkUserRolesRequest request) {
+    return ResponseEntity.ok(userService.updateRoleMembers(request));
+  }
+
   @DeleteMapping("/{id}")
   public ResponseEntity<Void> deleteUserById(@PathVariable Long id) {
     userService.deleteUserById(id);
@@ -0,0 +1,38 @@
+package com.example.auth.dto;
+
+import java.util.Set;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkUserRolesRequest {
+  public static final int MAX_USERS = 1000;
+
+  public enum Action {
+    ASSIGN,
+    REVOKE
+  }
+
+  @NotNull(message = "Action is required")
+  private Action action;
+
+  @NotNull(message = "Role name is required")
+  @Pattern(
+      regexp = "^ROLE_[A-Z]+$",
+      message = "Role names must start with 'ROLE_' and contain only uppercase letters")
+  private String roleName;
+
+  @NotEmpty(message = "User ids cannot be empty")
+  @Size(max = MAX_USERS, message = "At most " + MAX_USERS + " user ids per request")
+  private Set<@NotNull Long> userIds;
+}
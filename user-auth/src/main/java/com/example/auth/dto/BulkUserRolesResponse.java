@@ -0,0 +1,15 @@
+package com.example.auth.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkUserRolesResponse {
+  // Users whose roles changed; users that already had, or lacked, the role are not counted
+  private int updated;
+}
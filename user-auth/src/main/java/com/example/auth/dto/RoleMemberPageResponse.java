@@ -0,0 +1,18 @@
+package com.example.auth.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class RoleMemberPageResponse {
+  private List<RoleMemberResponse> members;
+  // Pass as afterId to fetch the next page; null on the last page
+  private Long nextCursor;
+}
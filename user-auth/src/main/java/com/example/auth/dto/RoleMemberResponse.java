@@ -0,0 +1,17 @@
+package com.example.auth.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class RoleMemberResponse {
+  private Long id;
+  private String email;
+  private String firstName;
+  private String lastName;
+}
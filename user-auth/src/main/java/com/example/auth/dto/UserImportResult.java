@@ -0,0 +1,29 @@
+package com.example.auth.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Outcome of one row of a bulk user import, streamed back as one NDJSON line per row. */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserImportResult {
+  public enum Status {
+    CREATED,
+    // The email exists already, or appeared earlier in the same import
+    DUPLICATE,
+    INVALID,
+    // Valid, but its chunk could not be written
+    FAILED
+  }
+
+  // 1-based line of the input; for CSV the header is line 1
+  private long line;
+  private String email;
+  private Status status;
+  private Long id;
+  private String message;
+}
@@ -10,7 +10,13 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.example.auth.model.AuthenticatedUser;
+import com.example.auth.model.ParsedToken;
+import com.example.auth.model.VerifiedToken;
+import com.example.auth.service.AccessTokenDenylist;
+import com.example.auth.service.AuthorizationEpochRegistry;
 import com.example.auth.service.JwtService;
+import com.example.auth.service.VerifiedTokenCache;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -21,8 +27,17 @@ import lombok.RequiredArgsConstructor;
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
+  /**
+   * Request attribute holding the bearer token's {@link ParsedToken}, access or refresh, so
+   * controllers act on the claims verified here instead of parsing the header again.
+   */
+  public static final String PARSED_TOKEN_ATTRIBUTE = "com.example.auth.parsedToken";
+
   private final JwtService jwtService;
   private final UserDetailsService userDetailsService;
+  private final AuthorizationEpochRegistry authorizationEpochRegistry;
+  private final AccessTokenDenylist accessTokenDenylist;
+  private final VerifiedTokenCache verifiedTokenCache;
 
   @Override
   protected void doFilterInternal(
@@ -30,7 +45,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
       throws ServletException, IOException {
     final String authHeader = request.getHeader("Authorization");
     final String jwt;
-    final String userEmail;
+    final VerifiedToken verified;
 
     if (authHeader == null || !authHeader.startsWith("Bearer ")) {
       filterChain.doFilter(request, response);
@@ -38,11 +53,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     }
 
     jwt = authHeader.substring(7);
-    userEmail = jwtService.extractUsername(jwt);
+    verified = verifiedTokenCache.get(jwt, token -> verify(token, request));
 
-    if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-      UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
-      if (jwtService.isTokenValid(jwt, userDetails)) {
+    // Revocation is checked on every request, cached or not
+    if (verified != null && !accessTokenDenylist.isRevoked(verified.token())) {
+      request.setAttribute(PARSED_TOKEN_ATTRIBUTE, verified.token());
+      if (SecurityContextHolder.getContext().getAuthentication() == null) {
+        UserDetails userDetails = verified.userDetails();
         UsernamePasswordAuthenticationToken authToken =
             new UsernamePasswordAuthenticationToken(
                 userDetails, null, userDetails.getAuthorities());
@@ -52,4 +69,33 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     }
     filterChain.doFilter(request, response);
   }
+
+  // Refresh tokens authenticate no one here, so they stop before the user lookup; the refresh
+  // endpoint reads the parsed token from the request instead
+  private VerifiedToken verify(String jwt, HttpServletRequest request) {
+    long verifiedAt = System.currentTimeMillis();
+    ParsedToken token = jwtService.parseToken(jwt);
+    if (!token.isAccessToken()) {
+      request.setAttribute(PARSED_TOKEN_ATTRIBUTE, token);
+      return null;
+    }
+    if (token.subject() == null || accessTokenDenylist.isRevoked(token)) {
+      return null;
+    }
+    UserDetails userDetails = resolveUserDetails(token);
+    return jwtService.isTokenValid(token, userDetails)
+        ? new VerifiedToken(token, userDetails, verifiedAt)
+        : null;
+  }
+
+  // Tokens with current authorization claims are trusted as-is; anything else is checked against
+  // the database so stale roles and deleted users are never authenticated from the token alone
+  private UserDetails resolveUserDetails(ParsedToken token) {
+    if (jwtService.isStatelessAuthentication()
+        && token.hasAuthorizationClaims()
+        && authorizationEpochRegistry.isCurrent(token)) {
+      return AuthenticatedUser.fromToken(token);
+    }
+    return this.userDetailsService.loadUserByUsername(token.subject());
+  }
 }
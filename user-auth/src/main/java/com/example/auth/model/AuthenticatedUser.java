@@ -0,0 +1,55 @@
+package com.example.auth.model;
+
+import java.util.Collection;
+import java.util.Set;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Immutable principal that is detached from the persistence context. Used when a request is
+ * authenticated from verified token claims, and as the cached snapshot of a {@link User} entity.
+ */
+@Getter
+@ToString(exclude = "password")
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public final class AuthenticatedUser implements UserDetails {
+  private final Long id;
+  @EqualsAndHashCode.Include private final String username;
+  private final String password;
+  private final Set<GrantedAuthority> authorities;
+
+  public AuthenticatedUser(
+      Long id,
+      String username,
+      String password,
+      Collection<? extends GrantedAuthority> authorities) {
+    this.id = id;
+    this.username = username;
+    this.password = password;
+    this.authorities = Set.copyOf(authorities);
+  }
+
+  public static AuthenticatedUser fromEntity(User user) {
+    return new AuthenticatedUser(
+        user.getId(), user.getEmail(), user.getPassword(), user.getAuthorities());
+  }
+
+  public static AuthenticatedUser fromToken(ParsedToken token) {
+    return new AuthenticatedUser(
+        null, token.subject(), null, AuthorityRegistry.forNames(token.authorities()));
+  }
+
+  public boolean hasAuthority(String authority) {
+    for (GrantedAuthority granted : authorities) {
+      if (authority.equals(granted.getAuthority())) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,87 @@
+package com.example.auth.model;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+/**
+ * Interned, immutable authority sets per role and per combination of roles. Keys include the role's
+ * permissions, so a cached set can never be stale; {@link #evictRole} only releases entries that
+ * will not be requested again after a role was changed or removed.
+ */
+public final class AuthorityRegistry {
+  private static final Map<String, GrantedAuthority> AUTHORITIES = new ConcurrentHashMap<>();
+  private static final Map<RoleKey, Set<GrantedAuthority>> ROLES = new ConcurrentHashMap<>();
+  private static final Map<Set<RoleKey>, Set<GrantedAuthority>> COMBINATIONS =
+      new ConcurrentHashMap<>();
+  private static final Map<Set<String>, Set<GrantedAuthority>> NAMED = new ConcurrentHashMap<>();
+
+  private AuthorityRegistry() {}
+
+  public static GrantedAuthority authority(String name) {
+    return AUTHORITIES.computeIfAbsent(name, SimpleGrantedAuthority::new);
+  }
+
+  /** The role's own name plus every permission it grants. */
+  public static Set<GrantedAuthority> forRole(Role role) {
+    return ROLES.computeIfAbsent(RoleKey.of(role), AuthorityRegistry::computeRole);
+  }
+
+  public static Set<GrantedAuthority> forRoles(Collection<Role> roles) {
+    if (roles.size() == 1) {
+      return forRole(roles.iterator().next());
+    }
+    Set<RoleKey> key = new HashSet<>();
+    for (Role role : roles) {
+      key.add(RoleKey.of(role));
+    }
+    return COMBINATIONS.computeIfAbsent(Set.copyOf(key), AuthorityRegistry::computeCombination);
+  }
+
+  /** Authorities by name, e.g. as carried in token claims. */
+  public static Set<GrantedAuthority> forNames(Set<String> names) {
+    return NAMED.computeIfAbsent(Set.copyOf(names), AuthorityRegistry::computeNamed);
+  }
+
+  public static void evictRole(String roleName) {
+    ROLES.keySet().removeIf(key -> key.name().equals(roleName));
+    COMBINATIONS.keySet().removeIf(key -> key.stream().anyMatch(k -> k.name().equals(roleName)));
+    NAMED.keySet().removeIf(names -> names.contains(roleName));
+  }
+
+  private static Set<GrantedAuthority> computeRole(RoleKey key) {
+    Set<GrantedAuthority> authorities = new HashSet<>();
+    authorities.add(authority(key.name()));
+    for (Permission permission : PermissionSet.fromMask(key.permissionMask())) {
+      authorities.add(authority(permission.getPermission()));
+    }
+    return Set.copyOf(authorities);
+  }
+
+  private static Set<GrantedAuthority> computeCombination(Set<RoleKey> keys) {
+    Set<GrantedAuthority> authorities = new HashSet<>();
+    for (RoleKey key : keys) {
+      authorities.addAll(ROLES.computeIfAbsent(key, AuthorityRegistry::computeRole));
+    }
+    return Set.copyOf(authorities);
+  }
+
+  private static Set<GrantedAuthority> computeNamed(Set<String> names) {
+    Set<GrantedAuthority> authorities = new HashSet<>();
+    for (String name : names) {
+      authorities.add(authority(name));
+    }
+    return Set.copyOf(authorities);
+  }
+
+  private record RoleKey(String name, long permissionMask) {
+    static RoleKey of(Role role) {
+      return new RoleKey(role.getName(), role.getPermissions().mask());
+    }
+  }
+}
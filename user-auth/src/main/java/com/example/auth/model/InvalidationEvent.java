@@ -0,0 +1,54 @@
+package com.example.auth.model;
+
+import java.time.Instant;
+
+/**
+ * A change to per-node state that other nodes must apply: a user's data ({@link Type#SUBJECT}), a
+ * role's permissions ({@link Type#ROLE}), anything ({@link Type#ALL}, which replaces many of the
+ * former), or an access-token revocation. Events are idempotent and equal events are
+ * interchangeable, which is what lets a bus coalesce them.
+ */
+public record InvalidationEvent(Type type, String key, Instant issuedBefore, Instant expiresAt) {
+  public enum Type {
+    SUBJECT,
+    ROLE,
+    ALL,
+    TOKEN_REVOKED,
+    SUBJECT_REVOKED;
+
+    /** Whether a {@link #ALL} event covers events of this type. */
+    public boolean isCoveredByAll() {
+      return this == SUBJECT || this == ROLE;
+    }
+  }
+
+  private static final InvalidationEvent ALL = new InvalidationEvent(Type.ALL, null, null, null);
+
+  public static InvalidationEvent subject(String subject) {
+    return new InvalidationEvent(Type.SUBJECT, subject, null, null);
+  }
+
+  public static InvalidationEvent role(String roleName) {
+    return new InvalidationEvent(Type.ROLE, roleName, null, null);
+  }
+
+  public static InvalidationEvent all() {
+    return ALL;
+  }
+
+  public static InvalidationEvent revocation(RevocationEntry entry) {
+    Type type =
+        entry.kind() == RevocationEntry.Kind.TOKEN ? Type.TOKEN_REVOKED : Type.SUBJECT_REVOKED;
+    return new InvalidationEvent(type, entry.value(), entry.issuedBefore(), entry.expiresAt());
+  }
+
+  public boolean isRevocation() {
+    return type == Type.TOKEN_REVOKED || type == Type.SUBJECT_REVOKED;
+  }
+
+  public RevocationEntry toRevocation() {
+    RevocationEntry.Kind kind =
+        type == Type.TOKEN_REVOKED ? RevocationEntry.Kind.TOKEN : RevocationEntry.Kind.SUBJECT;
+    return new RevocationEntry(kind, key, issuedBefore, expiresAt);
+  }
+}
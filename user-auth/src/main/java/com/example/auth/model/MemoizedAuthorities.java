@@ -0,0 +1,24 @@
+package com.example.auth.model;
+
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.springframework.security.core.GrantedAuthority;
+
+/** Per-entity memo of an interned authority set, so repeated lookups allocate nothing. */
+final class MemoizedAuthorities {
+  private volatile Set<GrantedAuthority> value;
+
+  Set<GrantedAuthority> get(Supplier<Set<GrantedAuthority>> resolver) {
+    Set<GrantedAuthority> current = value;
+    if (current == null) {
+      current = resolver.get();
+      value = current;
+    }
+    return current;
+  }
+
+  void reset() {
+    value = null;
+  }
+}
@@ -0,0 +1,45 @@
+package com.example.auth.model;
+
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * Claims of a JWT whose signature has already been verified. Produced once per request by {@code
+ * JwtService.parseToken} so callers never verify or parse the same token twice.
+ *
+ * <p>{@code type} is {@code null} for tokens issued before the token type claim was introduced.
+ * {@code authorities} and {@code authorizationEpoch} are only present on access tokens issued with
+ * stateless authentication enabled. {@code tokenId} is the {@code jti}, which keys refresh tokens
+ * in the refresh-token store and access tokens in the denylist; {@code familyId} is the login
+ * session a refresh or access token belongs to.
+ */
+public record ParsedToken(
+    String subject,
+    Instant issuedAt,
+    Instant expiresAt,
+    Set<String> authorities,
+    TokenType type,
+    Long authorizationEpoch,
+    String tokenId,
+    String familyId) {
+
+  public ParsedToken {
+    authorities = authorities == null ? Set.of() : Set.copyOf(authorities);
+  }
+
+  public boolean isExpired() {
+    return expiresAt != null && !expiresAt.isAfter(Instant.now());
+  }
+
+  public boolean isAccessToken() {
+    return type == null || type == TokenType.ACCESS;
+  }
+
+  public boolean hasAuthorizationClaims() {
+    return authorizationEpoch != null;
+  }
+
+  public boolean isRefreshToken() {
+    return type == null || type == TokenType.REFRESH;
+  }
+}
@@ -1,27 +1,50 @@
 package com.example.auth.model;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import lombok.Getter;
 
 @Getter
 public enum Permission {
   // User management permissions
-  USER_READ("user:read"),
-  USER_CREATE("user:create"),
-  USER_UPDATE("user:update"),
-  USER_DELETE("user:delete"),
+  USER_READ(0, "user:read"),
+  USER_CREATE(1, "user:create"),
+  USER_UPDATE(2, "user:update"),
+  USER_DELETE(3, "user:delete"),
 
   // Role management permissions
-  ROLE_READ("role:read"),
-  ROLE_CREATE("role:create"),
-  ROLE_UPDATE("role:update"),
-  ROLE_DELETE("role:delete"),
+  ROLE_READ(4, "role:read"),
+  ROLE_CREATE(5, "role:create"),
+  ROLE_UPDATE(6, "role:update"),
+  ROLE_DELETE(7, "role:delete"),
 
   // Admin permissions
-  ADMIN_ACCESS("admin:access");
+  ADMIN_ACCESS(8, "admin:access");
+
+  private static final Map<String, Permission> BY_AUTHORITY = new HashMap<>();
+
+  static {
+    for (Permission permission : values()) {
+      BY_AUTHORITY.put(permission.permission, permission);
+    }
+  }
 
+  // Bit positions are persisted in roles.permission_mask; never reuse or renumber them
+  private final int bit;
   private final String permission;
 
-  Permission(String permission) {
+  Permission(int bit, String permission) {
+    this.bit = bit;
     this.permission = permission;
   }
+
+  public long mask() {
+    return 1L << bit;
+  }
+
+  /** The permission granted by an authority string such as {@code user:read}, or null. */
+  public static Permission fromAuthority(String authority) {
+    return BY_AUTHORITY.get(authority);
+  }
 }
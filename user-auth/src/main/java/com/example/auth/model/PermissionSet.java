@@ -0,0 +1,155 @@
+package com.example.auth.model;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.springframework.security.core.GrantedAuthority;
+
+/**
+ * Immutable set of permissions stored as a {@code long} bitmask. Membership and containment checks
+ * are single bitwise operations, and instances are interned per mask so lookups allocate nothing.
+ */
+public final class PermissionSet extends AbstractSet<Permission> {
+  private static final Permission[] BY_BIT = new Permission[Long.SIZE];
+  private static final long ALL_MASK;
+  private static final PermissionSet[] INTERNED;
+
+  static {
+    long all = 0;
+    int highestBit = 0;
+    for (Permission permission : Permission.values()) {
+      BY_BIT[permission.getBit()] = permission;
+      all |= permission.mask();
+      highestBit = Math.max(highestBit, permission.getBit());
+    }
+    ALL_MASK = all;
+    INTERNED = new PermissionSet[1 << (highestBit + 1)];
+    for (int mask = 0; mask < INTERNED.length; mask++) {
+      INTERNED[mask] = new PermissionSet(mask & ALL_MASK);
+    }
+  }
+
+  private final long mask;
+
+  private PermissionSet(long mask) {
+    this.mask = mask;
+  }
+
+  public static PermissionSet empty() {
+    return INTERNED[0];
+  }
+
+  /** Unknown bits, e.g. written by a newer version, are ignored. */
+  public static PermissionSet fromMask(long mask) {
+    return INTERNED[(int) (mask & ALL_MASK)];
+  }
+
+  public static PermissionSet of(Permission... permissions) {
+    long mask = 0;
+    for (Permission permission : permissions) {
+      mask |= permission.mask();
+    }
+    return fromMask(mask);
+  }
+
+  public static PermissionSet copyOf(Collection<Permission> permissions) {
+    if (permissions instanceof PermissionSet set) {
+      return set;
+    }
+    long mask = 0;
+    if (permissions != null) {
+      for (Permission permission : permissions) {
+        mask |= permission.mask();
+      }
+    }
+    return fromMask(mask);
+  }
+
+  /** The permissions among {@code authorities}; role names and unknown authorities are skipped. */
+  public static PermissionSet fromAuthorities(Collection<? extends GrantedAuthority> authorities) {
+    long mask = 0;
+    for (GrantedAuthority authority : authorities) {
+      Permission permission = Permission.fromAuthority(authority.getAuthority());
+      if (permission != null) {
+        mask |= permission.mask();
+      }
+    }
+    return fromMask(mask);
+  }
+
+  public long mask() {
+    return mask;
+  }
+
+  public PermissionSet union(PermissionSet other) {
+    return fromMask(mask | other.mask);
+  }
+
+  public boolean containsAll(PermissionSet other) {
+    return (mask & other.mask) == other.mask;
+  }
+
+  public boolean containsAny(PermissionSet other) {
+    return (mask & other.mask) != 0;
+  }
+
+  @Override
+  public boolean contains(Object o) {
+    return o instanceof Permission permission && (mask & permission.mask()) != 0;
+  }
+
+  @Override
+  public boolean containsAll(Collection<?> c) {
+    if (c instanceof PermissionSet other) {
+      return containsAll(other);
+    }
+    return super.containsAll(c);
+  }
+
+  @Override
+  public int size() {
+    return Long.bitCount(mask);
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return mask == 0;
+  }
+
+  @Override
+  public Iterator<Permission> iterator() {
+    return new Iterator<>() {
+      private long remaining = mask;
+
+      @Override
+      public boolean hasNext() {
+        return remaining != 0;
+      }
+
+      @Override
+      public Permission next() {
+        if (remaining == 0) {
+          throw new NoSuchElementException();
+        }
+        int bit = Long.numberOfTrailingZeros(remaining);
+        remaining &= remaining - 1;
+        return BY_BIT[bit];
+      }
+    };
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (o instanceof PermissionSet other) {
+      return mask == other.mask;
+    }
+    return super.equals(o);
+  }
+
+  @Override
+  public int hashCode() {
+    return super.hashCode();
+  }
+}
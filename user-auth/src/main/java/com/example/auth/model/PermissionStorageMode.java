@@ -0,0 +1,10 @@
+package com.example.auth.model;
+
+/** How role permissions are persisted. */
+public enum PermissionStorageMode {
+  /** {@code roles.permission_mask} is authoritative and mirrored into {@code role_permissions}. */
+  DUAL,
+
+  /** Only {@code roles.permission_mask} is written; {@code role_permissions} rows are removed. */
+  BITMASK
+}
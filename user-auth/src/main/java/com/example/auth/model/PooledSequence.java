@@ -0,0 +1,21 @@
+package com.example.auth.model;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+/**
+ * Generates ids from the database sequence {@code value}, reserving a block of {@code
+ * auth.id.allocation-size} ids per call so inserts can be batched. See {@link
+ * PooledSequenceGenerator}.
+ */
+@IdGeneratorType(PooledSequenceGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface PooledSequence {
+  /** Name of the sequence. */
+  String value();
+}
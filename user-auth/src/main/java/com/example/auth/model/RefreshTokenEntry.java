@@ -0,0 +1,10 @@
+package com.example.auth.model;
+
+import java.time.Instant;
+
+/**
+ * An issued refresh token as recorded in the refresh-token store. Tokens of one family descend from
+ * the same login, each exchanged for the next.
+ */
+public record RefreshTokenEntry(
+    String tokenId, String familyId, String subject, Instant expiresAt) {}
@@ -0,0 +1,23 @@
+package com.example.auth.model;
+
+import java.time.Instant;
+
+/**
+ * A revoked access token ({@link Kind#TOKEN}, keyed by its {@code jti}) or every access token of a
+ * subject issued up to {@code issuedBefore} ({@link Kind#SUBJECT}). Entries are kept until {@code
+ * expiresAt}, after which every token they cover has expired anyway.
+ */
+public record RevocationEntry(Kind kind, String value, Instant issuedBefore, Instant expiresAt) {
+  public enum Kind {
+    TOKEN,
+    SUBJECT
+  }
+
+  public static RevocationEntry token(String tokenId, Instant expiresAt) {
+    return new RevocationEntry(Kind.TOKEN, tokenId, null, expiresAt);
+  }
+
+  public static RevocationEntry subject(String subject, Instant issuedBefore, Instant expiresAt) {
+    return new RevocationEntry(Kind.SUBJECT, subject, issuedBefore, expiresAt);
+  }
+}
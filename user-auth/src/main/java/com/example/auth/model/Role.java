@@ -3,11 +3,16 @@ package com.example.auth.model;
 import java.util.HashSet;
 import java.util.Set;
 
+import org.hibernate.annotations.BatchSize;
+
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
 
 @Data
 @Builder
@@ -17,20 +22,64 @@ import lombok.NoArgsConstructor;
 @Table(name = "roles")
 public class Role {
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @PooledSequence("roles_seq")
   private Long id;
 
   @Column(unique = true)
   private String name;
 
-  @ElementCollection(fetch = FetchType.EAGER)
+  // Authoritative permissions; null only for rows written before the column existed
+  @Column(name = "permission_mask")
+  private Long permissionMask;
+
+  // Legacy join-table representation, kept in sync according to PermissionStorageMode
+  @ElementCollection(fetch = FetchType.LAZY)
+  @BatchSize(size = 50)
   @CollectionTable(name = "role_permissions", joinColumns = @JoinColumn(name = "role_id"))
   @Enumerated(EnumType.STRING)
-  private Set<Permission> permissions = new HashSet<>();
+  @Column(name = "permissions")
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private Set<Permission> permissionRows = new HashSet<>();
 
+  // Every holder of the role; query UserRepository for membership instead of loading this
   @ManyToMany(mappedBy = "roles")
   private Set<User> users = new HashSet<>();
 
+  public PermissionSet getPermissions() {
+    if (permissionMask != null) {
+      return PermissionSet.fromMask(permissionMask);
+    }
+    return PermissionSet.copyOf(permissionRows);
+  }
+
+  public void setPermissions(Set<Permission> permissions) {
+    this.permissionMask = PermissionSet.copyOf(permissions).mask();
+  }
+
+  /** Populates the mask from {@code role_permissions} for rows that predate the mask column. */
+  public boolean backfillPermissionMask() {
+    if (permissionMask != null) {
+      return false;
+    }
+    permissionMask = PermissionSet.copyOf(permissionRows).mask();
+    return true;
+  }
+
+  /** Brings the join-table rows in line with the mask, touching only rows that differ. */
+  public void applyPermissionStorage(PermissionStorageMode mode) {
+    if (permissionRows == null) {
+      permissionRows = new HashSet<>();
+    }
+    if (mode == PermissionStorageMode.BITMASK) {
+      permissionRows.clear();
+      return;
+    }
+    PermissionSet permissions = getPermissions();
+    permissionRows.retainAll(permissions);
+    permissionRows.addAll(permissions);
+  }
+
   // Factory methods for default roles
   public static Role defaultUserRole() {
     return Role.builder().name("ROLE_USER").permissions(Set.of(Permission.USER_READ)).build();
@@ -56,12 +105,21 @@ public class Role {
   // Override toString to prevent infinite recursion
   @Override
   public String toString() {
-    return "Role{" + "id=" + id + ", name='" + name + '\'' + ", permissions=" + permissions + '}';
+    return "Role{"
+        + "id="
+        + id
+        + ", name='"
+        + name
+        + '\''
+        + ", permissions="
+        + (permissionMask == null ? "unmigrated" : getPermissions())
+        + '}';
   }
 
-  // Override equals and hashCode to prevent infinite recursion
+  // Override equals and hashCode to prevent infinite recursion. Final, so a lazy proxy answers them
+  // itself from its id instead of loading the role, and hashes like the role it stands for.
   @Override
-  public boolean equals(Object o) {
+  public final boolean equals(Object o) {
     if (this == o) return true;
     if (!(o instanceof Role)) return false;
     Role role = (Role) o;
@@ -69,7 +127,16 @@ public class Role {
   }
 
   @Override
-  public int hashCode() {
-    return getClass().hashCode();
+  public final int hashCode() {
+    return Role.class.hashCode();
+  }
+
+  public static class RoleBuilder {
+    public RoleBuilder permissions(Set<Permission> permissions) {
+      PermissionSet set = PermissionSet.copyOf(permissions);
+      this.permissionMask = set.mask();
+      this.permissionRows = new HashSet<>(set);
+      return this;
+    }
   }
 }
@@ -1,18 +1,19 @@
 package com.example.auth.model;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.HashMap;
+import java.util.Map;
 
 import lombok.Getter;
 
 @Getter
 public enum RoleHierarchy {
-  ROLE_USER(Set.of(Permission.USER_READ)),
+  ROLE_USER(PermissionSet.of(Permission.USER_READ)),
 
-  ROLE_MANAGER(Set.of(Permission.USER_READ, Permission.USER_UPDATE, Permission.ROLE_READ)),
+  ROLE_MANAGER(
+      PermissionSet.of(Permission.USER_READ, Permission.USER_UPDATE, Permission.ROLE_READ)),
 
   ROLE_ADMIN(
-      Set.of(
+      PermissionSet.of(
           Permission.USER_READ,
           Permission.USER_CREATE,
           Permission.USER_UPDATE,
@@ -23,36 +24,41 @@ public enum RoleHierarchy {
           Permission.ROLE_DELETE,
           Permission.ADMIN_ACCESS));
 
-  private final Set<Permission> permissions;
+  // Inheritance is fixed, so each role's effective permissions are resolved once
+  private static final Map<String, PermissionSet> INHERITED = new HashMap<>();
 
-  RoleHierarchy(Set<Permission> permissions) {
-    this.permissions = permissions;
+  static {
+    for (RoleHierarchy target : values()) {
+      PermissionSet permissions = PermissionSet.empty();
+      for (RoleHierarchy role : values()) {
+        if (shouldInheritRole(target, role)) {
+          permissions = permissions.union(role.getPermissions());
+        }
+      }
+      INHERITED.put(target.name(), permissions);
+    }
   }
 
-  public static Set<Permission> getInheritedPermissions(String roleName) {
-    Set<Permission> allPermissions = new HashSet<>();
+  private final PermissionSet permissions;
 
-    // Get all roles that should be inherited
-    RoleHierarchy[] allRoles = RoleHierarchy.values();
-    for (RoleHierarchy role : allRoles) {
-      if (shouldInheritRole(roleName, role.name())) {
-        allPermissions.addAll(role.getPermissions());
-      }
-    }
+  RoleHierarchy(PermissionSet permissions) {
+    this.permissions = permissions;
+  }
 
-    return allPermissions;
+  public static PermissionSet getInheritedPermissions(String roleName) {
+    return INHERITED.getOrDefault(roleName, PermissionSet.empty());
   }
 
-  private static boolean shouldInheritRole(String targetRole, String roleToCheck) {
-    if (targetRole.equals(roleToCheck)) {
+  private static boolean shouldInheritRole(RoleHierarchy targetRole, RoleHierarchy roleToCheck) {
+    if (targetRole == roleToCheck) {
       return true;
     }
 
     // Define inheritance rules
-    if (targetRole.equals(ROLE_ADMIN.name())) {
+    if (targetRole == ROLE_ADMIN) {
       return true; // Admin inherits all permissions
     }
-    if (targetRole.equals(ROLE_MANAGER.name()) && roleToCheck.equals(ROLE_USER.name())) {
+    if (targetRole == ROLE_MANAGER && roleToCheck == ROLE_USER) {
       return true; // Manager inherits User permissions
     }
 
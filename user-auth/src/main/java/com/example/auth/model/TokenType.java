@@ -0,0 +1,24 @@
+package com.example.auth.model;
+
+import lombok.Getter;
+
+@Getter
+public enum TokenType {
+  ACCESS("access"),
+  REFRESH("refresh");
+
+  private final String claimValue;
+
+  TokenType(String claimValue) {
+    this.claimValue = claimValue;
+  }
+
+  public static TokenType fromClaim(String claimValue) {
+    for (TokenType type : values()) {
+      if (type.claimValue.equals(claimValue)) {
+        return type;
+      }
+    }
+    return null;
+  }
+}
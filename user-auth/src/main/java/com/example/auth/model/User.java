@@ -5,14 +5,16 @@ import java.util.HashSet;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.hibernate.annotations.BatchSize;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 @Data
@@ -21,9 +23,12 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @Entity
 @Table(name = "users")
+@NamedEntityGraph(name = User.WITH_ROLES, attributeNodes = @NamedAttributeNode("roles"))
 public class User implements UserDetails {
+  public static final String WITH_ROLES = "User.roles";
+
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @PooledSequence("users_seq")
   private Long id;
 
   @Column(unique = true)
@@ -33,32 +38,43 @@ public class User implements UserDetails {
   private String firstName;
   private String lastName;
 
-  @ManyToMany(fetch = FetchType.EAGER)
+  // Fetched through the WITH_ROLES graph where needed; otherwise batch-loaded on first access
+  @ManyToMany(fetch = FetchType.LAZY)
+  @BatchSize(size = 50)
+  // Indexed by role for membership checks and member pages, whatever the primary key's column order
   @JoinTable(
       name = "user_roles",
       joinColumns = @JoinColumn(name = "user_id"),
-      inverseJoinColumns = @JoinColumn(name = "role_id"))
+      inverseJoinColumns = @JoinColumn(name = "role_id"),
+      indexes = @Index(name = "idx_user_roles_role_user", columnList = "role_id, user_id"))
   @Builder.Default
   private Set<Role> roles = new HashSet<>();
 
+  // Resolved once from the shared registry; reset whenever roles change through this entity
+  @Transient
+  @Getter(AccessLevel.NONE)
+  private final transient MemoizedAuthorities authorities = new MemoizedAuthorities();
+
   @Override
   public Collection<? extends GrantedAuthority> getAuthorities() {
-    Set<SimpleGrantedAuthority> authorities = new HashSet<>();
-
-    // Add role-based authorities
-    authorities.addAll(
-        roles.stream()
-            .map(role -> new SimpleGrantedAuthority(role.getName()))
-            .collect(Collectors.toSet()));
-
-    // Add permission-based authorities
-    authorities.addAll(
-        roles.stream()
-            .flatMap(role -> role.getPermissions().stream())
-            .map(permission -> new SimpleGrantedAuthority(permission.getPermission()))
-            .collect(Collectors.toSet()));
-
-    return authorities;
+    return authorities.get(() -> AuthorityRegistry.forRoles(roles));
+  }
+
+  public void setRoles(Set<Role> roles) {
+    this.roles = roles;
+    authorities.reset();
+  }
+
+  /**
+   * Makes {@code target} the user's roles by removing and adding only the roles that differ, so
+   * only those join rows are written. Returns whether anything changed.
+   */
+  public boolean replaceRoles(Set<Role> target) {
+    boolean changed = roles.retainAll(target) | roles.addAll(target);
+    if (changed) {
+      authorities.reset();
+    }
+    return changed;
   }
 
   @Override
@@ -90,11 +106,13 @@ public class User implements UserDetails {
   public void addRole(Role role) {
     roles.add(role);
     role.getUsers().add(this);
+    authorities.reset();
   }
 
   public void removeRole(Role role) {
     roles.remove(role);
     role.getUsers().remove(this);
+    authorities.reset();
   }
 
   // Override toString to prevent infinite recursion
@@ -0,0 +1,10 @@
+package com.example.auth.model;
+
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * An access token that passed signature, expiry and subject checks, with the user it authenticates.
+ * {@code verifiedAt} is when verification started, in epoch milliseconds; authorization changes
+ * after it make the entry stale.
+ */
+public record VerifiedToken(ParsedToken token, UserDetails userDetails, long verifiedAt) {}
@@ -0,0 +1,73 @@
+package com.example.auth.reactive;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import com.example.auth.middleware.JwtAuthenticationFilter;
+import com.example.auth.model.AuthenticatedUser;
+import com.example.auth.model.ParsedToken;
+import com.example.auth.service.AccessTokenDenylist;
+import com.example.auth.service.AuthorizationEpochRegistry;
+import com.example.auth.service.JwtService;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux counterpart of {@link JwtAuthenticationFilter}. Registered in the security filter chain
+ * only, so it is not a component: WebFlux would otherwise also apply it to every request.
+ */
+@RequiredArgsConstructor
+public class JwtAuthenticationWebFilter implements WebFilter {
+  private final JwtService jwtService;
+  private final ReactiveUserDetailsService userDetailsService;
+  private final AuthorizationEpochRegistry authorizationEpochRegistry;
+  private final AccessTokenDenylist accessTokenDenylist;
+
+  @Override
+  public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+    final String authHeader =
+        exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+
+    if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+      return chain.filter(exchange);
+    }
+
+    ParsedToken token = jwtService.parseToken(authHeader.substring(7));
+    if (token.subject() == null || accessTokenDenylist.isRevoked(token)) {
+      return chain.filter(exchange);
+    }
+
+    return resolveUserDetails(token)
+        .filter(userDetails -> jwtService.isTokenValid(token, userDetails))
+        .map(
+            userDetails ->
+                new UsernamePasswordAuthenticationToken(
+                    userDetails, null, userDetails.getAuthorities()))
+        .flatMap(
+            authToken ->
+                chain
+                    .filter(exchange)
+                    .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authToken))
+                    .thenReturn(true))
+        .switchIfEmpty(Mono.defer(() -> chain.filter(exchange).thenReturn(true)))
+        .then();
+  }
+
+  // Tokens with current authorization claims are trusted as-is; anything else is checked against
+  // the database so stale roles and deleted users are never authenticated from the token alone
+  private Mono<UserDetails> resolveUserDetails(ParsedToken token) {
+    if (jwtService.isStatelessAuthentication()
+        && token.hasAuthorizationClaims()
+        && authorizationEpochRegistry.isCurrent(token)) {
+      return Mono.just(AuthenticatedUser.fromToken(token));
+    }
+    return userDetailsService.findByUsername(token.subject());
+  }
+}
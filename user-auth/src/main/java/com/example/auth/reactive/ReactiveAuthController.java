@@ -0,0 +1,68 @@
+package com.example.auth.reactive;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import com.example.auth.dto.*;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/api/v1/auth")
+@RequiredArgsConstructor
+public class ReactiveAuthController {
+  private final ReactiveUserService userService;
+
+  @PostMapping("/signup")
+  public Mono<ResponseEntity<SignupResponse>> signup(@Valid @RequestBody SignupRequest request) {
+    return userService.signup(request).map(ResponseEntity::ok);
+  }
+
+  @PostMapping("/login")
+  public Mono<ResponseEntity<TokenResponse>> login(@Valid @RequestBody LoginRequest request) {
+    return userService.login(request).map(ResponseEntity::ok);
+  }
+
+  @PostMapping("/logout")
+  public Mono<ResponseEntity<Void>> logout(@RequestHeader("Authorization") @Valid String token) {
+    return userService.logout(token).then(Mono.fromSupplier(() -> ResponseEntity.ok().build()));
+  }
+
+  @PostMapping("/refresh")
+  public Mono<ResponseEntity<TokenResponse>> refreshToken(
+      @RequestHeader("Authorization") String refreshToken) {
+    return userService.refreshToken(refreshToken).map(ResponseEntity::ok);
+  }
+
+  @PostMapping("/change-password")
+  public Mono<ResponseEntity<Void>> changePassword(
+      @RequestHeader("Authorization") String token,
+      @RequestParam @Valid String oldPassword,
+      @RequestParam @Valid String newPassword) {
+    return userService
+        .changePassword(token, oldPassword, newPassword)
+        .then(Mono.fromSupplier(() -> ResponseEntity.ok().build()));
+  }
+
+  @DeleteMapping("/delete")
+  public Mono<ResponseEntity<Void>> deleteUser(
+      @RequestHeader("Authorization") @Valid String token) {
+    return userService.deleteUser(token).then(Mono.fromSupplier(() -> ResponseEntity.ok().build()));
+  }
+
+  @PostMapping("/admin/create")
+  public Mono<ResponseEntity<SignupResponse>> createAdmin(
+      @Valid @RequestBody SignupRequest request) {
+    return userService.createAdminUser(request).map(ResponseEntity::ok);
+  }
+
+  @GetMapping("/profile")
+  public Mono<ResponseEntity<CurrentUserResponse>> getCurrentUser(Authentication authentication) {
+    return userService.getCurrentUser(authentication).map(ResponseEntity::ok);
+  }
+}
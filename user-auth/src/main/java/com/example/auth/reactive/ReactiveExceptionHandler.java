@@ -0,0 +1,56 @@
+package com.example.auth.reactive;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+
+import com.example.auth.exception.CustomException;
+import com.example.auth.exception.GlobalExceptionHandler;
+
+/** WebFlux counterpart of {@link GlobalExceptionHandler}, with the same response body. */
+@RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveExceptionHandler {
+
+  @ExceptionHandler(CustomException.class)
+  public ResponseEntity<ErrorResponse> handleCustomException(CustomException ex) {
+    ErrorResponse errorResponse = new ErrorResponse(ex.getMessage(), null);
+    return new ResponseEntity<>(errorResponse, ex.getStatus());
+  }
+
+  // The servlet stack reports failed logins through the security filter chain
+  @ExceptionHandler(AuthenticationException.class)
+  public ResponseEntity<ErrorResponse> handleAuthenticationException(AuthenticationException ex) {
+    ErrorResponse errorResponse = new ErrorResponse(ex.getMessage(), null);
+    return new ResponseEntity<>(errorResponse, HttpStatus.UNAUTHORIZED);
+  }
+
+  @ExceptionHandler(WebExchangeBindException.class)
+  public ResponseEntity<ErrorResponse> handleValidationExceptions(WebExchangeBindException ex) {
+    Map<String, String> validationErrors = new HashMap<>();
+    ex.getBindingResult()
+        .getAllErrors()
+        .forEach(
+            error -> {
+              String fieldName =
+                  error instanceof FieldError fielderror
+                      ? fielderror.getField()
+                      : error.getObjectName();
+              String errorMessage = error.getDefaultMessage();
+              validationErrors.put(fieldName, errorMessage);
+            });
+
+    ErrorResponse errorResponse = new ErrorResponse("Validation failed", validationErrors);
+    return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+  }
+
+  private record ErrorResponse(String message, Map<String, String> errors) {}
+}
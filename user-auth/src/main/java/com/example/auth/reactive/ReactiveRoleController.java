@@ -0,0 +1,59 @@
+package com.example.auth.reactive;
+
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import com.example.auth.dto.CreateRoleRequest;
+import com.example.auth.dto.RoleMemberPageResponse;
+import com.example.auth.dto.RoleResponse;
+import com.example.auth.dto.UpdateRoleRequest;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/api/v1/roles")
+@RequiredArgsConstructor
+public class ReactiveRoleController {
+  private final ReactiveRoleService roleService;
+
+  @GetMapping
+  public Mono<ResponseEntity<List<RoleResponse>>> getAllRoles() {
+    return roleService.getAllRoles().collectList().map(ResponseEntity::ok);
+  }
+
+  @GetMapping("/{id}")
+  public Mono<ResponseEntity<RoleResponse>> getRoleById(@PathVariable Long id) {
+    return roleService.getRoleById(id).map(ResponseEntity::ok);
+  }
+
+  @GetMapping("/{id}/members")
+  public Mono<ResponseEntity<RoleMemberPageResponse>> getRoleMembers(
+      @PathVariable Long id,
+      @RequestParam(required = false) Long afterId,
+      @RequestParam(defaultValue = "100") int limit) {
+    return roleService.getRoleMembers(id, afterId, limit).map(ResponseEntity::ok);
+  }
+
+  @PostMapping
+  public Mono<ResponseEntity<RoleResponse>> createRole(
+      @Valid @RequestBody CreateRoleRequest request) {
+    return roleService.createRole(request).map(ResponseEntity::ok);
+  }
+
+  @PutMapping("/{id}")
+  public Mono<ResponseEntity<RoleResponse>> updateRole(
+      @PathVariable Long id, @Valid @RequestBody UpdateRoleRequest request) {
+    return roleService.updateRole(id, request).map(ResponseEntity::ok);
+  }
+
+  @DeleteMapping("/{id}")
+  public Mono<ResponseEntity<Void>> deleteRole(@PathVariable Long id) {
+    return roleService.deleteRole(id).then(Mono.fromSupplier(() -> ResponseEntity.ok().build()));
+  }
+}
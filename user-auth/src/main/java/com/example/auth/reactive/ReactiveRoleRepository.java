@@ -0,0 +1,116 @@
+package com.example.auth.reactive;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.example.auth.model.Permission;
+import com.example.auth.model.PermissionSet;
+import com.example.auth.repository.projection.RoleRow;
+
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/** R2DBC counterpart of {@code RoleRepository}. */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveRoleRepository {
+  private static final String ROLE_ROW = "select r.id, r.name, r.permission_mask from roles r ";
+
+  private final DatabaseClient databaseClient;
+
+  public Flux<RoleRow> findAllRows() {
+    return databaseClient
+        .sql(ROLE_ROW + "order by r.id")
+        .map(ReactiveRoleRepository::toRoleRow)
+        .all();
+  }
+
+  public Mono<RoleRow> findRowById(Long id) {
+    return databaseClient
+        .sql(ROLE_ROW + "where r.id = :id")
+        .bind("id", id)
+        .map(ReactiveRoleRepository::toRoleRow)
+        .one();
+  }
+
+  public Mono<RoleRow> findRowByName(String name) {
+    return databaseClient
+        .sql(ROLE_ROW + "where r.name = :name")
+        .bind("name", name)
+        .map(ReactiveRoleRepository::toRoleRow)
+        .one();
+  }
+
+  public Mono<Boolean> existsByName(String name) {
+    return findRowByName(name).hasElement();
+  }
+
+  public Mono<Boolean> isAssigned(Long id) {
+    return databaseClient
+        .sql("select 1 from user_roles where role_id = :id limit 1")
+        .bind("id", id)
+        .fetch()
+        .first()
+        .hasElement();
+  }
+
+  public Mono<Long> insert(String name, PermissionSet permissions) {
+    return databaseClient
+        .sql("insert into roles (name, permission_mask) values (:name, :mask)")
+        .bind("name", name)
+        .bind("mask", permissions.mask())
+        .filter(statement -> statement.returnGeneratedValues("id"))
+        .map(row -> row.get("id", Long.class))
+        .one();
+  }
+
+  public Mono<Long> update(Long id, String name, PermissionSet permissions) {
+    return databaseClient
+        .sql("update roles set name = :name, permission_mask = :mask where id = :id")
+        .bind("name", name)
+        .bind("mask", permissions.mask())
+        .bind("id", id)
+        .fetch()
+        .rowsUpdated();
+  }
+
+  /** Rewrites the legacy join-table rows of a role; an empty set leaves none. */
+  public Mono<Void> replacePermissionRows(Long roleId, PermissionSet permissions) {
+    return databaseClient
+        .sql("delete from role_permissions where role_id = :roleId")
+        .bind("roleId", roleId)
+        .then()
+        .thenMany(Flux.fromIterable(permissions))
+        .concatMap(
+            (Permission permission) ->
+                databaseClient
+                    .sql(
+                        "insert into role_permissions (role_id, permissions)"
+                            + " values (:roleId, :permission)")
+                    .bind("roleId", roleId)
+                    .bind("permission", permission.name())
+                    .then())
+        .then();
+  }
+
+  public Mono<Long> deleteById(Long id) {
+    return replacePermissionRows(id, PermissionSet.empty())
+        .then(
+            databaseClient
+                .sql("delete from roles where id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated());
+  }
+
+  static RoleRow toRoleRow(Readable row) {
+    return new RoleRow(
+        row.get("id", Long.class),
+        row.get("name", String.class),
+        row.get("permission_mask", Long.class));
+  }
+}
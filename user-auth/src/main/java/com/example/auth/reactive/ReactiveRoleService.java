@@ -0,0 +1,237 @@
+package com.example.auth.reactive;
+
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import com.example.auth.dto.CreateRoleRequest;
+import com.example.auth.dto.RoleMemberPageResponse;
+import com.example.auth.dto.RoleMemberResponse;
+import com.example.auth.dto.RoleResponse;
+import com.example.auth.dto.UpdateRoleRequest;
+import com.example.auth.exception.CustomException;
+import com.example.auth.model.AuthorityRegistry;
+import com.example.auth.model.Permission;
+import com.example.auth.model.PermissionSet;
+import com.example.auth.model.PermissionStorageMode;
+import com.example.auth.model.Role;
+import com.example.auth.repository.projection.RoleMemberRow;
+import com.example.auth.repository.projection.RoleRow;
+import com.example.auth.service.AuthorizationEpochRegistry;
+import com.example.auth.service.RoleRules;
+import com.example.auth.service.RoleService;
+import com.example.auth.service.UserService;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/** Non-blocking counterpart of {@link RoleService}. */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@DependsOnDatabaseInitialization
+@RequiredArgsConstructor
+public class ReactiveRoleService {
+  private final ReactiveRoleRepository roleRepository;
+  private final ReactiveUserRepository userRepository;
+  private final AuthorizationEpochRegistry authorizationEpochRegistry;
+  private final TransactionalOperator transactionalOperator;
+
+  @Value("${auth.permissions.storage:DUAL}")
+  private PermissionStorageMode permissionStorageMode;
+
+  /**
+   * Creates the built-in roles. Blocks once at startup, before the server accepts requests; masks
+   * of roles written before {@code permission_mask} existed are backfilled by the servlet stack.
+   */
+  @PostConstruct
+  public void initializeRoles() {
+    Flux.just(Role.defaultUserRole(), Role.adminRole())
+        .concatMap(
+            role ->
+                roleRepository
+                    .existsByName(role.getName())
+                    .filter(exists -> !exists)
+                    .flatMap(missing -> insert(role.getName(), role.getPermissions())))
+        .then()
+        .block();
+  }
+
+  @PreAuthorize("hasAuthority('role:read')")
+  public Flux<RoleResponse> getAllRoles() {
+    return roleRepository.findAllRows().map(ReactiveRoleService::toRoleResponse);
+  }
+
+  @PreAuthorize("hasAuthority('role:read')")
+  public Mono<RoleResponse> getRoleById(Long id) {
+    return findRoleById(id).map(ReactiveRoleService::toRoleResponse);
+  }
+
+  /** Keyset pagination of the role's members by user id, as for {@code getUsers}. */
+  @PreAuthorize("hasAuthority('role:read') and hasAuthority('user:read')")
+  public Mono<RoleMemberPageResponse> getRoleMembers(Long id, Long afterId, int limit) {
+    if (limit < 1 || limit > UserService.MAX_PAGE_SIZE) {
+      return Mono.error(
+          new CustomException(
+              "limit must be between 1 and " + UserService.MAX_PAGE_SIZE, HttpStatus.BAD_REQUEST));
+    }
+
+    // Fetch one extra row to learn whether another page exists
+    return findRoleById(id)
+        .flatMap(
+            role ->
+                userRepository
+                    .findMembersOfRole(id, afterId == null ? 0L : afterId, limit + 1)
+                    .collectList())
+        .map(
+            rows -> {
+              boolean hasMore = rows.size() > limit;
+              List<RoleMemberRow> page = hasMore ? rows.subList(0, limit) : rows;
+              return RoleMemberPageResponse.builder()
+                  .members(page.stream().map(ReactiveRoleService::toRoleMemberResponse).toList())
+                  .nextCursor(hasMore ? page.get(page.size() - 1).userId() : null)
+                  .build();
+            });
+  }
+
+  @PreAuthorize("hasAuthority('role:create')")
+  public Mono<RoleResponse> createRole(CreateRoleRequest request) {
+    return roleRepository
+        .existsByName(request.getName())
+        .flatMap(
+            exists -> {
+              if (exists) {
+                return Mono.error(
+                    new CustomException("Role already exists", HttpStatus.BAD_REQUEST));
+              }
+              RoleRules.validateRoleName(request.getName());
+              RoleRules.validatePermissions(request.getPermissions());
+
+              PermissionSet permissions =
+                  RoleRules.grantedPermissions(request.getName(), request.getPermissions());
+              return insert(request.getName(), permissions)
+                  .map(
+                      id -> toRoleResponse(new RoleRow(id, request.getName(), permissions.mask())));
+            });
+  }
+
+  @PreAuthorize("hasAuthority('role:update')")
+  public Mono<RoleResponse> updateRole(Long id, UpdateRoleRequest request) {
+    return findRoleById(id)
+        .flatMap(role -> validateRoleUpdate(role, request.getName(), request.getPermissions()))
+        .flatMap(
+            role -> {
+              PermissionSet permissions =
+                  RoleRules.grantedPermissions(request.getName(), request.getPermissions());
+              return roleRepository
+                  .update(id, request.getName(), permissions)
+                  .then(storePermissionRows(id, permissions))
+                  .as(transactionalOperator::transactional)
+                  .then(
+                      Mono.fromRunnable(
+                          () -> {
+                            authorizationEpochRegistry.advanceRole(role.name());
+                            AuthorityRegistry.evictRole(role.name());
+                          }))
+                  .thenReturn(
+                      toRoleResponse(new RoleRow(id, request.getName(), permissions.mask())));
+            });
+  }
+
+  @PreAuthorize("hasAuthority('role:delete')")
+  public Mono<Void> deleteRole(Long id) {
+    return findRoleById(id)
+        .flatMap(
+            role -> {
+              if (RoleRules.isBuiltInRole(role.name())) {
+                return Mono.error(
+                    new CustomException("Cannot delete built-in role", HttpStatus.BAD_REQUEST));
+              }
+
+              // Check if role is assigned to any users
+              return roleRepository
+                  .isAssigned(id)
+                  .flatMap(
+                      assigned ->
+                          assigned
+                              ? Mono.error(
+                                  new CustomException(
+                                      "Cannot delete role that is assigned to users",
+                                      HttpStatus.BAD_REQUEST))
+                              : roleRepository
+                                  .deleteById(id)
+                                  .as(transactionalOperator::transactional)
+                                  .then(
+                                      Mono.fromRunnable(
+                                          () -> AuthorityRegistry.evictRole(role.name()))));
+            });
+  }
+
+  static RoleResponse toRoleResponse(RoleRow role) {
+    return RoleResponse.builder()
+        .id(role.id())
+        .name(role.name())
+        .permissions(role.permissions())
+        .build();
+  }
+
+  private static RoleMemberResponse toRoleMemberResponse(RoleMemberRow member) {
+    return RoleMemberResponse.builder()
+        .id(member.userId())
+        .email(member.email())
+        .firstName(member.firstName())
+        .lastName(member.lastName())
+        .build();
+  }
+
+  private Mono<RoleRow> findRoleById(Long id) {
+    return roleRepository
+        .findRowById(id)
+        .switchIfEmpty(
+            Mono.error(() -> new CustomException("Role not found", HttpStatus.NOT_FOUND)));
+  }
+
+  private Mono<RoleRow> validateRoleUpdate(
+      RoleRow role, String newName, Set<Permission> newPermissions) {
+    if (RoleRules.isBuiltInRole(role.name())) {
+      return Mono.error(new CustomException("Cannot modify built-in role", HttpStatus.BAD_REQUEST));
+    }
+
+    Mono<Boolean> nameTaken =
+        role.name().equals(newName) ? Mono.just(false) : roleRepository.existsByName(newName);
+    return nameTaken.flatMap(
+        taken -> {
+          if (taken) {
+            return Mono.error(
+                new CustomException("Role name already exists", HttpStatus.BAD_REQUEST));
+          }
+          RoleRules.validateRoleName(newName);
+          RoleRules.validatePermissions(newPermissions);
+          return Mono.just(role);
+        });
+  }
+
+  private Mono<Long> insert(String name, PermissionSet permissions) {
+    return roleRepository
+        .insert(name, permissions)
+        .flatMap(id -> storePermissionRows(id, permissions).thenReturn(id))
+        .as(transactionalOperator::transactional);
+  }
+
+  // The join table only mirrors the mask, see PermissionStorageMode
+  private Mono<Void> storePermissionRows(Long roleId, PermissionSet permissions) {
+    return roleRepository.replacePermissionRows(
+        roleId,
+        permissionStorageMode == PermissionStorageMode.BITMASK
+            ? PermissionSet.empty()
+            : permissions);
+  }
+}
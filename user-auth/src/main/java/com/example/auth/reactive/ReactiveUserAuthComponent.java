@@ -0,0 +1,111 @@
+package com.example.auth.reactive;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UserDetailsRepositoryReactiveAuthenticationManager;
+import org.springframework.security.config.annotation.method.configuration.EnableReactiveMethodSecurity;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+
+import com.example.auth.UserAuthComponent;
+import com.example.auth.config.InvalidationConfig;
+import com.example.auth.config.PasswordEncoderConfig;
+import com.example.auth.config.RefreshTokenConfig;
+import com.example.auth.config.RevocationConfig;
+import com.example.auth.config.SigningKeyConfig;
+import com.example.auth.controller.JwksController;
+import com.example.auth.security.CompiledMethodSecurityExpressionHandler;
+import com.example.auth.service.AccessTokenDenylist;
+import com.example.auth.service.AuthorizationEpochRegistry;
+import com.example.auth.service.JwtService;
+import com.example.auth.service.RefreshTokenService;
+
+/**
+ * WebFlux and R2DBC stack with the same API, rules and tokens as {@link UserAuthComponent}. Boot
+ * selects it when the application runs as a reactive web application.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@ConditionalOnClass({DatabaseClient.class, ServerHttpSecurity.class})
+@EnableWebFluxSecurity
+@EnableReactiveMethodSecurity
+@ComponentScan(basePackageClasses = ReactiveUserAuthComponent.class)
+@Import({
+  JwtService.class,
+  AuthorizationEpochRegistry.class,
+  PasswordEncoderConfig.class,
+  RefreshTokenConfig.class,
+  RefreshTokenService.class,
+  RevocationConfig.class,
+  InvalidationConfig.class,
+  AccessTokenDenylist.class,
+  SigningKeyConfig.class,
+  JwksController.class
+})
+public class ReactiveUserAuthComponent {
+
+  @Bean
+  public SecurityWebFilterChain securityWebFilterChain(
+      ServerHttpSecurity http,
+      JwtService jwtService,
+      ReactiveUserDetailsServiceImpl userDetailsService,
+      AuthorizationEpochRegistry authorizationEpochRegistry,
+      AccessTokenDenylist accessTokenDenylist) {
+    return http.csrf(ServerHttpSecurity.CsrfSpec::disable)
+        .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+        .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+        // Stateless: every request authenticates from its bearer token
+        .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+        .authorizeExchange(
+            exchange ->
+                exchange
+                    .pathMatchers(
+                        "/api/v1/auth/login",
+                        "/api/v1/auth/signup",
+                        // The refresh token is checked by the service, not the filter
+                        "/api/v1/auth/refresh",
+                        "/.well-known/jwks.json",
+                        "/api/v1/test/public")
+                    .permitAll()
+                    .pathMatchers("/api/v1/roles/**")
+                    .hasRole("ADMIN")
+                    .anyExchange()
+                    .authenticated())
+        .addFilterAt(
+            new JwtAuthenticationWebFilter(
+                jwtService, userDetailsService, authorizationEpochRegistry, accessTokenDenylist),
+            SecurityWebFiltersOrder.AUTHENTICATION)
+        .build();
+  }
+
+  /**
+   * Static so method security can pick it up without initializing this configuration early. Named
+   * apart from the reactive default, which steps aside for it.
+   */
+  @Bean
+  static MethodSecurityExpressionHandler compiledMethodSecurityExpressionHandler() {
+    return new CompiledMethodSecurityExpressionHandler();
+  }
+
+  /** Checks passwords on the bounded-elastic scheduler and rehashes outdated hashes on login. */
+  @Bean
+  public ReactiveAuthenticationManager reactiveAuthenticationManager(
+      ReactiveUserDetailsServiceImpl userDetailsService, PasswordEncoder passwordEncoder) {
+    UserDetailsRepositoryReactiveAuthenticationManager authenticationManager =
+        new UserDetailsRepositoryReactiveAuthenticationManager(userDetailsService);
+    authenticationManager.setPasswordEncoder(passwordEncoder);
+    authenticationManager.setUserDetailsPasswordService(userDetailsService);
+    return authenticationManager;
+  }
+}
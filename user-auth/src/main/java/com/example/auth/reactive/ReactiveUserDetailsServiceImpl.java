@@ -0,0 +1,39 @@
+package com.example.auth.reactive;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsPasswordService;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+
+import com.example.auth.model.AuthenticatedUser;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveUserDetailsServiceImpl
+    implements ReactiveUserDetailsService, ReactiveUserDetailsPasswordService {
+  private final ReactiveUserRepository userRepository;
+
+  /** Empty for an unknown email, which the authentication manager reports as bad credentials. */
+  @Override
+  public Mono<UserDetails> findByUsername(String email) {
+    return userRepository.findPrincipalByEmail(email).cast(UserDetails.class);
+  }
+
+  /** Stores a rehash of a password that matched with an outdated algorithm or cost. */
+  @Override
+  public Mono<UserDetails> updatePassword(UserDetails user, String newPassword) {
+    return userRepository
+        .updatePassword(user.getUsername(), newPassword)
+        .thenReturn(
+            new AuthenticatedUser(
+                user instanceof AuthenticatedUser snapshot ? snapshot.getId() : null,
+                user.getUsername(),
+                newPassword,
+                user.getAuthorities()));
+  }
+}
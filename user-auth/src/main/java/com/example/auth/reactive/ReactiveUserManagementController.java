@@ -0,0 +1,62 @@
+package com.example.auth.reactive;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import com.example.auth.dto.BulkUserRolesRequest;
+import com.example.auth.dto.BulkUserRolesResponse;
+import com.example.auth.dto.CurrentUserResponse;
+import com.example.auth.dto.UpdateUserRolesRequest;
+import com.example.auth.dto.UserPageResponse;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/api/v1/users")
+@RequiredArgsConstructor
+public class ReactiveUserManagementController {
+  private final ReactiveUserService userService;
+
+  @GetMapping
+  public Mono<ResponseEntity<UserPageResponse>> getAllUsers(
+      @RequestParam(required = false) Long afterId, @RequestParam(defaultValue = "100") int limit) {
+    return userService.getUsers(afterId, limit).map(ResponseEntity::ok);
+  }
+
+  @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public Flux<CurrentUserResponse> exportUsers() {
+    return userService.exportUsers();
+  }
+
+  @GetMapping("/{id}")
+  public Mono<ResponseEntity<CurrentUserResponse>> getUserById(@PathVariable Long id) {
+    return userService.getUserById(id).map(ResponseEntity::ok);
+  }
+
+  @PutMapping("/{id}/roles")
+  public Mono<ResponseEntity<Void>> updateUserRoles(
+      @PathVariable Long id, @Valid @RequestBody UpdateUserRolesRequest request) {
+    return userService
+        .updateUserRoles(id, request)
+        .then(Mono.fromSupplier(() -> ResponseEntity.ok().build()));
+  }
+
+  @PutMapping("/roles")
+  public Mono<ResponseEntity<BulkUserRolesResponse>> updateRoleMembers(
+      @Valid @RequestBody BulkUserRolesRequest request) {
+    return userService.updateRoleMembers(request).map(ResponseEntity::ok);
+  }
+
+  @DeleteMapping("/{id}")
+  public Mono<ResponseEntity<Void>> deleteUserById(@PathVariable Long id) {
+    return userService
+        .deleteUserById(id)
+        .then(Mono.fromSupplier(() -> ResponseEntity.ok().build()));
+  }
+}
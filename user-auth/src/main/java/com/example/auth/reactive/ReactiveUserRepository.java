@@ -0,0 +1,303 @@
+package com.example.auth.reactive;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.example.auth.model.AuthenticatedUser;
+import com.example.auth.model.AuthorityRegistry;
+import com.example.auth.model.Permission;
+import com.example.auth.model.PermissionSet;
+import com.example.auth.repository.projection.RoleMemberRow;
+import com.example.auth.repository.projection.RoleRow;
+import com.example.auth.repository.projection.UserRoleRow;
+
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/** R2DBC counterpart of {@code UserRepository}, reading the same tables as the JPA mapping. */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveUserRepository {
+  // Users without roles still produce one row, with null role columns
+  private static final String USER_ROLE_ROW =
+      "select u.id, u.email, u.first_name, u.last_name, r.name as role_name, r.permission_mask"
+          + " from users u"
+          + " left join user_roles ur on ur.user_id = u.id"
+          + " left join roles r on r.id = ur.role_id ";
+
+  private final DatabaseClient databaseClient;
+
+  public Mono<Boolean> existsByEmail(String email) {
+    return databaseClient
+        .sql("select 1 from users where email = :email")
+        .bind("email", email)
+        .fetch()
+        .first()
+        .hasElement();
+  }
+
+  public Mono<Boolean> existsById(Long id) {
+    return databaseClient
+        .sql("select 1 from users where id = :id")
+        .bind("id", id)
+        .fetch()
+        .first()
+        .hasElement();
+  }
+
+  public Mono<String> findEmailById(Long id) {
+    return databaseClient
+        .sql("select email from users where id = :id")
+        .bind("id", id)
+        .map(row -> row.get("email", String.class))
+        .one();
+  }
+
+  public Mono<String> findPasswordByEmail(String email) {
+    return databaseClient
+        .sql("select password from users where email = :email")
+        .bind("email", email)
+        .map(row -> row.get("password", String.class))
+        .one();
+  }
+
+  /** The principal with its password hash and role authorities, in one query. */
+  public Mono<AuthenticatedUser> findPrincipalByEmail(String email) {
+    return databaseClient
+        .sql(
+            "select u.id, u.email, u.password, r.name as role_name, r.permission_mask"
+                + " from users u"
+                + " left join user_roles ur on ur.user_id = u.id"
+                + " left join roles r on r.id = ur.role_id"
+                + " where u.email = :email")
+        .bind("email", email)
+        .map(PrincipalRow::of)
+        .all()
+        .collectList()
+        .filter(rows -> !rows.isEmpty())
+        .map(ReactiveUserRepository::toPrincipal);
+  }
+
+  public Flux<Long> findIdsAfter(Long afterId, int limit) {
+    return databaseClient
+        .sql("select id from users where id > :afterId order by id limit :limit")
+        .bind("afterId", afterId)
+        .bind("limit", limit)
+        .map(row -> row.get("id", Long.class))
+        .all();
+  }
+
+  public Flux<UserRoleRow> findRowsById(Long id) {
+    return databaseClient
+        .sql(USER_ROLE_ROW + "where u.id = :id")
+        .bind("id", id)
+        .map(ReactiveUserRepository::toUserRoleRow)
+        .all();
+  }
+
+  public Flux<UserRoleRow> findRowsByEmail(String email) {
+    return databaseClient
+        .sql(USER_ROLE_ROW + "where u.email = :email")
+        .bind("email", email)
+        .map(ReactiveUserRepository::toUserRoleRow)
+        .all();
+  }
+
+  public Flux<UserRoleRow> findRowsByIdIn(Collection<Long> ids) {
+    return databaseClient
+        .sql(USER_ROLE_ROW + "where u.id in (:ids) order by u.id")
+        .bind("ids", ids)
+        .map(ReactiveUserRepository::toUserRoleRow)
+        .all();
+  }
+
+  /** Every user, grouped by id; rows are pulled from the driver as the subscriber requests them. */
+  public Flux<UserRoleRow> streamRowsOrderedById() {
+    return databaseClient
+        .sql(USER_ROLE_ROW + "order by u.id")
+        .map(ReactiveUserRepository::toUserRoleRow)
+        .all();
+  }
+
+  public Flux<RoleRow> findRoleRowsByUserId(Long userId) {
+    return databaseClient
+        .sql(
+            "select r.id, r.name, r.permission_mask from roles r"
+                + " join user_roles ur on ur.role_id = r.id"
+                + " where ur.user_id = :userId")
+        .bind("userId", userId)
+        .map(ReactiveRoleRepository::toRoleRow)
+        .all();
+  }
+
+  /** Keyset page: the next {@code limit} holders of {@code roleId} after {@code afterId}. */
+  public Flux<RoleMemberRow> findMembersOfRole(Long roleId, Long afterId, int limit) {
+    return databaseClient
+        .sql(
+            "select u.id, u.email, u.first_name, u.last_name from users u"
+                + " join user_roles ur on ur.user_id = u.id"
+                + " where ur.role_id = :roleId and u.id > :afterId order by u.id limit :limit")
+        .bind("roleId", roleId)
+        .bind("afterId", afterId)
+        .bind("limit", limit)
+        .map(
+            row ->
+                new RoleMemberRow(
+                    row.get("id", Long.class),
+                    row.get("email", String.class),
+                    row.get("first_name", String.class),
+                    row.get("last_name", String.class)))
+        .all();
+  }
+
+  public Flux<String> findEmailsWithRole(Collection<Long> ids, Long roleId) {
+    return databaseClient
+        .sql(
+            "select u.email from users u join user_roles ur on ur.user_id = u.id"
+                + " where u.id in (:ids) and ur.role_id = :roleId")
+        .bind("ids", ids)
+        .bind("roleId", roleId)
+        .map(row -> row.get("email", String.class))
+        .all();
+  }
+
+  public Flux<String> findEmailsWithoutRole(Collection<Long> ids, Long roleId) {
+    return databaseClient
+        .sql(
+            "select u.email from users u where u.id in (:ids) and not exists"
+                + " (select 1 from user_roles ur where ur.user_id = u.id and ur.role_id = :roleId)")
+        .bind("ids", ids)
+        .bind("roleId", roleId)
+        .map(row -> row.get("email", String.class))
+        .all();
+  }
+
+  /** Adds {@code roleId} to each of {@code ids} that exists and lacks it, in one statement. */
+  public Mono<Long> assignRole(Collection<Long> ids, Long roleId) {
+    return databaseClient
+        .sql(
+            "insert into user_roles (user_id, role_id) select u.id, :roleId from users u"
+                + " where u.id in (:ids) and not exists"
+                + " (select 1 from user_roles ur where ur.user_id = u.id and ur.role_id = :roleId)")
+        .bind("ids", ids)
+        .bind("roleId", roleId)
+        .fetch()
+        .rowsUpdated();
+  }
+
+  public Mono<Long> revokeRole(Collection<Long> ids, Long roleId) {
+    return databaseClient
+        .sql("delete from user_roles where role_id = :roleId and user_id in (:ids)")
+        .bind("ids", ids)
+        .bind("roleId", roleId)
+        .fetch()
+        .rowsUpdated();
+  }
+
+  /** Inserts the user with its roles and returns the generated id. */
+  public Mono<Long> insert(
+      String email, String password, String firstName, String lastName, Long roleId) {
+    return databaseClient
+        .sql(
+            "insert into users (email, password, first_name, last_name)"
+                + " values (:email, :password, :firstName, :lastName)")
+        .bind("email", email)
+        .bind("password", password)
+        .bind("firstName", firstName)
+        .bind("lastName", lastName)
+        .filter(statement -> statement.returnGeneratedValues("id"))
+        .map(row -> row.get("id", Long.class))
+        .one()
+        .flatMap(id -> replaceRoles(id, List.of(roleId)).thenReturn(id));
+  }
+
+  public Mono<Void> replaceRoles(Long userId, Collection<Long> roleIds) {
+    return databaseClient
+        .sql("delete from user_roles where user_id = :userId")
+        .bind("userId", userId)
+        .then()
+        .thenMany(Flux.fromIterable(roleIds))
+        .concatMap(
+            roleId ->
+                databaseClient
+                    .sql("insert into user_roles (user_id, role_id) values (:userId, :roleId)")
+                    .bind("userId", userId)
+                    .bind("roleId", roleId)
+                    .then())
+        .then();
+  }
+
+  public Mono<Long> updatePassword(String email, String password) {
+    return databaseClient
+        .sql("update users set password = :password where email = :email")
+        .bind("password", password)
+        .bind("email", email)
+        .fetch()
+        .rowsUpdated();
+  }
+
+  public Mono<Long> deleteById(Long id) {
+    return databaseClient
+        .sql("delete from user_roles where user_id = :id")
+        .bind("id", id)
+        .then()
+        .then(
+            databaseClient
+                .sql("delete from users where id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated());
+  }
+
+  static UserRoleRow toUserRoleRow(Readable row) {
+    return new UserRoleRow(
+        row.get("id", Long.class),
+        row.get("email", String.class),
+        row.get("first_name", String.class),
+        row.get("last_name", String.class),
+        row.get("role_name", String.class),
+        row.get("permission_mask", Long.class));
+  }
+
+  private static AuthenticatedUser toPrincipal(List<PrincipalRow> rows) {
+    Set<String> authorities = new HashSet<>();
+    for (PrincipalRow row : rows) {
+      if (row.roleName() != null) {
+        authorities.add(row.roleName());
+        for (Permission permission : row.permissions()) {
+          authorities.add(permission.getPermission());
+        }
+      }
+    }
+    PrincipalRow user = rows.get(0);
+    return new AuthenticatedUser(
+        user.id(), user.email(), user.password(), AuthorityRegistry.forNames(authorities));
+  }
+
+  private record PrincipalRow(
+      Long id, String email, String password, String roleName, Long permissionMask) {
+    static PrincipalRow of(Readable row) {
+      return new PrincipalRow(
+          row.get("id", Long.class),
+          row.get("email", String.class),
+          row.get("password", String.class),
+          row.get("role_name", String.class),
+          row.get("permission_mask", Long.class));
+    }
+
+    PermissionSet permissions() {
+      return permissionMask == null
+          ? PermissionSet.empty()
+          : PermissionSet.fromMask(permissionMask);
+    }
+  }
+}
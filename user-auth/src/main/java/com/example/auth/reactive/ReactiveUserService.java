@@ -0,0 +1,369 @@
+package com.example.auth.reactive;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import com.example.auth.dto.*;
+import com.example.auth.exception.CustomException;
+import com.example.auth.model.AuthenticatedUser;
+import com.example.auth.model.ParsedToken;
+import com.example.auth.repository.projection.RoleRow;
+import com.example.auth.repository.projection.UserRoleRow;
+import com.example.auth.service.AccessTokenDenylist;
+import com.example.auth.service.AuthorizationEpochRegistry;
+import com.example.auth.service.JwtService;
+import com.example.auth.service.RefreshTokenService;
+import com.example.auth.service.UserRowAssembler;
+import com.example.auth.service.UserService;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Non-blocking counterpart of {@link UserService} with the same rules and error responses. Password
+ * hashing blocks, so it runs on the bounded-elastic scheduler rather than an event-loop thread.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveUserService {
+  private final ReactiveUserRepository userRepository;
+  private final ReactiveRoleRepository roleRepository;
+  private final PasswordEncoder passwordEncoder;
+  private final JwtService jwtService;
+  private final RefreshTokenService refreshTokenService;
+  private final AccessTokenDenylist accessTokenDenylist;
+  private final ReactiveAuthenticationManager authenticationManager;
+  private final AuthorizationEpochRegistry authorizationEpochRegistry;
+  private final TransactionalOperator transactionalOperator;
+
+  public Mono<SignupResponse> signup(SignupRequest request) {
+    return createUser(
+        request, "ROLE_USER", "Default role not found", "User registered successfully");
+  }
+
+  public Mono<TokenResponse> login(LoginRequest request) {
+    return authenticationManager
+        .authenticate(
+            new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword()))
+        // The manager already loaded the user to check the password
+        .map(
+            authentication ->
+                refreshTokenService.issue((UserDetails) authentication.getPrincipal()));
+  }
+
+  public Mono<TokenResponse> refreshToken(String refreshToken) {
+    return parseBearerToken(refreshToken)
+        .flatMap(
+            token ->
+                findPrincipal(token.subject())
+                    .map(
+                        user -> {
+                          if (!jwtService.isRefreshTokenValid(token, user)) {
+                            throw new CustomException(
+                                "Invalid refresh token", HttpStatus.UNAUTHORIZED);
+                          }
+                          return refreshTokenService.rotate(token, user);
+                        }));
+  }
+
+  @PreAuthorize("hasAuthority('user:update')")
+  public Mono<Void> updateUserRoles(Long userId, UpdateUserRolesRequest request) {
+    return userRepository
+        .findEmailById(userId)
+        .switchIfEmpty(Mono.error(ReactiveUserService::userNotFound))
+        .flatMap(
+            email ->
+                Flux.fromIterable(request.getRoleNames())
+                    .concatMap(
+                        roleName ->
+                            roleRepository
+                                .findRowByName(roleName)
+                                .switchIfEmpty(
+                                    Mono.error(
+                                        () ->
+                                            new CustomException(
+                                                "Role not found: " + roleName,
+                                                HttpStatus.NOT_FOUND))))
+                    .map(RoleRow::id)
+                    .collectList()
+                    .flatMap(
+                        roleIds ->
+                            userRepository
+                                .replaceRoles(userId, roleIds)
+                                .as(transactionalOperator::transactional))
+                    .then(
+                        Mono.fromRunnable(
+                            () -> {
+                              authorizationEpochRegistry.advanceSubject(email);
+                              accessTokenDenylist.revokeSubject(email);
+                            })));
+  }
+
+  /**
+   * Assigns or revokes one role for many users with a single statement. Unknown ids and users that
+   * already have, or lack, the role are skipped; returns how many users changed.
+   */
+  @PreAuthorize("hasAuthority('user:update')")
+  public Mono<BulkUserRolesResponse> updateRoleMembers(BulkUserRolesRequest request) {
+    Set<Long> userIds = request.getUserIds();
+    boolean assign = request.getAction() == BulkUserRolesRequest.Action.ASSIGN;
+    return roleRepository
+        .findRowByName(request.getRoleName())
+        .switchIfEmpty(
+            Mono.error(
+                () ->
+                    new CustomException(
+                        "Role not found: " + request.getRoleName(), HttpStatus.NOT_FOUND)))
+        .map(RoleRow::id)
+        .flatMap(
+            roleId ->
+                (assign
+                        ? userRepository.findEmailsWithoutRole(userIds, roleId)
+                        : userRepository.findEmailsWithRole(userIds, roleId))
+                    .collectList()
+                    .flatMap(
+                        affected ->
+                            affected.isEmpty()
+                                ? Mono.just(0L)
+                                : (assign
+                                        ? userRepository.assignRole(userIds, roleId)
+                                        : userRepository.revokeRole(userIds, roleId))
+                                    .as(transactionalOperator::transactional)
+                                    .doOnNext(
+                                        updated -> {
+                                          authorizationEpochRegistry.advanceSubjects(affected);
+                                          accessTokenDenylist.revokeSubjects(affected);
+                                        })))
+        .map(updated -> new BulkUserRolesResponse(updated.intValue()));
+  }
+
+  @PreAuthorize("hasAuthority('user:read')")
+  public Mono<Set<RoleResponse>> getUserRoles(Long userId) {
+    return userRepository
+        .existsById(userId)
+        .flatMap(
+            exists ->
+                exists
+                    ? userRepository
+                        .findRoleRowsByUserId(userId)
+                        .map(ReactiveRoleService::toRoleResponse)
+                        .collect(Collectors.toSet())
+                    : Mono.error(userNotFound()));
+  }
+
+  public Mono<Void> logout(String token) {
+    // Parsing fails if the token is invalid; revoking the family ends the login session
+    return parseBearerToken(token)
+        .doOnNext(
+            parsed -> {
+              refreshTokenService.revoke(parsed);
+              accessTokenDenylist.revoke(parsed);
+            })
+        .then();
+  }
+
+  @PreAuthorize("hasAuthority('user:update') or #email == authentication.name")
+  public Mono<Void> changePassword(String token, String oldPassword, String newPassword) {
+    return parseBearerToken(token)
+        .flatMap(
+            parsed ->
+                userRepository
+                    .findPasswordByEmail(parsed.subject())
+                    .switchIfEmpty(Mono.error(ReactiveUserService::userNotFound))
+                    .flatMap(
+                        current ->
+                            hash(
+                                () -> {
+                                  if (!passwordEncoder.matches(oldPassword, current)) {
+                                    throw new CustomException(
+                                        "Invalid old password", HttpStatus.BAD_REQUEST);
+                                  }
+                                  return passwordEncoder.encode(newPassword);
+                                }))
+                    .flatMap(encoded -> userRepository.updatePassword(parsed.subject(), encoded))
+                    .doOnSuccess(updated -> signOut(parsed.subject())))
+        .then();
+  }
+
+  @PreAuthorize("hasAuthority('user:delete') or #email == authentication.name")
+  public Mono<Void> deleteUser(String token) {
+    return parseBearerToken(token)
+        .flatMap(parsed -> findPrincipal(parsed.subject()))
+        .flatMap(user -> delete(user.getId(), user.getUsername()));
+  }
+
+  @PreAuthorize("hasAuthority('admin:access')")
+  public Mono<SignupResponse> createAdminUser(SignupRequest request) {
+    return createUser(
+        request, "ROLE_ADMIN", "Admin role not found", "Admin user created successfully");
+  }
+
+  /** Keyset pagination by id; pass the returned cursor as {@code afterId} for the next page. */
+  @PreAuthorize("hasAuthority('user:read')")
+  public Mono<UserPageResponse> getUsers(Long afterId, int limit) {
+    if (limit < 1 || limit > UserService.MAX_PAGE_SIZE) {
+      return Mono.error(
+          new CustomException(
+              "limit must be between 1 and " + UserService.MAX_PAGE_SIZE, HttpStatus.BAD_REQUEST));
+    }
+
+    // Fetch one extra id to learn whether another page exists
+    return userRepository
+        .findIdsAfter(afterId == null ? 0L : afterId, limit + 1)
+        .collectList()
+        .flatMap(
+            ids -> {
+              boolean hasMore = ids.size() > limit;
+              List<Long> page = hasMore ? ids.subList(0, limit) : ids;
+              Mono<List<CurrentUserResponse>> users =
+                  page.isEmpty()
+                      ? Mono.just(List.of())
+                      : assemble(userRepository.findRowsByIdIn(page)).collectList();
+              return users.map(
+                  list ->
+                      UserPageResponse.builder()
+                          .users(list)
+                          .nextCursor(hasMore ? page.get(page.size() - 1) : null)
+                          .build());
+            });
+  }
+
+  /**
+   * Streams every user. Rows are requested from the driver as the response is written, so memory
+   * stays flat regardless of the number of users.
+   */
+  @PreAuthorize("hasAuthority('user:read')")
+  public Flux<CurrentUserResponse> exportUsers() {
+    return assemble(userRepository.streamRowsOrderedById());
+  }
+
+  @PreAuthorize("hasAuthority('user:read')")
+  public Mono<CurrentUserResponse> getUserById(Long id) {
+    return assembleUser(userRepository.findRowsById(id));
+  }
+
+  @PreAuthorize("hasAuthority('user:delete')")
+  public Mono<Void> deleteUserById(Long id) {
+    return userRepository
+        .findEmailById(id)
+        .switchIfEmpty(Mono.error(ReactiveUserService::userNotFound))
+        .flatMap(email -> delete(id, email));
+  }
+
+  public Mono<CurrentUserResponse> getCurrentUser(Authentication authentication) {
+    if (authentication == null || !authentication.isAuthenticated()) {
+      return Mono.error(new CustomException("Not authenticated", HttpStatus.UNAUTHORIZED));
+    }
+
+    return assembleUser(userRepository.findRowsByEmail(authentication.getName()));
+  }
+
+  private Mono<SignupResponse> createUser(
+      SignupRequest request, String roleName, String missingRoleMessage, String message) {
+    Mono<Long> role =
+        roleRepository
+            .findRowByName(roleName)
+            .map(RoleRow::id)
+            .switchIfEmpty(
+                Mono.error(
+                    () ->
+                        new CustomException(missingRoleMessage, HttpStatus.INTERNAL_SERVER_ERROR)));
+
+    return userRepository
+        .existsByEmail(request.getEmail())
+        .flatMap(
+            exists ->
+                exists
+                    ? Mono.error(
+                        new CustomException("Email already exists", HttpStatus.BAD_REQUEST))
+                    : role)
+        .flatMap(
+            roleId ->
+                hash(() -> passwordEncoder.encode(request.getPassword()))
+                    .flatMap(
+                        password ->
+                            userRepository
+                                .insert(
+                                    request.getEmail(),
+                                    password,
+                                    request.getFirstName(),
+                                    request.getLastName(),
+                                    roleId)
+                                .as(transactionalOperator::transactional)))
+        .map(
+            id ->
+                SignupResponse.builder()
+                    .id(id)
+                    .email(request.getEmail())
+                    .firstName(request.getFirstName())
+                    .lastName(request.getLastName())
+                    .message(message)
+                    .build());
+  }
+
+  private Mono<Void> delete(Long id, String email) {
+    return userRepository
+        .deleteById(id)
+        .as(transactionalOperator::transactional)
+        .then(
+            Mono.fromRunnable(
+                () -> {
+                  authorizationEpochRegistry.advanceSubject(email);
+                  signOut(email);
+                }));
+  }
+
+  // Ends every session of the user, as a credential change or deletion should
+  private void signOut(String email) {
+    refreshTokenService.revokeAll(email);
+    accessTokenDenylist.revokeSubject(email);
+  }
+
+  private Mono<AuthenticatedUser> findPrincipal(String email) {
+    return userRepository
+        .findPrincipalByEmail(email)
+        .switchIfEmpty(Mono.error(ReactiveUserService::userNotFound));
+  }
+
+  private Mono<ParsedToken> parseBearerToken(String authorizationHeader) {
+    // Remove "Bearer " prefix
+    return Mono.fromCallable(() -> jwtService.parseToken(authorizationHeader.substring(7)));
+  }
+
+  private static Mono<String> hash(Callable<String> operation) {
+    return Mono.fromCallable(operation).subscribeOn(Schedulers.boundedElastic());
+  }
+
+  private static Flux<CurrentUserResponse> assemble(Flux<UserRoleRow> rows) {
+    return rows.bufferUntilChanged(UserRoleRow::userId).map(UserRowAssembler::toResponse);
+  }
+
+  private static Mono<CurrentUserResponse> assembleUser(Flux<UserRoleRow> rows) {
+    return rows.collectList()
+        .flatMap(
+            list ->
+                list.isEmpty()
+                    ? Mono.error(userNotFound())
+                    : Mono.just(UserRowAssembler.toResponse(list)));
+  }
+
+  private static CustomException userNotFound() {
+    return new CustomException("User not found", HttpStatus.NOT_FOUND);
+  }
+}
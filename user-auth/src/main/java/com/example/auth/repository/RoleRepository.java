@@ -1,15 +1,32 @@
 package com.example.auth.repository;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.example.auth.model.Role;
+import com.example.auth.repository.projection.RoleRow;
 
 @Repository
 public interface RoleRepository extends JpaRepository<Role, Long> {
   Optional<Role> findByName(String name);
 
   boolean existsByName(String name);
+
+  @Query(
+      "select new com.example.auth.repository.projection.RoleRow(r.id, r.name, r.permissionMask) "
+          + "from Role r order by r.id")
+  List<RoleRow> findAllRows();
+
+  @Query(
+      "select new com.example.auth.repository.projection.RoleRow(r.id, r.name, r.permissionMask) "
+          + "from Role r where r.id = :id")
+  Optional<RoleRow> findRowById(@Param("id") Long id);
+
+  @Query("select distinct r from Role r left join fetch r.permissionRows")
+  List<Role> findAllWithPermissionRows();
 }
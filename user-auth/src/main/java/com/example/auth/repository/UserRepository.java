@@ -1,15 +1,119 @@
 package com.example.auth.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.example.auth.model.User;
+import com.example.auth.repository.projection.RoleMemberRow;
+import com.example.auth.repository.projection.RoleRow;
+import com.example.auth.repository.projection.UserRoleRow;
+
+import jakarta.persistence.QueryHint;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
+  String USER_ROLE_ROW =
+      "select new com.example.auth.repository.projection.UserRoleRow("
+          + "u.id, u.email, u.firstName, u.lastName, r.name, r.permissionMask) "
+          + "from User u left join u.roles r ";
+
+  @EntityGraph(User.WITH_ROLES)
   Optional<User> findByEmail(String email);
 
+  @Override
+  @EntityGraph(User.WITH_ROLES)
+  Optional<User> findById(Long id);
+
+  @Override
+  @EntityGraph(User.WITH_ROLES)
+  List<User> findAll();
+
   boolean existsByEmail(String email);
+
+  @Query("select u.email from User u where u.email in :emails")
+  List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+  @Modifying
+  @Query("update User u set u.password = :password where u.email = :email")
+  int updatePassword(@Param("email") String email, @Param("password") String password);
+
+  /** Keyset page: the next {@code limit} user ids after {@code afterId}, ascending. */
+  @Query("select u.id from User u where u.id > :afterId order by u.id")
+  List<Long> findIdsAfter(@Param("afterId") Long afterId, Limit limit);
+
+  @Query(USER_ROLE_ROW + "where u.id = :id")
+  List<UserRoleRow> findRowsById(@Param("id") Long id);
+
+  @Query(USER_ROLE_ROW + "where u.email = :email")
+  List<UserRoleRow> findRowsByEmail(@Param("email") String email);
+
+  @Query(USER_ROLE_ROW + "where u.id in :ids order by u.id")
+  List<UserRoleRow> findRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+  /**
+   * Every user's rows, grouped by ascending user id. Must be consumed inside a transaction and
+   * closed; rows are fetched from the cursor.
+   */
+  @QueryHints({
+    @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+    @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  @Query(USER_ROLE_ROW + "order by u.id")
+  Stream<UserRoleRow> streamRowsOrderedById();
+
+  @Query(
+      "select new com.example.auth.repository.projection.RoleRow(r.id, r.name, r.permissionMask) "
+          + "from User u join u.roles r where u.id = :userId")
+  List<RoleRow> findRoleRowsByUserId(@Param("userId") Long userId);
+
+  /** Whether anyone holds {@code roleId}; one probe of the user_roles (role_id, user_id) index. */
+  @Query(
+      "select case when exists (select 1 from User u join u.roles r where r.id = :roleId) "
+          + "then true else false end")
+  boolean existsMemberOfRole(@Param("roleId") Long roleId);
+
+  /** Keyset page: the next {@code limit} holders of {@code roleId} after {@code afterId}. */
+  @Query(
+      "select new com.example.auth.repository.projection.RoleMemberRow("
+          + "u.id, u.email, u.firstName, u.lastName) "
+          + "from User u join u.roles r where r.id = :roleId and u.id > :afterId order by u.id")
+  List<RoleMemberRow> findMembersOfRole(
+      @Param("roleId") Long roleId, @Param("afterId") Long afterId, Limit limit);
+
+  @Query("select u.email from User u join u.roles r where u.id in :ids and r.id = :roleId")
+  List<String> findEmailsWithRole(@Param("ids") Collection<Long> ids, @Param("roleId") Long roleId);
+
+  @Query(
+      "select u.email from User u where u.id in :ids and not exists "
+          + "(select 1 from User h join h.roles r where h.id = u.id and r.id = :roleId)")
+  List<String> findEmailsWithoutRole(
+      @Param("ids") Collection<Long> ids, @Param("roleId") Long roleId);
+
+  /** Adds {@code roleId} to each of {@code ids} that exists and lacks it, in one statement. */
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query(
+      value =
+          "insert into user_roles (user_id, role_id) select u.id, :roleId from users u "
+              + "where u.id in :ids and not exists "
+              + "(select 1 from user_roles ur where ur.user_id = u.id and ur.role_id = :roleId)",
+      nativeQuery = true)
+  int assignRole(@Param("ids") Collection<Long> ids, @Param("roleId") Long roleId);
+
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query(
+      value = "delete from user_roles where role_id = :roleId and user_id in :ids",
+      nativeQuery = true)
+  int revokeRole(@Param("ids") Collection<Long> ids, @Param("roleId") Long roleId);
 }
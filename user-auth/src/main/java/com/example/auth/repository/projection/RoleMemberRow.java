@@ -0,0 +1,4 @@
+package com.example.auth.repository.projection;
+
+/** A user holding some role, with the columns {@code RoleMemberResponse} needs. */
+public record RoleMemberRow(Long userId, String email, String firstName, String lastName) {}
@@ -0,0 +1,12 @@
+package com.example.auth.repository.projection;
+
+import com.example.auth.model.PermissionSet;
+
+/** Columns needed for {@code RoleResponse}; permissions come from the mask, not the join table. */
+public record RoleRow(Long id, String name, Long permissionMask) {
+
+  /** Masks are backfilled at startup by {@code RoleService.initializeRoles}. */
+  public PermissionSet permissions() {
+    return permissionMask == null ? PermissionSet.empty() : PermissionSet.fromMask(permissionMask);
+  }
+}
@@ -0,0 +1,22 @@
+package com.example.auth.repository.projection;
+
+import com.example.auth.model.PermissionSet;
+
+/**
+ * One row of a user joined with one of their roles; {@code roleName} and {@code permissionMask} are
+ * null for a user without roles. Carries only the columns {@code CurrentUserResponse} needs, never
+ * the password hash.
+ */
+public record UserRoleRow(
+    Long userId,
+    String email,
+    String firstName,
+    String lastName,
+    String roleName,
+    Long permissionMask) {
+
+  /** Masks are backfilled at startup by {@code RoleService.initializeRoles}. */
+  public PermissionSet permissions() {
+    return permissionMask == null ? PermissionSet.empty() : PermissionSet.fromMask(permissionMask);
+  }
+}
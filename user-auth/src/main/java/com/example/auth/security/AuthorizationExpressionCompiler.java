@@ -0,0 +1,277 @@
+package com.example.auth.security;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import com.example.auth.model.Permission;
+
+/**
+ * Compiles the common {@code @PreAuthorize} shapes into {@link AuthorizationRule}s: {@code
+ * hasRole}, {@code hasAnyRole}, {@code hasAuthority}, {@code hasAnyAuthority}, {@code
+ * isAuthenticated}, {@code isAnonymous}, {@code permitAll}, {@code denyAll} and {@code #arg ==
+ * authentication.name}, combined with {@code and}/{@code or}/{@code not} and parentheses. Arguments
+ * must be string literals. Anything else returns null so the caller keeps the SpEL expression.
+ */
+final class AuthorizationExpressionCompiler {
+  private final String rolePrefix;
+
+  AuthorizationExpressionCompiler(String rolePrefix) {
+    this.rolePrefix = rolePrefix;
+  }
+
+  AuthorizationRule compile(String expression) {
+    List<Token> tokens = tokenize(expression);
+    if (tokens == null) {
+      return null;
+    }
+    Parser parser = new Parser(tokens);
+    AuthorizationRule rule = parser.or();
+    return rule != null && parser.atEnd() ? rule : null;
+  }
+
+  private enum Kind {
+    IDENTIFIER,
+    VARIABLE,
+    STRING,
+    LPAREN,
+    RPAREN,
+    COMMA,
+    DOT,
+    EQ,
+    AND,
+    OR,
+    NOT
+  }
+
+  private record Token(Kind kind, String text) {}
+
+  private static List<Token> tokenize(String expression) {
+    List<Token> tokens = new ArrayList<>();
+    int i = 0;
+    int length = expression.length();
+    while (i < length) {
+      char c = expression.charAt(i);
+      if (Character.isWhitespace(c)) {
+        i++;
+      } else if (c == '(' || c == ')' || c == ',' || c == '.') {
+        Kind kind =
+            c == '(' ? Kind.LPAREN : c == ')' ? Kind.RPAREN : c == ',' ? Kind.COMMA : Kind.DOT;
+        tokens.add(new Token(kind, String.valueOf(c)));
+        i++;
+      } else if (c == '\'' || c == '"') {
+        StringBuilder literal = new StringBuilder();
+        int j = i + 1;
+        while (true) {
+          if (j >= length) {
+            return null;
+          }
+          char d = expression.charAt(j);
+          if (d == c) {
+            // SpEL escapes a quote by doubling it
+            if (j + 1 < length && expression.charAt(j + 1) == c) {
+              literal.append(c);
+              j += 2;
+              continue;
+            }
+            break;
+          }
+          literal.append(d);
+          j++;
+        }
+        tokens.add(new Token(Kind.STRING, literal.toString()));
+        i = j + 1;
+      } else if (expression.startsWith("==", i)) {
+        tokens.add(new Token(Kind.EQ, "=="));
+        i += 2;
+      } else if (expression.startsWith("&&", i)) {
+        tokens.add(new Token(Kind.AND, "&&"));
+        i += 2;
+      } else if (expression.startsWith("||", i)) {
+        tokens.add(new Token(Kind.OR, "||"));
+        i += 2;
+      } else if (c == '!' && !expression.startsWith("!=", i)) {
+        tokens.add(new Token(Kind.NOT, "!"));
+        i++;
+      } else if (c == '#' || Character.isJavaIdentifierStart(c)) {
+        int j = c == '#' ? i + 1 : i;
+        int start = j;
+        while (j < length && Character.isJavaIdentifierPart(expression.charAt(j))) {
+          j++;
+        }
+        if (j == start) {
+          return null;
+        }
+        String word = expression.substring(start, j);
+        if (c == '#') {
+          tokens.add(new Token(Kind.VARIABLE, word));
+        } else {
+          tokens.add(keyword(word));
+        }
+        i = j;
+      } else {
+        return null;
+      }
+    }
+    return tokens;
+  }
+
+  private static Token keyword(String word) {
+    return switch (word.toLowerCase(Locale.ROOT)) {
+      case "and" -> new Token(Kind.AND, word);
+      case "or" -> new Token(Kind.OR, word);
+      case "not" -> new Token(Kind.NOT, word);
+      default -> new Token(Kind.IDENTIFIER, word);
+    };
+  }
+
+  /** Recursive descent with SpEL precedence: {@code not} binds tighter than {@code and}. */
+  private final class Parser {
+    private final List<Token> tokens;
+    private int position;
+
+    Parser(List<Token> tokens) {
+      this.tokens = tokens;
+    }
+
+    boolean atEnd() {
+      return position == tokens.size();
+    }
+
+    AuthorizationRule or() {
+      AuthorizationRule left = and();
+      while (left != null && accept(Kind.OR)) {
+        AuthorizationRule right = and();
+        left = right == null ? null : new AuthorizationRule.Or(left, right);
+      }
+      return left;
+    }
+
+    AuthorizationRule and() {
+      AuthorizationRule left = unary();
+      while (left != null && accept(Kind.AND)) {
+        AuthorizationRule right = unary();
+        left = right == null ? null : new AuthorizationRule.And(left, right);
+      }
+      return left;
+    }
+
+    AuthorizationRule unary() {
+      if (accept(Kind.NOT)) {
+        AuthorizationRule operand = unary();
+        return operand == null ? null : new AuthorizationRule.Not(operand);
+      }
+      if (accept(Kind.LPAREN)) {
+        AuthorizationRule inner = or();
+        return inner != null && accept(Kind.RPAREN) ? inner : null;
+      }
+      if (peek(Kind.VARIABLE)) {
+        return argumentEqualsName();
+      }
+      if (peek(Kind.IDENTIFIER)) {
+        return call();
+      }
+      return null;
+    }
+
+    /** {@code #arg == authentication.name}, in either operand order. */
+    private AuthorizationRule argumentEqualsName() {
+      String variable = next().text();
+      if (!accept(Kind.EQ) || !authenticationName()) {
+        return null;
+      }
+      return new AuthorizationRule.ArgumentEqualsName(variable);
+    }
+
+    private boolean authenticationName() {
+      return acceptIdentifier("authentication") && accept(Kind.DOT) && acceptIdentifier("name");
+    }
+
+    private AuthorizationRule call() {
+      String function = next().text();
+      if ("authentication".equals(function)
+          && accept(Kind.DOT)
+          && acceptIdentifier("name")
+          && accept(Kind.EQ)
+          && peek(Kind.VARIABLE)) {
+        return new AuthorizationRule.ArgumentEqualsName(next().text());
+      }
+      if (!accept(Kind.LPAREN)) {
+        return null;
+      }
+      List<String> arguments = new ArrayList<>();
+      if (!accept(Kind.RPAREN)) {
+        do {
+          if (!peek(Kind.STRING)) {
+            return null;
+          }
+          arguments.add(next().text());
+        } while (accept(Kind.COMMA));
+        if (!accept(Kind.RPAREN)) {
+          return null;
+        }
+      }
+      return switch (function) {
+        case "permitAll" -> arguments.isEmpty() ? new AuthorizationRule.Constant(true) : null;
+        case "denyAll" -> arguments.isEmpty() ? new AuthorizationRule.Constant(false) : null;
+        case "isAuthenticated" ->
+            arguments.isEmpty() ? new AuthorizationRule.IsAuthenticated() : null;
+        case "isAnonymous" -> arguments.isEmpty() ? new AuthorizationRule.IsAnonymous() : null;
+        case "hasRole" -> arguments.size() == 1 ? authorities(arguments, true) : null;
+        case "hasAnyRole" -> arguments.isEmpty() ? null : authorities(arguments, true);
+        case "hasAuthority" -> arguments.size() == 1 ? authorities(arguments, false) : null;
+        case "hasAnyAuthority" -> arguments.isEmpty() ? null : authorities(arguments, false);
+        default -> null;
+      };
+    }
+
+    private AuthorizationRule authorities(List<String> arguments, boolean roles) {
+      long permissionMask = 0;
+      Set<String> names = new LinkedHashSet<>();
+      for (String argument : arguments) {
+        String authority = roles ? withRolePrefix(argument) : argument;
+        Permission permission = Permission.fromAuthority(authority);
+        if (permission != null) {
+          permissionMask |= permission.mask();
+        } else {
+          names.add(authority);
+        }
+      }
+      return new AuthorizationRule.HasAnyAuthority(permissionMask, Set.copyOf(names));
+    }
+
+    private boolean peek(Kind kind) {
+      return position < tokens.size() && tokens.get(position).kind() == kind;
+    }
+
+    private boolean accept(Kind kind) {
+      if (peek(kind)) {
+        position++;
+        return true;
+      }
+      return false;
+    }
+
+    private boolean acceptIdentifier(String text) {
+      if (peek(Kind.IDENTIFIER) && tokens.get(position).text().equals(text)) {
+        position++;
+        return true;
+      }
+      return false;
+    }
+
+    private Token next() {
+      return tokens.get(position++);
+    }
+  }
+
+  /** Same rule as {@code SecurityExpressionRoot}: prefix unless already prefixed. */
+  private String withRolePrefix(String role) {
+    if (rolePrefix == null || rolePrefix.isEmpty() || role.startsWith(rolePrefix)) {
+      return role;
+    }
+    return rolePrefix + role;
+  }
+}
@@ -0,0 +1,95 @@
+package com.example.auth.security;
+
+import java.util.Objects;
+import java.util.Set;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+/**
+ * A compiled {@code @PreAuthorize} expression. Each rule mirrors the {@code SecurityExpressionRoot}
+ * method it replaces, including when the authentication is resolved.
+ */
+sealed interface AuthorizationRule {
+
+  boolean matches(AuthorizationSubject subject);
+
+  record Constant(boolean value) implements AuthorizationRule {
+    @Override
+    public boolean matches(AuthorizationSubject subject) {
+      return value;
+    }
+  }
+
+  record IsAuthenticated() implements AuthorizationRule {
+    @Override
+    public boolean matches(AuthorizationSubject subject) {
+      return subject.isAuthenticated();
+    }
+  }
+
+  record IsAnonymous() implements AuthorizationRule {
+    @Override
+    public boolean matches(AuthorizationSubject subject) {
+      return subject.isAnonymous();
+    }
+  }
+
+  /**
+   * {@code hasAuthority}/{@code hasAnyAuthority}/{@code hasRole}/{@code hasAnyRole} with role
+   * prefixes already applied. Known permissions are tested against the principal's bitmask; any
+   * other names are matched by string.
+   */
+  record HasAnyAuthority(long permissionMask, Set<String> names) implements AuthorizationRule {
+    @Override
+    public boolean matches(AuthorizationSubject subject) {
+      if (permissionMask != 0 && (subject.permissionMask() & permissionMask) != 0) {
+        return true;
+      }
+      if (names.isEmpty()) {
+        return false;
+      }
+      for (GrantedAuthority authority : subject.authentication().getAuthorities()) {
+        if (names.contains(authority.getAuthority())) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+
+  /** {@code #argument == authentication.name}, with SpEL's string equality. */
+  record ArgumentEqualsName(String argument) implements AuthorizationRule {
+    @Override
+    public boolean matches(AuthorizationSubject subject) {
+      Object value = subject.argument(argument);
+      Authentication authentication = subject.authentication();
+      String name = authentication.getName();
+      if (value instanceof CharSequence chars && name != null) {
+        return chars.toString().equals(name);
+      }
+      return Objects.equals(value, name);
+    }
+  }
+
+  record Not(AuthorizationRule rule) implements AuthorizationRule {
+    @Override
+    public boolean matches(AuthorizationSubject subject) {
+      return !rule.matches(subject);
+    }
+  }
+
+  record And(AuthorizationRule left, AuthorizationRule right) implements AuthorizationRule {
+    @Override
+    public boolean matches(AuthorizationSubject subject) {
+      return left.matches(subject) && right.matches(subject);
+    }
+  }
+
+  record Or(AuthorizationRule left, AuthorizationRule right) implements AuthorizationRule {
+    @Override
+    public boolean matches(AuthorizationSubject subject) {
+      return left.matches(subject) || right.matches(subject);
+    }
+  }
+}
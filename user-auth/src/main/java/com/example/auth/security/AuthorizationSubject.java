@@ -0,0 +1,99 @@
+package com.example.auth.security;
+
+import java.lang.reflect.Method;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.security.authentication.AuthenticationTrustResolver;
+import org.springframework.security.core.Authentication;
+
+import com.example.auth.model.PermissionSet;
+
+/**
+ * Per-invocation view of the caller that compiled rules evaluate against. The authentication is
+ * only resolved when a rule needs it, and the permission bitmask is computed at most once.
+ */
+final class AuthorizationSubject {
+  private static final long UNRESOLVED = -1L;
+
+  private final Supplier<Authentication> authentication;
+  private final MethodInvocation invocation;
+  private final AuthenticationTrustResolver trustResolver;
+  private final Function<Method, String[]> parameterNames;
+  private long permissionMask = UNRESOLVED;
+
+  AuthorizationSubject(
+      Supplier<Authentication> authentication,
+      MethodInvocation invocation,
+      AuthenticationTrustResolver trustResolver,
+      Function<Method, String[]> parameterNames) {
+    this.authentication = authentication;
+    this.invocation = invocation;
+    this.trustResolver = trustResolver;
+    this.parameterNames = parameterNames;
+  }
+
+  /** Throws {@code AuthenticationCredentialsNotFoundException} when there is no authentication. */
+  Authentication authentication() {
+    return authentication.get();
+  }
+
+  boolean isAuthenticated() {
+    return trustResolver.isAuthenticated(authentication());
+  }
+
+  boolean isAnonymous() {
+    return trustResolver.isAnonymous(authentication());
+  }
+
+  long permissionMask() {
+    if (permissionMask == UNRESOLVED) {
+      permissionMask = PermissionSet.fromAuthorities(authentication().getAuthorities()).mask();
+    }
+    return permissionMask;
+  }
+
+  /** Resolves {@code #name} the way {@code MethodSecurityEvaluationContext} does, or null. */
+  Object argument(String name) {
+    Object[] arguments = invocation.getArguments();
+    String[] names = parameterNames.apply(specificMethod());
+    if (names != null) {
+      for (int i = 0; i < names.length && i < arguments.length; i++) {
+        if (name.equals(names[i])) {
+          return arguments[i];
+        }
+      }
+    }
+    int index = positionalIndex(name);
+    return index >= 0 && index < arguments.length ? arguments[index] : null;
+  }
+
+  private Method specificMethod() {
+    Object target = invocation.getThis();
+    if (target == null) {
+      return invocation.getMethod();
+    }
+    return AopUtils.getMostSpecificMethod(
+        invocation.getMethod(), AopProxyUtils.ultimateTargetClass(target));
+  }
+
+  /** {@code #a0}/{@code #p0} aliases. */
+  private static int positionalIndex(String name) {
+    if (name.length() < 2 || (name.charAt(0) != 'a' && name.charAt(0) != 'p')) {
+      return -1;
+    }
+    for (int i = 1; i < name.length(); i++) {
+      if (!Character.isDigit(name.charAt(i))) {
+        return -1;
+      }
+    }
+    try {
+      return Integer.parseInt(name.substring(1));
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+}
@@ -0,0 +1,118 @@
+package com.example.auth.security;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import com.example.auth.model.InvalidationEvent;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Collects published events and broadcasts them every {@code flushInterval} as one batch. Equal
+ * events within a batch are sent once, and a batch that would name more than {@code maxKeys} users
+ * and roles names none and sends {@link InvalidationEvent#all()} instead, so a bulk edit costs one
+ * small broadcast however many rows it touched. Revocations carry data and are always sent as-is.
+ */
+@Slf4j
+public abstract class BatchingInvalidationBus implements InvalidationBus, AutoCloseable {
+  private final String nodeId = UUID.randomUUID().toString();
+  private final List<Consumer<InvalidationEvent>> subscribers = new CopyOnWriteArrayList<>();
+  private final int maxKeys;
+  private final ScheduledExecutorService flusher;
+  private Set<InvalidationEvent> pending = new LinkedHashSet<>();
+
+  protected BatchingInvalidationBus(Duration flushInterval, int maxKeys) {
+    this.maxKeys = maxKeys;
+    CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("invalidation-flush-");
+    threadFactory.setDaemon(true);
+    this.flusher = Executors.newSingleThreadScheduledExecutor(threadFactory);
+    long interval = flushInterval.toMillis();
+    flusher.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void publish(InvalidationEvent event) {
+    synchronized (this) {
+      pending.add(event);
+    }
+  }
+
+  @Override
+  public void subscribe(Consumer<InvalidationEvent> subscriber) {
+    subscribers.add(subscriber);
+  }
+
+  /** Broadcasts what was published since the last flush; normally called by the flush thread. */
+  public void flush() {
+    Set<InvalidationEvent> batch;
+    synchronized (this) {
+      if (pending.isEmpty()) {
+        return;
+      }
+      batch = pending;
+      pending = new LinkedHashSet<>();
+    }
+    try {
+      send(nodeId, coalesce(batch, maxKeys));
+    } catch (RuntimeException e) {
+      // Dropped rather than retried: receivers treat a lost batch like any other missed event
+      log.warn("Failed to broadcast {} invalidation events", batch.size(), e);
+    }
+  }
+
+  @Override
+  public void close() {
+    flusher.shutdown();
+    flush();
+  }
+
+  protected String nodeId() {
+    return nodeId;
+  }
+
+  /** Transmits one coalesced batch from node {@code origin} to every node. */
+  protected abstract void send(String origin, List<InvalidationEvent> batch);
+
+  /** Hands a received batch to the subscribers, unless this node published it. */
+  protected void deliver(String origin, List<InvalidationEvent> batch) {
+    if (nodeId.equals(origin)) {
+      return;
+    }
+    for (InvalidationEvent event : batch) {
+      for (Consumer<InvalidationEvent> subscriber : subscribers) {
+        try {
+          subscriber.accept(event);
+        } catch (RuntimeException e) {
+          log.warn("Invalidation subscriber failed on {}", event, e);
+        }
+      }
+    }
+  }
+
+  static List<InvalidationEvent> coalesce(Collection<InvalidationEvent> events, int maxKeys) {
+    long keys = events.stream().filter(event -> event.type().isCoveredByAll()).count();
+    if (keys <= maxKeys && !events.contains(InvalidationEvent.all())) {
+      return List.copyOf(events);
+    }
+    List<InvalidationEvent> coalesced = new ArrayList<>();
+    coalesced.add(InvalidationEvent.all());
+    for (InvalidationEvent event : events) {
+      if (event.isRevocation()) {
+        coalesced.add(event);
+      }
+    }
+    return coalesced;
+  }
+}
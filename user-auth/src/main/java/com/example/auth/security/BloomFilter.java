@@ -0,0 +1,87 @@
+package com.example.auth.security;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter over strings: {@link #mightContain} never misses an added value and
+ * reports a value that was never added with about the configured false-positive probability, as
+ * long as no more than the expected number of values are added. Values cannot be removed; build a
+ * new filter instead. Thread-safe, and {@link #mightContain} never blocks.
+ */
+public final class BloomFilter {
+  private final AtomicLongArray words;
+  private final long bits;
+  private final int hashes;
+  private final int capacity;
+
+  private BloomFilter(long bits, int hashes, int capacity) {
+    this.words = new AtomicLongArray((int) ((bits + 63) >>> 6));
+    this.bits = bits;
+    this.hashes = hashes;
+    this.capacity = capacity;
+  }
+
+  /** Sized for {@code capacity} values at {@code falsePositiveRate}, using the textbook bounds. */
+  public static BloomFilter create(int capacity, double falsePositiveRate) {
+    int expected = Math.max(capacity, 1);
+    double ln2 = Math.log(2);
+    long bits =
+        Math.max(64, (long) Math.ceil(-expected * Math.log(falsePositiveRate) / (ln2 * ln2)));
+    int hashes = Math.max(1, (int) Math.round((double) bits / expected * ln2));
+    return new BloomFilter(bits, hashes, expected);
+  }
+
+  public void put(String value) {
+    long hash = hash(value);
+    int h1 = (int) hash;
+    int h2 = (int) (hash >>> 32);
+    for (int i = 1; i <= hashes; i++) {
+      long bit = index(h1 + i * h2);
+      int word = (int) (bit >>> 6);
+      long mask = 1L << bit;
+      long current;
+      do {
+        current = words.get(word);
+      } while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask));
+    }
+  }
+
+  public boolean mightContain(String value) {
+    long hash = hash(value);
+    int h1 = (int) hash;
+    int h2 = (int) (hash >>> 32);
+    for (int i = 1; i <= hashes; i++) {
+      long bit = index(h1 + i * h2);
+      if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** Number of values the filter was sized for. */
+  public int capacity() {
+    return capacity;
+  }
+
+  private long index(int combined) {
+    // Flip negative combinations, as in Kirsch and Mitzenmacher's double hashing
+    return (combined < 0 ? ~combined : combined) % bits;
+  }
+
+  // 64-bit FNV-1a over the UTF-8 bytes, finished with the MurmurHash3 mixer for better avalanche
+  private static long hash(String value) {
+    long hash = 0xcbf29ce484222325L;
+    for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+      hash ^= b;
+      hash *= 0x100000001b3L;
+    }
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+}
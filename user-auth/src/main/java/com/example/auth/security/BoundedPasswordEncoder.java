@@ -0,0 +1,184 @@
+package com.example.auth.security;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.example.auth.exception.CustomException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Runs a slow password encoder on a fixed pool with a bounded queue, so a login flood cannot occupy
+ * every CPU and request thread with hashing. Work that does not fit in the queue, or waits longer
+ * than {@code maxWait}, fails fast with 503 instead of piling up behind the pool.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+  private static final String METRIC_PREFIX = "auth.password.hashing";
+
+  private final PasswordEncoder delegate;
+  private final ThreadPoolExecutor executor;
+  private final long maxWaitNanos;
+  private final Timer encodeTimer;
+  private final Timer matchesTimer;
+  private final Counter rejections;
+
+  public BoundedPasswordEncoder(
+      PasswordEncoder delegate,
+      int threads,
+      int queueCapacity,
+      Duration maxWait,
+      ObjectProvider<MeterRegistry> meterRegistry) {
+    this.delegate = delegate;
+    this.executor =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            new CustomizableThreadFactory("password-hashing-"),
+            new ThreadPoolExecutor.AbortPolicy());
+    this.maxWaitNanos = maxWait.toNanos();
+
+    MeterRegistry registry = meterRegistry.getIfAvailable();
+    if (registry != null) {
+      Gauge.builder(METRIC_PREFIX + ".queued", executor, pool -> pool.getQueue().size())
+          .register(registry);
+      Gauge.builder(METRIC_PREFIX + ".active", executor, ThreadPoolExecutor::getActiveCount)
+          .register(registry);
+      encodeTimer = timer(registry, "encode");
+      matchesTimer = timer(registry, "matches");
+      rejections = Counter.builder(METRIC_PREFIX + ".rejected").register(registry);
+    } else {
+      encodeTimer = null;
+      matchesTimer = null;
+      rejections = null;
+    }
+  }
+
+  private static Timer timer(MeterRegistry registry, String operation) {
+    return Timer.builder(METRIC_PREFIX)
+        .tag("operation", operation)
+        .publishPercentiles(0.5, 0.99)
+        .register(registry);
+  }
+
+  @Override
+  public String encode(CharSequence rawPassword) {
+    return submit(encodeTimer, () -> delegate.encode(rawPassword));
+  }
+
+  @Override
+  public boolean matches(CharSequence rawPassword, String encodedPassword) {
+    return submit(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword));
+  }
+
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    return delegate.upgradeEncoding(encodedPassword);
+  }
+
+  /** Hashing operations waiting for a worker. */
+  public int queued() {
+    return executor.getQueue().size();
+  }
+
+  @Override
+  public void close() {
+    executor.shutdownNow();
+  }
+
+  /**
+   * Encodes {@code rawPasswords} in parallel and returns the hashes in input order. At most one
+   * task per worker is in flight, so a bulk caller leaves the queue to interactive logins; a hash
+   * that cannot be started or finished in time fails the whole call as {@link #encode} would.
+   */
+  public List<String> encodeAll(List<? extends CharSequence> rawPasswords) {
+    int parallelism = executor.getCorePoolSize();
+    List<Future<String>> futures = new ArrayList<>(rawPasswords.size());
+    List<String> encoded = new ArrayList<>(rawPasswords.size());
+    try {
+      for (CharSequence rawPassword : rawPasswords) {
+        if (futures.size() - encoded.size() >= parallelism) {
+          encoded.add(await(futures.get(encoded.size())));
+        }
+        futures.add(start(encodeTimer, () -> delegate.encode(rawPassword)));
+      }
+      while (encoded.size() < futures.size()) {
+        encoded.add(await(futures.get(encoded.size())));
+      }
+      return encoded;
+    } catch (RuntimeException | Error e) {
+      futures.forEach(this::abandon);
+      throw e;
+    }
+  }
+
+  private <T> T submit(Timer timer, Callable<T> operation) {
+    return await(start(timer, operation));
+  }
+
+  private <T> Future<T> start(Timer timer, Callable<T> operation) {
+    Callable<T> task = timer == null ? operation : () -> timer.recordCallable(operation);
+    try {
+      return executor.submit(task);
+    } catch (RejectedExecutionException e) {
+      throw saturated();
+    }
+  }
+
+  private <T> T await(Future<T> future) {
+    try {
+      return future.get(maxWaitNanos, TimeUnit.NANOSECONDS);
+    } catch (TimeoutException e) {
+      abandon(future);
+      throw saturated();
+    } catch (InterruptedException e) {
+      abandon(future);
+      Thread.currentThread().interrupt();
+      throw saturated();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtime) {
+        throw runtime;
+      }
+      if (e.getCause() instanceof Error error) {
+        throw error;
+      }
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  /** Cancels a task nobody waits for and frees its queue slot if it has not started. */
+  private void abandon(Future<?> future) {
+    future.cancel(true);
+    if (future instanceof Runnable task) {
+      executor.remove(task);
+    }
+  }
+
+  private CustomException saturated() {
+    if (rejections != null) {
+      rejections.increment();
+    }
+    return new CustomException(
+        "Too many concurrent authentication requests, try again later",
+        HttpStatus.SERVICE_UNAVAILABLE);
+  }
+}
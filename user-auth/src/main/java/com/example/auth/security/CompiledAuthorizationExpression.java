@@ -0,0 +1,190 @@
+package com.example.auth.security;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.EvaluationException;
+import org.springframework.expression.Expression;
+import org.springframework.security.authentication.AuthenticationTrustResolver;
+
+/**
+ * {@link Expression} backed by an {@link AuthorizationRule}. Evaluation against a {@link
+ * DeferredEvaluationContext} runs the rule directly; every other use, and every other operation, is
+ * delegated to the SpEL expression parsed from the same string.
+ */
+final class CompiledAuthorizationExpression implements Expression {
+  private final Expression fallback;
+  private final AuthorizationRule rule;
+  private final AuthenticationTrustResolver trustResolver;
+  private final ParameterNameDiscoverer parameterNameDiscoverer;
+  private final Map<Method, Optional<String[]>> parameterNames = new ConcurrentHashMap<>();
+
+  CompiledAuthorizationExpression(
+      Expression fallback,
+      AuthorizationRule rule,
+      AuthenticationTrustResolver trustResolver,
+      ParameterNameDiscoverer parameterNameDiscoverer) {
+    this.fallback = fallback;
+    this.rule = rule;
+    this.trustResolver = trustResolver;
+    this.parameterNameDiscoverer = parameterNameDiscoverer;
+  }
+
+  AuthorizationRule getRule() {
+    return rule;
+  }
+
+  @Override
+  public Object getValue(EvaluationContext context) throws EvaluationException {
+    if (context instanceof DeferredEvaluationContext deferred) {
+      return rule.matches(subject(deferred));
+    }
+    return fallback.getValue(context);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T getValue(EvaluationContext context, Class<T> desiredResultType)
+      throws EvaluationException {
+    if (context instanceof DeferredEvaluationContext deferred
+        && (desiredResultType == null
+            || desiredResultType == boolean.class
+            || desiredResultType.isAssignableFrom(Boolean.class))) {
+      return (T) Boolean.valueOf(rule.matches(subject(deferred)));
+    }
+    return fallback.getValue(context, desiredResultType);
+  }
+
+  private AuthorizationSubject subject(DeferredEvaluationContext context) {
+    return new AuthorizationSubject(
+        context.getAuthentication(), context.getInvocation(), trustResolver, this::parameterNames);
+  }
+
+  private String[] parameterNames(Method method) {
+    return parameterNames
+        .computeIfAbsent(
+            method, m -> Optional.ofNullable(parameterNameDiscoverer.getParameterNames(m)))
+        .orElse(null);
+  }
+
+  @Override
+  public String getExpressionString() {
+    return fallback.getExpressionString();
+  }
+
+  @Override
+  public Object getValue() throws EvaluationException {
+    return fallback.getValue();
+  }
+
+  @Override
+  public <T> T getValue(Class<T> desiredResultType) throws EvaluationException {
+    return fallback.getValue(desiredResultType);
+  }
+
+  @Override
+  public Object getValue(Object rootObject) throws EvaluationException {
+    return fallback.getValue(rootObject);
+  }
+
+  @Override
+  public <T> T getValue(Object rootObject, Class<T> desiredResultType) throws EvaluationException {
+    return fallback.getValue(rootObject, desiredResultType);
+  }
+
+  @Override
+  public Object getValue(EvaluationContext context, Object rootObject) throws EvaluationException {
+    return fallback.getValue(context, rootObject);
+  }
+
+  @Override
+  public <T> T getValue(EvaluationContext context, Object rootObject, Class<T> desiredResultType)
+      throws EvaluationException {
+    return fallback.getValue(context, rootObject, desiredResultType);
+  }
+
+  @Override
+  public Class<?> getValueType() throws EvaluationException {
+    return fallback.getValueType();
+  }
+
+  @Override
+  public Class<?> getValueType(Object rootObject) throws EvaluationException {
+    return fallback.getValueType(rootObject);
+  }
+
+  @Override
+  public Class<?> getValueType(EvaluationContext context) throws EvaluationException {
+    return fallback.getValueType(context);
+  }
+
+  @Override
+  public Class<?> getValueType(EvaluationContext context, Object rootObject)
+      throws EvaluationException {
+    return fallback.getValueType(context, rootObject);
+  }
+
+  @Override
+  public TypeDescriptor getValueTypeDescriptor() throws EvaluationException {
+    return fallback.getValueTypeDescriptor();
+  }
+
+  @Override
+  public TypeDescriptor getValueTypeDescriptor(Object rootObject) throws EvaluationException {
+    return fallback.getValueTypeDescriptor(rootObject);
+  }
+
+  @Override
+  public TypeDescriptor getValueTypeDescriptor(EvaluationContext context)
+      throws EvaluationException {
+    return fallback.getValueTypeDescriptor(context);
+  }
+
+  @Override
+  public TypeDescriptor getValueTypeDescriptor(EvaluationContext context, Object rootObject)
+      throws EvaluationException {
+    return fallback.getValueTypeDescriptor(context, rootObject);
+  }
+
+  @Override
+  public boolean isWritable(Object rootObject) throws EvaluationException {
+    return fallback.isWritable(rootObject);
+  }
+
+  @Override
+  public boolean isWritable(EvaluationContext context) throws EvaluationException {
+    return fallback.isWritable(context);
+  }
+
+  @Override
+  public boolean isWritable(EvaluationContext context, Object rootObject)
+      throws EvaluationException {
+    return fallback.isWritable(context, rootObject);
+  }
+
+  @Override
+  public void setValue(Object rootObject, Object value) throws EvaluationException {
+    fallback.setValue(rootObject, value);
+  }
+
+  @Override
+  public void setValue(EvaluationContext context, Object value) throws EvaluationException {
+    fallback.setValue(context, value);
+  }
+
+  @Override
+  public void setValue(EvaluationContext context, Object rootObject, Object value)
+      throws EvaluationException {
+    fallback.setValue(context, rootObject, value);
+  }
+
+  @Override
+  public String toString() {
+    return getExpressionString();
+  }
+}
@@ -0,0 +1,77 @@
+package com.example.auth.security;
+
+import java.util.function.Supplier;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.ParseException;
+import org.springframework.expression.ParserContext;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.access.hierarchicalroles.NullRoleHierarchy;
+import org.springframework.security.core.Authentication;
+import org.springframework.util.function.SingletonSupplier;
+
+/**
+ * Method-security expression handler that compiles simple {@code @PreAuthorize} expressions such as
+ * {@code hasRole('USER') and hasRole('MANAGER')} or {@code hasAuthority('user:read')} into direct
+ * checks against the principal's authorities, with permissions tested as a bitmask. Expressions the
+ * compiler does not understand, e.g. {@code hasAuthority(#resource + ':read')}, are evaluated by
+ * SpEL exactly as with the default handler.
+ *
+ * <p>Expressions are compiled when first parsed, using the role prefix at that time. Compilation is
+ * skipped while a role hierarchy is configured, since reachable authorities are not modelled.
+ */
+public class CompiledMethodSecurityExpressionHandler
+    extends DefaultMethodSecurityExpressionHandler {
+
+  public CompiledMethodSecurityExpressionHandler() {
+    setExpressionParser(new CompilingExpressionParser(getExpressionParser()));
+  }
+
+  @Override
+  public EvaluationContext createEvaluationContext(
+      Supplier<Authentication> authentication, MethodInvocation invocation) {
+    Supplier<Authentication> memoized = SingletonSupplier.of(authentication);
+    return new DeferredEvaluationContext(
+        memoized, invocation, () -> super.createEvaluationContext(memoized, invocation));
+  }
+
+  private boolean canCompile() {
+    return getRoleHierarchy() == null || getRoleHierarchy() instanceof NullRoleHierarchy;
+  }
+
+  private final class CompilingExpressionParser implements ExpressionParser {
+    private final ExpressionParser spel;
+
+    CompilingExpressionParser(ExpressionParser spel) {
+      this.spel = spel;
+    }
+
+    @Override
+    public Expression parseExpression(String expressionString) throws ParseException {
+      // Always parse with SpEL first so syntax errors surface exactly as before
+      Expression fallback = spel.parseExpression(expressionString);
+      if (!canCompile()) {
+        return fallback;
+      }
+      AuthorizationRule rule =
+          new AuthorizationExpressionCompiler(getDefaultRolePrefix()).compile(expressionString);
+      if (rule == null) {
+        return fallback;
+      }
+      return new CompiledAuthorizationExpression(
+          fallback, rule, getTrustResolver(), getParameterNameDiscoverer());
+    }
+
+    @Override
+    public Expression parseExpression(String expressionString, ParserContext context)
+        throws ParseException {
+      if (context != null && context.isTemplate()) {
+        return spel.parseExpression(expressionString, context);
+      }
+      return parseExpression(expressionString);
+    }
+  }
+}
@@ -0,0 +1,121 @@
+package com.example.auth.security;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.expression.BeanResolver;
+import org.springframework.expression.ConstructorResolver;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.IndexAccessor;
+import org.springframework.expression.MethodResolver;
+import org.springframework.expression.OperatorOverloader;
+import org.springframework.expression.PropertyAccessor;
+import org.springframework.expression.TypeComparator;
+import org.springframework.expression.TypeConverter;
+import org.springframework.expression.TypeLocator;
+import org.springframework.expression.TypedValue;
+import org.springframework.security.core.Authentication;
+import org.springframework.util.function.SingletonSupplier;
+
+/**
+ * Evaluation context that only builds the full SpEL {@code MethodSecurityEvaluationContext} (root
+ * object, property accessors, argument variables) when a SpEL expression actually touches it.
+ * Compiled rules read the authentication and invocation directly.
+ */
+final class DeferredEvaluationContext implements EvaluationContext {
+  private final Supplier<Authentication> authentication;
+  private final MethodInvocation invocation;
+  private final SingletonSupplier<EvaluationContext> delegate;
+
+  DeferredEvaluationContext(
+      Supplier<Authentication> authentication,
+      MethodInvocation invocation,
+      Supplier<EvaluationContext> delegate) {
+    this.authentication = authentication;
+    this.invocation = invocation;
+    this.delegate = SingletonSupplier.of(delegate);
+  }
+
+  Supplier<Authentication> getAuthentication() {
+    return authentication;
+  }
+
+  MethodInvocation getInvocation() {
+    return invocation;
+  }
+
+  private EvaluationContext delegate() {
+    return delegate.obtain();
+  }
+
+  @Override
+  public TypedValue getRootObject() {
+    return delegate().getRootObject();
+  }
+
+  @Override
+  public List<PropertyAccessor> getPropertyAccessors() {
+    return delegate().getPropertyAccessors();
+  }
+
+  @Override
+  public List<IndexAccessor> getIndexAccessors() {
+    return delegate().getIndexAccessors();
+  }
+
+  @Override
+  public List<ConstructorResolver> getConstructorResolvers() {
+    return delegate().getConstructorResolvers();
+  }
+
+  @Override
+  public List<MethodResolver> getMethodResolvers() {
+    return delegate().getMethodResolvers();
+  }
+
+  @Override
+  public BeanResolver getBeanResolver() {
+    return delegate().getBeanResolver();
+  }
+
+  @Override
+  public TypeLocator getTypeLocator() {
+    return delegate().getTypeLocator();
+  }
+
+  @Override
+  public TypeConverter getTypeConverter() {
+    return delegate().getTypeConverter();
+  }
+
+  @Override
+  public TypeComparator getTypeComparator() {
+    return delegate().getTypeComparator();
+  }
+
+  @Override
+  public OperatorOverloader getOperatorOverloader() {
+    return delegate().getOperatorOverloader();
+  }
+
+  @Override
+  public TypedValue assignVariable(String name, Supplier<TypedValue> valueSupplier) {
+    return delegate().assignVariable(name, valueSupplier);
+  }
+
+  @Override
+  public void setVariable(String name, Object value) {
+    delegate().setVariable(name, value);
+  }
+
+  @Override
+  public Object lookupVariable(String name) {
+    return delegate().lookupVariable(name);
+  }
+
+  @Override
+  public boolean isAssignmentEnabled() {
+    return delegate().isAssignmentEnabled();
+  }
+}
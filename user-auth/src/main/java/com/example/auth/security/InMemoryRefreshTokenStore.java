@@ -0,0 +1,104 @@
+package com.example.auth.security;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.example.auth.model.RefreshTokenEntry;
+
+/** Single-node store; tokens do not survive a restart, so users log in again after one. */
+public class InMemoryRefreshTokenStore implements RefreshTokenStore {
+  private final Map<String, TokenState> tokens = new ConcurrentHashMap<>();
+  private final Map<String, FamilyState> families = new ConcurrentHashMap<>();
+  private final Map<String, Set<String>> familiesBySubject = new ConcurrentHashMap<>();
+
+  @Override
+  public void save(RefreshTokenEntry token) {
+    families.merge(token.familyId(), new FamilyState(token.expiresAt()), FamilyState::extend);
+    familiesBySubject.compute(
+        token.subject(),
+        (subject, familyIds) -> {
+          Set<String> ids = familyIds != null ? familyIds : ConcurrentHashMap.newKeySet();
+          ids.add(token.familyId());
+          return ids;
+        });
+    tokens.put(token.tokenId(), new TokenState(token.familyId(), token.expiresAt()));
+  }
+
+  @Override
+  public Rotation rotate(String tokenId) {
+    TokenState token = tokens.get(tokenId);
+    if (token == null) {
+      return Rotation.UNKNOWN;
+    }
+    FamilyState family = families.get(token.familyId());
+    if (family == null || family.revoked) {
+      return Rotation.REVOKED;
+    }
+    if (!token.used().compareAndSet(false, true)) {
+      family.revoked = true;
+      return Rotation.REUSED;
+    }
+    return Rotation.ACCEPTED;
+  }
+
+  @Override
+  public void revokeFamily(String familyId) {
+    FamilyState family = families.get(familyId);
+    if (family != null) {
+      family.revoked = true;
+    }
+  }
+
+  @Override
+  public void revokeSubject(String subject) {
+    for (String familyId : familiesBySubject.getOrDefault(subject, Set.of())) {
+      revokeFamily(familyId);
+    }
+  }
+
+  @Override
+  public int purgeExpired(Instant now) {
+    int before = tokens.size();
+    tokens.values().removeIf(token -> token.expiresAt().isBefore(now));
+    int purged = before - tokens.size();
+
+    // A revoked family must outlive its last token, which expires at the family's expiry
+    families.values().removeIf(family -> family.expiresAt.isBefore(now));
+    // Per-key compute, so a concurrent save never adds to a set that is being dropped
+    for (String subject : familiesBySubject.keySet()) {
+      familiesBySubject.computeIfPresent(
+          subject,
+          (key, familyIds) -> {
+            familyIds.removeIf(id -> !families.containsKey(id));
+            return familyIds.isEmpty() ? null : familyIds;
+          });
+    }
+    return purged;
+  }
+
+  private record TokenState(String familyId, Instant expiresAt, AtomicBoolean used) {
+    TokenState(String familyId, Instant expiresAt) {
+      this(familyId, expiresAt, new AtomicBoolean());
+    }
+  }
+
+  // Expires with its longest-lived token; only updated inside the map's merge
+  private static final class FamilyState {
+    private volatile Instant expiresAt;
+    private volatile boolean revoked;
+
+    private FamilyState(Instant expiresAt) {
+      this.expiresAt = expiresAt;
+    }
+
+    private FamilyState extend(FamilyState added) {
+      if (added.expiresAt.isAfter(expiresAt)) {
+        expiresAt = added.expiresAt;
+      }
+      return this;
+    }
+  }
+}
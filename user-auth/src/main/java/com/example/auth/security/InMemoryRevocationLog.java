@@ -0,0 +1,28 @@
+package com.example.auth.security;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import com.example.auth.model.RevocationEntry;
+
+/** Single-node log; revocations do not survive a restart, so neither do the tokens they cover. */
+public class InMemoryRevocationLog implements RevocationLog {
+  private final Queue<RevocationEntry> entries = new ConcurrentLinkedQueue<>();
+
+  @Override
+  public void append(RevocationEntry entry) {
+    entries.add(entry);
+  }
+
+  @Override
+  public List<RevocationEntry> loadActive(Instant now) {
+    return entries.stream().filter(entry -> entry.expiresAt().isAfter(now)).toList();
+  }
+
+  @Override
+  public void purgeExpired(Instant now) {
+    entries.removeIf(entry -> entry.expiresAt().isBefore(now));
+  }
+}
@@ -0,0 +1,26 @@
+package com.example.auth.security;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/** Single-node store; keys are regenerated on restart, which invalidates every issued token. */
+public class InMemorySigningKeyStore implements SigningKeyStore {
+  private final Map<String, SigningKey> keys = new ConcurrentHashMap<>();
+
+  @Override
+  public List<SigningKey> findAll() {
+    return List.copyOf(keys.values());
+  }
+
+  @Override
+  public void save(SigningKey key) {
+    keys.put(key.kid(), key);
+  }
+
+  @Override
+  public void deleteCreatedBefore(Instant cutoff, String keep) {
+    keys.values().removeIf(key -> key.createdAt().isBefore(cutoff) && !key.kid().equals(keep));
+  }
+}
@@ -0,0 +1,44 @@
+package com.example.auth.security;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.example.auth.model.InvalidationEvent;
+
+/**
+ * Bus between nodes in the same JVM that share a {@link Hub}, such as several application contexts
+ * in a test. A bus with its own hub is a single node: it batches and coalesces, but nobody else
+ * receives anything.
+ */
+public class InProcessInvalidationBus extends BatchingInvalidationBus {
+  private final Hub hub;
+
+  public InProcessInvalidationBus(Duration flushInterval, int maxKeys) {
+    this(new Hub(), flushInterval, maxKeys);
+  }
+
+  public InProcessInvalidationBus(Hub hub, Duration flushInterval, int maxKeys) {
+    super(flushInterval, maxKeys);
+    this.hub = hub;
+    hub.nodes.add(this);
+  }
+
+  @Override
+  protected void send(String origin, List<InvalidationEvent> batch) {
+    for (InProcessInvalidationBus node : hub.nodes) {
+      node.deliver(origin, batch);
+    }
+  }
+
+  @Override
+  public void close() {
+    super.close();
+    hub.nodes.remove(this);
+  }
+
+  /** The nodes that receive each other's events. */
+  public static final class Hub {
+    private final List<InProcessInvalidationBus> nodes = new CopyOnWriteArrayList<>();
+  }
+}
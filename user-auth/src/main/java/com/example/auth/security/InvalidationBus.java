@@ -0,0 +1,18 @@
+package com.example.auth.security;
+
+import java.util.function.Consumer;
+
+import com.example.auth.model.InvalidationEvent;
+
+/**
+ * Broadcasts {@link InvalidationEvent}s to the other nodes of the cluster. The publishing node has
+ * already applied the change and does not receive its own events. Delivery is asynchronous and
+ * best-effort: a node that may have missed events treats that as {@link InvalidationEvent#all()}.
+ */
+public interface InvalidationBus {
+  /** Queues {@code event} for the next broadcast; cheap enough to call after every commit. */
+  void publish(InvalidationEvent event);
+
+  /** Registers a handler for events from other nodes, called on the bus's delivery thread. */
+  void subscribe(Consumer<InvalidationEvent> subscriber);
+}
@@ -0,0 +1,80 @@
+package com.example.auth.security;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.example.auth.model.InvalidationEvent;
+
+/**
+ * Text form of an event batch for transports with a small payload limit: the origin node id on the
+ * first line, then one tab-separated event per line with instants as epoch milliseconds. A batch
+ * that does not fit one payload is split at event boundaries.
+ */
+final class InvalidationCodec {
+  private static final char FIELD = '\t';
+  private static final char EVENT = '\n';
+
+  private InvalidationCodec() {}
+
+  record Message(String origin, List<InvalidationEvent> events) {}
+
+  static List<String> encode(String origin, List<InvalidationEvent> batch, int maxBytes) {
+    List<String> payloads = new ArrayList<>();
+    StringBuilder payload = new StringBuilder(origin);
+    int bytes = utf8Length(origin);
+    for (InvalidationEvent event : batch) {
+      String line = encode(event);
+      int lineBytes = 1 + utf8Length(line);
+      if (bytes + lineBytes > maxBytes && payload.length() > origin.length()) {
+        payloads.add(payload.toString());
+        payload = new StringBuilder(origin);
+        bytes = utf8Length(origin);
+      }
+      payload.append(EVENT).append(line);
+      bytes += lineBytes;
+    }
+    if (payload.length() > origin.length()) {
+      payloads.add(payload.toString());
+    }
+    return payloads;
+  }
+
+  static Message decode(String payload) {
+    String[] lines = payload.split(String.valueOf(EVENT));
+    List<InvalidationEvent> events = new ArrayList<>(lines.length - 1);
+    for (int i = 1; i < lines.length; i++) {
+      String[] fields = lines[i].split(String.valueOf(FIELD), -1);
+      events.add(
+          new InvalidationEvent(
+              InvalidationEvent.Type.valueOf(fields[0]),
+              emptyToNull(fields[1]),
+              toInstant(fields[2]),
+              toInstant(fields[3])));
+    }
+    return new Message(lines[0], events);
+  }
+
+  private static String encode(InvalidationEvent event) {
+    return event.type().name()
+        + FIELD
+        + (event.key() == null ? "" : event.key())
+        + FIELD
+        + (event.issuedBefore() == null ? "" : event.issuedBefore().toEpochMilli())
+        + FIELD
+        + (event.expiresAt() == null ? "" : event.expiresAt().toEpochMilli());
+  }
+
+  private static String emptyToNull(String value) {
+    return value.isEmpty() ? null : value;
+  }
+
+  private static Instant toInstant(String value) {
+    return value.isEmpty() ? null : Instant.ofEpochMilli(Long.parseLong(value));
+  }
+
+  private static int utf8Length(String value) {
+    return value.getBytes(StandardCharsets.UTF_8).length;
+  }
+}
@@ -0,0 +1,120 @@
+package com.example.auth.security;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.auth.model.RefreshTokenEntry;
+
+/**
+ * Store shared by every node, in the {@code refresh_tokens} and {@code refresh_token_families}
+ * tables from {@code db/refresh-tokens/schema.sql}. Rotation and revocation are primary-key
+ * updates; only the sweeper touches rows by expiry.
+ */
+public class JdbcRefreshTokenStore implements RefreshTokenStore {
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+
+  public JdbcRefreshTokenStore(
+      JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+  }
+
+  @Override
+  public void save(RefreshTokenEntry token) {
+    Timestamp expiresAt = Timestamp.from(token.expiresAt());
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          int extended =
+              jdbcTemplate.update(
+                  "update refresh_token_families set expires_at = greatest(expires_at, ?)"
+                      + " where family_id = ?",
+                  expiresAt,
+                  token.familyId());
+          if (extended == 0) {
+            jdbcTemplate.update(
+                "insert into refresh_token_families (family_id, subject, expires_at, revoked)"
+                    + " values (?, ?, ?, false)",
+                token.familyId(),
+                token.subject(),
+                expiresAt);
+          }
+          jdbcTemplate.update(
+              "insert into refresh_tokens (token_id, family_id, expires_at, used)"
+                  + " values (?, ?, ?, false)",
+              token.tokenId(),
+              token.familyId(),
+              expiresAt);
+        });
+  }
+
+  @Override
+  public Rotation rotate(String tokenId) {
+    return transactionTemplate.execute(
+        status -> {
+          // The conditional update is the atomic step: only one exchange can flip the flag
+          int spent =
+              jdbcTemplate.update(
+                  "update refresh_tokens set used = true where token_id = ? and used = false"
+                      + " and family_id in"
+                      + " (select family_id from refresh_token_families where revoked = false)",
+                  tokenId);
+          if (spent == 1) {
+            return Rotation.ACCEPTED;
+          }
+
+          List<TokenRow> rows =
+              jdbcTemplate.query(
+                  "select t.family_id, f.revoked from refresh_tokens t"
+                      + " left join refresh_token_families f on f.family_id = t.family_id"
+                      + " where t.token_id = ?",
+                  (rs, rowNum) ->
+                      new TokenRow(
+                          rs.getString("family_id"),
+                          rs.getObject("revoked") == null || rs.getBoolean("revoked")),
+                  tokenId);
+          if (rows.isEmpty()) {
+            return Rotation.UNKNOWN;
+          }
+          TokenRow row = rows.get(0);
+          if (row.familyRevoked()) {
+            return Rotation.REVOKED;
+          }
+          // Unrevoked family, so the token had already been spent
+          revokeFamily(row.familyId());
+          return Rotation.REUSED;
+        });
+  }
+
+  @Override
+  public void revokeFamily(String familyId) {
+    jdbcTemplate.update(
+        "update refresh_token_families set revoked = true where family_id = ?", familyId);
+  }
+
+  @Override
+  public void revokeSubject(String subject) {
+    jdbcTemplate.update(
+        "update refresh_token_families set revoked = true where subject = ?", subject);
+  }
+
+  @Override
+  public int purgeExpired(Instant now) {
+    Timestamp cutoff = Timestamp.from(now);
+    return transactionTemplate.execute(
+        status -> {
+          int purged =
+              jdbcTemplate.update("delete from refresh_tokens where expires_at < ?", cutoff);
+          // A revoked family must outlive its last token, which expires at the family's expiry
+          jdbcTemplate.update("delete from refresh_token_families where expires_at < ?", cutoff);
+          return purged;
+        });
+  }
+
+  private record TokenRow(String familyId, boolean familyRevoked) {}
+}
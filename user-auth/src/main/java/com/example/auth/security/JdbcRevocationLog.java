@@ -0,0 +1,68 @@
+package com.example.auth.security;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.auth.model.RevocationEntry;
+
+/**
+ * Log shared by every node, in the {@code access_token_revocations} table from {@code
+ * db/revocation/schema.sql}. Written once per revocation and read once per node start, never on the
+ * request path.
+ */
+public class JdbcRevocationLog implements RevocationLog {
+  private static final String INSERT =
+      "insert into access_token_revocations (kind, revoked_value, issued_before, expires_at)"
+          + " values (?, ?, ?, ?)";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public JdbcRevocationLog(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @Override
+  public void append(RevocationEntry entry) {
+    jdbcTemplate.update(INSERT, values(entry));
+  }
+
+  @Override
+  public void appendAll(Collection<RevocationEntry> entries) {
+    jdbcTemplate.batchUpdate(INSERT, entries.stream().map(JdbcRevocationLog::values).toList());
+  }
+
+  @Override
+  public List<RevocationEntry> loadActive(Instant now) {
+    return jdbcTemplate.query(
+        "select kind, revoked_value, issued_before, expires_at from access_token_revocations"
+            + " where expires_at > ?",
+        (rs, rowNum) -> {
+          Timestamp issuedBefore = rs.getTimestamp("issued_before");
+          return new RevocationEntry(
+              RevocationEntry.Kind.valueOf(rs.getString("kind")),
+              rs.getString("revoked_value"),
+              issuedBefore == null ? null : issuedBefore.toInstant(),
+              rs.getTimestamp("expires_at").toInstant());
+        },
+        Timestamp.from(now));
+  }
+
+  @Override
+  public void purgeExpired(Instant now) {
+    jdbcTemplate.update(
+        "delete from access_token_revocations where expires_at < ?", Timestamp.from(now));
+  }
+
+  private static Object[] values(RevocationEntry entry) {
+    return new Object[] {
+      entry.kind().name(),
+      entry.value(),
+      entry.issuedBefore() == null ? null : Timestamp.from(entry.issuedBefore()),
+      Timestamp.from(entry.expiresAt())
+    };
+  }
+}
@@ -0,0 +1,55 @@
+package com.example.auth.security;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+
+/**
+ * Store shared by every node, in the {@code jwt_signing_keys} table from {@code
+ * db/signing-keys/schema.sql}. Private keys are stored unencrypted; restrict access to the table
+ * accordingly.
+ */
+public class JdbcSigningKeyStore implements SigningKeyStore {
+  private final JdbcTemplate jdbcTemplate;
+
+  public JdbcSigningKeyStore(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @Override
+  public List<SigningKey> findAll() {
+    return jdbcTemplate.query(
+        "select kid, algorithm, private_key, public_key, created_at from jwt_signing_keys",
+        (rs, rowNum) ->
+            SigningKey.decode(
+                rs.getString("kid"),
+                SignatureAlgorithm.forName(rs.getString("algorithm")),
+                rs.getString("private_key"),
+                rs.getString("public_key"),
+                rs.getTimestamp("created_at").toInstant()));
+  }
+
+  @Override
+  public void save(SigningKey key) {
+    jdbcTemplate.update(
+        "insert into jwt_signing_keys (kid, algorithm, private_key, public_key, created_at)"
+            + " values (?, ?, ?, ?, ?)",
+        key.kid(),
+        key.algorithm().getValue(),
+        key.encodedPrivateKey(),
+        key.encodedPublicKey(),
+        Timestamp.from(key.createdAt()));
+  }
+
+  @Override
+  public void deleteCreatedBefore(Instant cutoff, String keep) {
+    jdbcTemplate.update(
+        "delete from jwt_signing_keys where created_at < ? and kid <> ?",
+        Timestamp.from(cutoff),
+        keep);
+  }
+}
@@ -0,0 +1,106 @@
+package com.example.auth.security;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Picks password-hash costs for the current hardware: the highest cost whose measured hash time
+ * stays within the target latency, never below the algorithm's minimum. Hashes are stored with an
+ * {@code {id}} prefix so the algorithm and cost can change later; stored hashes that use another
+ * algorithm or a lower cost report {@link PasswordEncoder#upgradeEncoding} and are rehashed on the
+ * next successful login.
+ */
+@Slf4j
+public class PasswordHashCalibrator {
+  public static final String BCRYPT = "bcrypt";
+  public static final String ARGON2 = "argon2";
+
+  static final int BCRYPT_MIN_STRENGTH = 10;
+  static final int BCRYPT_MAX_STRENGTH = 16;
+  static final int ARGON2_MIN_ITERATIONS = 2;
+  static final int ARGON2_MAX_ITERATIONS = 12;
+
+  // Spring Security's v5.8 Argon2 defaults, apart from the calibrated iteration count
+  private static final int ARGON2_SALT_LENGTH = 16;
+  private static final int ARGON2_HASH_LENGTH = 32;
+  private static final int ARGON2_PARALLELISM = 1;
+  private static final int ARGON2_MEMORY_KB = 1 << 14;
+
+  private static final String SAMPLE_PASSWORD = "calibration-sample";
+  private static final int SAMPLES = 3;
+
+  private final Duration target;
+
+  /** A zero target disables calibration; each algorithm then uses its minimum cost. */
+  public PasswordHashCalibrator(Duration target) {
+    this.target = target;
+  }
+
+  /**
+   * Encodes new passwords with {@code idForEncode} and matches any registered algorithm. Hashes
+   * without a prefix predate this encoder and are matched, then upgraded, as BCrypt.
+   */
+  public PasswordEncoder delegatingEncoder(String idForEncode) {
+    PasswordEncoder bcrypt =
+        idForEncode.equals(BCRYPT) ? bcrypt() : new BCryptPasswordEncoder(BCRYPT_MIN_STRENGTH);
+    PasswordEncoder argon2 = idForEncode.equals(ARGON2) ? argon2() : argon2(ARGON2_MIN_ITERATIONS);
+    DelegatingPasswordEncoder encoder =
+        new DelegatingPasswordEncoder(idForEncode, Map.of(BCRYPT, bcrypt, ARGON2, argon2));
+    encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+    return encoder;
+  }
+
+  public PasswordEncoder bcrypt() {
+    int strength =
+        calibrate(BCRYPT, BCryptPasswordEncoder::new, BCRYPT_MIN_STRENGTH, BCRYPT_MAX_STRENGTH);
+    return new BCryptPasswordEncoder(strength);
+  }
+
+  public PasswordEncoder argon2() {
+    int iterations =
+        calibrate(
+            ARGON2, PasswordHashCalibrator::argon2, ARGON2_MIN_ITERATIONS, ARGON2_MAX_ITERATIONS);
+    return argon2(iterations);
+  }
+
+  /** Walks up from {@code minCost} until a cost exceeds the target; costs are monotonic. */
+  int calibrate(String algorithm, IntFunction<PasswordEncoder> encoders, int minCost, int maxCost) {
+    if (target.isZero()) {
+      return minCost;
+    }
+    int chosen = minCost;
+    for (int cost = minCost; cost <= maxCost; cost++) {
+      Duration elapsed = measure(encoders.apply(cost));
+      if (elapsed.compareTo(target) > 0) {
+        break;
+      }
+      chosen = cost;
+    }
+    log.info("Calibrated {} cost {} for a {} ms target", algorithm, chosen, target.toMillis());
+    return chosen;
+  }
+
+  /** Fastest of a few runs, which discounts JIT warm-up and scheduling noise. */
+  Duration measure(PasswordEncoder encoder) {
+    long best = Long.MAX_VALUE;
+    for (int i = 0; i < SAMPLES; i++) {
+      long start = System.nanoTime();
+      encoder.encode(SAMPLE_PASSWORD);
+      best = Math.min(best, System.nanoTime() - start);
+    }
+    return Duration.ofNanos(best);
+  }
+
+  private static PasswordEncoder argon2(int iterations) {
+    return new Argon2PasswordEncoder(
+        ARGON2_SALT_LENGTH, ARGON2_HASH_LENGTH, ARGON2_PARALLELISM, ARGON2_MEMORY_KB, iterations);
+  }
+}
@@ -0,0 +1,114 @@
+package com.example.auth.security;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import javax.sql.DataSource;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import com.example.auth.model.InvalidationEvent;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bus over PostgreSQL {@code LISTEN/NOTIFY} on {@code channel}, for nodes that share a database.
+ * One pooled connection per node stays checked out to listen. After the listening connection is
+ * lost, the node cannot know what it missed and applies {@link InvalidationEvent#all()} once it is
+ * back.
+ */
+@Slf4j
+public class PostgresInvalidationBus extends BatchingInvalidationBus {
+  // NOTIFY payloads must be shorter than 8000 bytes
+  static final int MAX_PAYLOAD_BYTES = 7900;
+  private static final Pattern CHANNEL = Pattern.compile("[a-z_][a-z0-9_]{0,62}");
+  private static final int POLL_MILLIS = 500;
+  private static final long MAX_BACKOFF_MILLIS = 30_000;
+
+  private final DataSource dataSource;
+  private final String channel;
+  private final Thread listener;
+  private volatile boolean running = true;
+
+  public PostgresInvalidationBus(
+      DataSource dataSource, String channel, Duration flushInterval, int maxKeys) {
+    super(flushInterval, maxKeys);
+    if (!CHANNEL.matcher(channel).matches()) {
+      throw new IllegalArgumentException("Invalid notification channel: " + channel);
+    }
+    this.dataSource = dataSource;
+    this.channel = channel;
+    this.listener = new Thread(this::listen, "invalidation-listener");
+    listener.setDaemon(true);
+    listener.start();
+  }
+
+  @Override
+  protected void send(String origin, List<InvalidationEvent> batch) {
+    try (Connection connection = dataSource.getConnection();
+        PreparedStatement notify = connection.prepareStatement("select pg_notify(?, ?)")) {
+      for (String payload : InvalidationCodec.encode(origin, batch, MAX_PAYLOAD_BYTES)) {
+        notify.setString(1, channel);
+        notify.setString(2, payload);
+        notify.execute();
+      }
+    } catch (SQLException e) {
+      throw new IllegalStateException("NOTIFY on " + channel + " failed", e);
+    }
+  }
+
+  @Override
+  public void close() {
+    running = false;
+    listener.interrupt();
+    super.close();
+  }
+
+  private void listen() {
+    long backoff = POLL_MILLIS;
+    boolean reconnecting = false;
+    while (running) {
+      try (Connection connection = dataSource.getConnection()) {
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement()) {
+          statement.execute("LISTEN " + channel);
+        }
+        if (reconnecting) {
+          log.info("Listening on {} again; invalidating all cached state", channel);
+          deliver("", List.of(InvalidationEvent.all()));
+        }
+        backoff = POLL_MILLIS;
+        PGConnection notifications = connection.unwrap(PGConnection.class);
+        while (running) {
+          PGNotification[] received = notifications.getNotifications(POLL_MILLIS);
+          if (received == null) {
+            continue;
+          }
+          for (PGNotification notification : received) {
+            InvalidationCodec.Message message =
+                InvalidationCodec.decode(notification.getParameter());
+            deliver(message.origin(), message.events());
+          }
+        }
+      } catch (SQLException | RuntimeException e) {
+        if (!running) {
+          return;
+        }
+        log.warn("Lost LISTEN connection on {}, retrying in {} ms", channel, backoff, e);
+        reconnecting = true;
+        try {
+          Thread.sleep(backoff);
+        } catch (InterruptedException interrupted) {
+          return;
+        }
+        backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+      }
+    }
+  }
+}
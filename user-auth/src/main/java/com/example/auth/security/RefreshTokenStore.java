@@ -0,0 +1,37 @@
+package com.example.auth.security;
+
+import java.time.Instant;
+
+import com.example.auth.model.RefreshTokenEntry;
+
+/**
+ * Issued refresh tokens grouped into families, one per login. Each token can be exchanged once; a
+ * second exchange means it was stolen or replayed and revokes the whole family. Every check is a
+ * lookup by token and family id, so revocation takes effect without scanning.
+ */
+public interface RefreshTokenStore {
+  enum Rotation {
+    /** The token was unused and is now spent; issue its successor. */
+    ACCEPTED,
+    /** Never issued, or already purged after expiry. */
+    UNKNOWN,
+    /** The family was revoked by logout, a credential change or earlier reuse. */
+    REVOKED,
+    /** The token was already exchanged; its family is now revoked. */
+    REUSED
+  }
+
+  /** Records a token that was just issued, starting its family if needed. */
+  void save(RefreshTokenEntry token);
+
+  /** Atomically spends {@code tokenId}; concurrent exchanges of one token see one ACCEPTED. */
+  Rotation rotate(String tokenId);
+
+  void revokeFamily(String familyId);
+
+  /** Revokes every family of {@code subject}; later logins start new, valid families. */
+  void revokeSubject(String subject);
+
+  /** Drops tokens and families that expired before {@code now}; returns the number of tokens. */
+  int purgeExpired(Instant now);
+}
@@ -0,0 +1,28 @@
+package com.example.auth.security;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import com.example.auth.model.RevocationEntry;
+
+/**
+ * Durable record of access-token revocations, replayed into the in-memory denylist when a node
+ * starts so it rejects tokens revoked while it was down or on another node.
+ */
+public interface RevocationLog {
+  void append(RevocationEntry entry);
+
+  /**
+   * Appends {@code entries} together; implementations backed by a database write them as one batch.
+   */
+  default void appendAll(Collection<RevocationEntry> entries) {
+    entries.forEach(this::append);
+  }
+
+  /** Entries that still cover unexpired tokens at {@code now}. */
+  List<RevocationEntry> loadActive(Instant now);
+
+  /** Drops entries that expired before {@code now}. */
+  void purgeExpired(Instant now);
+}
@@ -0,0 +1,65 @@
+package com.example.auth.security;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * An asymmetric JWT signing key pair, identified in token headers and the JWKS document by {@code
+ * kid}. Keys are stored as base64 PKCS#8 (private) and X.509 (public) encodings.
+ */
+public record SigningKey(
+    String kid,
+    SignatureAlgorithm algorithm,
+    PrivateKey privateKey,
+    PublicKey publicKey,
+    Instant createdAt) {
+
+  public static SigningKey generate(SignatureAlgorithm algorithm, Instant createdAt) {
+    KeyPair keyPair = Keys.keyPairFor(algorithm);
+    return new SigningKey(
+        UUID.randomUUID().toString(),
+        algorithm,
+        keyPair.getPrivate(),
+        keyPair.getPublic(),
+        createdAt);
+  }
+
+  public static SigningKey decode(
+      String kid,
+      SignatureAlgorithm algorithm,
+      String privateKey,
+      String publicKey,
+      Instant createdAt) {
+    try {
+      KeyFactory keyFactory = KeyFactory.getInstance(algorithm.getFamilyName());
+      return new SigningKey(
+          kid,
+          algorithm,
+          keyFactory.generatePrivate(
+              new PKCS8EncodedKeySpec(Base64.getDecoder().decode(privateKey))),
+          keyFactory.generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(publicKey))),
+          createdAt);
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException("Unreadable signing key " + kid, e);
+    }
+  }
+
+  public String encodedPrivateKey() {
+    return Base64.getEncoder().encodeToString(privateKey.getEncoded());
+  }
+
+  public String encodedPublicKey() {
+    return Base64.getEncoder().encodeToString(publicKey.getEncoded());
+  }
+}
@@ -0,0 +1,213 @@
+package com.example.auth.security;
+
+import java.math.BigInteger;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Asymmetric signing keys, rotated every {@code rotationInterval}. A new key is published in the
+ * JWKS document {@code activationDelay} before it signs anything, so verifiers that cache the
+ * document know it by the time they see its tokens; old keys stay published until every token they
+ * signed has expired. The JWKS document is rendered once per key change and served as bytes.
+ */
+@Slf4j
+public class SigningKeyRing {
+  private static final ObjectMapper JSON = new ObjectMapper();
+  private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+
+  private final SigningKeyStore store;
+  private final SignatureAlgorithm algorithm;
+  private final Duration rotationInterval;
+  private final Duration activationDelay;
+  private final Duration retention;
+  private volatile Snapshot snapshot;
+
+  /**
+   * @param maxTokenLifetime longest lifetime of any token, after which a retired key is dropped
+   */
+  public SigningKeyRing(
+      SigningKeyStore store,
+      SignatureAlgorithm algorithm,
+      Duration rotationInterval,
+      Duration activationDelay,
+      Duration maxTokenLifetime) {
+    if (!algorithm.isRsa() && !algorithm.isEllipticCurve()) {
+      throw new IllegalArgumentException("Not an asymmetric algorithm: " + algorithm);
+    }
+    this.store = store;
+    this.algorithm = algorithm;
+    this.rotationInterval = rotationInterval;
+    this.activationDelay = activationDelay;
+    this.retention = rotationInterval.plus(activationDelay).plus(maxTokenLifetime);
+  }
+
+  /** Rotates a due key and reloads keys rotated by other nodes. */
+  @PostConstruct
+  @Scheduled(
+      fixedDelayString = "${jwt.keys.refresh-interval:1m}",
+      initialDelayString = "${jwt.keys.refresh-interval:1m}")
+  public synchronized void refresh() {
+    refresh(Instant.now());
+  }
+
+  synchronized void refresh(Instant now) {
+    List<SigningKey> keys = store.findAll();
+    SigningKey newest = newest(keys);
+    if (newest == null || !newest.createdAt().plus(rotationInterval).isAfter(now)) {
+      SigningKey generated = SigningKey.generate(algorithm, now);
+      store.save(generated);
+      log.info("Generated {} signing key {}", algorithm, generated.kid());
+      keys = new ArrayList<>(keys);
+      keys.add(generated);
+    }
+    SigningKey signing = signingKey(keys, now);
+    if (keys.stream().anyMatch(key -> key.createdAt().plus(retention).isBefore(now))) {
+      store.deleteCreatedBefore(now.minus(retention), signing.kid());
+      keys =
+          keys.stream()
+              .filter(key -> key == signing || !key.createdAt().plus(retention).isBefore(now))
+              .toList();
+    }
+    Snapshot current = snapshot;
+    if (current == null
+        || !current.signing().kid().equals(signing.kid())
+        || !current.kids().equals(sortedKids(keys))) {
+      snapshot = Snapshot.of(signing, keys);
+    }
+  }
+
+  /** The key new tokens are signed with. */
+  public SigningKey signingKey() {
+    return snapshot.signing();
+  }
+
+  /** The public key for {@code kid}, or {@code null} if it was never issued or has been retired. */
+  public PublicKey verificationKey(String kid) {
+    return snapshot.publicKeys().get(kid);
+  }
+
+  /** The JWKS document listing every published key; do not modify. */
+  public byte[] jwks() {
+    return snapshot.jwks();
+  }
+
+  /** Strong entity tag of {@link #jwks()}, quoted for the {@code ETag} header. */
+  public String jwksEtag() {
+    return snapshot.etag();
+  }
+
+  private SigningKey newest(List<SigningKey> keys) {
+    return keys.stream()
+        .filter(key -> key.algorithm() == algorithm)
+        .max(Comparator.comparing(SigningKey::createdAt))
+        .orElse(null);
+  }
+
+  // The newest key that has been published for the activation delay; on first start, or right
+  // after switching algorithm, no key has been and the newest signs at once
+  private SigningKey signingKey(List<SigningKey> keys, Instant now) {
+    return keys.stream()
+        .filter(key -> key.algorithm() == algorithm)
+        .filter(key -> !key.createdAt().plus(activationDelay).isAfter(now))
+        .max(Comparator.comparing(SigningKey::createdAt))
+        .orElseGet(() -> newest(keys));
+  }
+
+  private static List<String> sortedKids(List<SigningKey> keys) {
+    return keys.stream().map(SigningKey::kid).sorted().toList();
+  }
+
+  private record Snapshot(
+      SigningKey signing,
+      List<String> kids,
+      Map<String, PublicKey> publicKeys,
+      byte[] jwks,
+      String etag) {
+    static Snapshot of(SigningKey signing, List<SigningKey> keys) {
+      Map<String, PublicKey> publicKeys = new LinkedHashMap<>();
+      List<Map<String, String>> jwks = new ArrayList<>();
+      keys.stream()
+          .sorted(Comparator.comparing(SigningKey::createdAt).reversed())
+          .forEach(
+              key -> {
+                publicKeys.put(key.kid(), key.publicKey());
+                jwks.add(toJwk(key));
+              });
+      byte[] document;
+      try {
+        document = JSON.writeValueAsBytes(Map.of("keys", jwks));
+      } catch (JsonProcessingException e) {
+        throw new IllegalStateException("Cannot render JWKS", e);
+      }
+      return new Snapshot(
+          signing,
+          sortedKids(keys),
+          Map.copyOf(publicKeys),
+          document,
+          '"' + sha256(document) + '"');
+    }
+  }
+
+  private static Map<String, String> toJwk(SigningKey key) {
+    Map<String, String> jwk = new LinkedHashMap<>();
+    jwk.put("kid", key.kid());
+    jwk.put("use", "sig");
+    jwk.put("alg", key.algorithm().getValue());
+    if (key.publicKey() instanceof RSAPublicKey rsa) {
+      jwk.put("kty", "RSA");
+      jwk.put("n", BASE64_URL.encodeToString(unsigned(rsa.getModulus(), 0)));
+      jwk.put("e", BASE64_URL.encodeToString(unsigned(rsa.getPublicExponent(), 0)));
+    } else if (key.publicKey() instanceof ECPublicKey ec) {
+      // RFC 7518 fixes the coordinate length to the field size
+      int length = (ec.getParams().getCurve().getField().getFieldSize() + 7) / 8;
+      jwk.put("kty", "EC");
+      jwk.put("crv", "P-" + ec.getParams().getCurve().getField().getFieldSize());
+      jwk.put("x", BASE64_URL.encodeToString(unsigned(ec.getW().getAffineX(), length)));
+      jwk.put("y", BASE64_URL.encodeToString(unsigned(ec.getW().getAffineY(), length)));
+    }
+    return jwk;
+  }
+
+  // Big-endian magnitude without the sign byte, left-padded to length
+  private static byte[] unsigned(BigInteger value, int length) {
+    byte[] bytes = value.toByteArray();
+    if (bytes.length > 1 && bytes[0] == 0) {
+      bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+    }
+    if (bytes.length >= length) {
+      return bytes;
+    }
+    byte[] padded = new byte[length];
+    System.arraycopy(bytes, 0, padded, length - bytes.length, bytes.length);
+    return padded;
+  }
+
+  private static String sha256(byte[] bytes) {
+    try {
+      return BASE64_URL.encodeToString(MessageDigest.getInstance("SHA-256").digest(bytes));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
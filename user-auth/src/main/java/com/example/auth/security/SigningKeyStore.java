@@ -0,0 +1,14 @@
+package com.example.auth.security;
+
+import java.time.Instant;
+import java.util.List;
+
+/** Signing keys shared by every node that issues or verifies tokens. */
+public interface SigningKeyStore {
+  List<SigningKey> findAll();
+
+  void save(SigningKey key);
+
+  /** Deletes keys created before {@code cutoff}, other than {@code keep}. */
+  void deleteCreatedBefore(Instant cutoff, String keep);
+}
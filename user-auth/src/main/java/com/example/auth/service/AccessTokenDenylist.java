@@ -0,0 +1,180 @@
+package com.example.auth.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.auth.model.InvalidationEvent;
+import com.example.auth.model.ParsedToken;
+import com.example.auth.model.RevocationEntry;
+import com.example.auth.security.BloomFilter;
+import com.example.auth.security.InvalidationBus;
+import com.example.auth.security.RevocationLog;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Access tokens revoked before they expire, checked on every authenticated request without a
+ * database lookup. Revoked {@code jti}s sit in an exact map behind a Bloom filter, so the common
+ * case, a token that was never revoked, is answered from a few bits; only filter hits consult the
+ * map. A forced sign-out stores one cutoff per subject instead of one entry per token.
+ *
+ * <p>Entries leave memory once every token they cover has expired; the filter, which cannot forget,
+ * is rebuilt from the remaining entries at the same time. Revocations are written to the {@link
+ * RevocationLog} and replayed from it on startup.
+ */
+@Slf4j
+@Service
+@DependsOnDatabaseInitialization
+public class AccessTokenDenylist {
+  private static final String METRIC_PREFIX = "auth.revocation";
+
+  private final RevocationLog revocationLog;
+  private final InvalidationBus invalidationBus;
+  private final Duration accessTokenLifetime;
+  private final int minimumCapacity;
+  private final double falsePositiveRate;
+
+  private final Map<String, Instant> revokedTokens = new ConcurrentHashMap<>();
+  private final Map<String, Instant> subjectCutoffs = new ConcurrentHashMap<>();
+  private volatile BloomFilter filter;
+
+  public AccessTokenDenylist(
+      RevocationLog revocationLog,
+      InvalidationBus invalidationBus,
+      JwtService jwtService,
+      @Value("${auth.revocation.expected-tokens:10000}") int minimumCapacity,
+      @Value("${auth.revocation.false-positive-rate:0.01}") double falsePositiveRate,
+      ObjectProvider<MeterRegistry> meterRegistry) {
+    this.revocationLog = revocationLog;
+    this.invalidationBus = invalidationBus;
+    this.accessTokenLifetime = jwtService.getAccessTokenLifetime();
+    this.minimumCapacity = minimumCapacity;
+    this.falsePositiveRate = falsePositiveRate;
+    this.filter = BloomFilter.create(minimumCapacity, falsePositiveRate);
+    invalidationBus.subscribe(
+        event -> {
+          if (event.isRevocation()) {
+            apply(event.toRevocation());
+          }
+        });
+    meterRegistry.ifAvailable(
+        registry -> {
+          Gauge.builder(METRIC_PREFIX + ".tokens", revokedTokens, Map::size).register(registry);
+          Gauge.builder(METRIC_PREFIX + ".subjects", subjectCutoffs, Map::size).register(registry);
+        });
+  }
+
+  @PostConstruct
+  void replayLog() {
+    revocationLog.loadActive(Instant.now()).forEach(this::apply);
+    log.info(
+        "Replayed {} revoked tokens and {} revoked subjects",
+        revokedTokens.size(),
+        subjectCutoffs.size());
+  }
+
+  public boolean isRevoked(ParsedToken token) {
+    if (!subjectCutoffs.isEmpty() && token.issuedAt() != null) {
+      Instant cutoff = subjectCutoffs.get(token.subject());
+      if (cutoff != null && !token.issuedAt().isAfter(cutoff)) {
+        return true;
+      }
+    }
+    String tokenId = token.tokenId();
+    return tokenId != null && filter.mightContain(tokenId) && revokedTokens.containsKey(tokenId);
+  }
+
+  /**
+   * Revokes a single access token until it expires. Tokens issued before access tokens carried a
+   * {@code jti} cannot be revoked individually and simply expire.
+   */
+  public void revoke(ParsedToken token) {
+    if (token.tokenId() == null || token.isExpired()) {
+      return;
+    }
+    record(List.of(RevocationEntry.token(token.tokenId(), token.expiresAt())));
+  }
+
+  /**
+   * Revokes every access token of {@code subject} issued so far. {@code iat} has one-second
+   * precision, so a token issued later in the same second is revoked too; its holder logs in again.
+   */
+  public void revokeSubject(String subject) {
+    revokeSubjects(List.of(subject));
+  }
+
+  /** {@link #revokeSubject} for many subjects, written to the log in one batch. */
+  public void revokeSubjects(Collection<String> subjects) {
+    Instant cutoff = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+    Instant expiresAt = cutoff.plus(accessTokenLifetime).plusSeconds(1);
+    record(
+        subjects.stream()
+            .map(subject -> RevocationEntry.subject(subject, cutoff, expiresAt))
+            .toList());
+  }
+
+  /** Drops entries whose tokens have all expired and rebuilds the filter from the rest. */
+  @Scheduled(
+      fixedDelayString = "${auth.revocation.sweep-interval:1m}",
+      initialDelayString = "${auth.revocation.sweep-interval:1m}")
+  public void purgeExpired() {
+    Instant now = Instant.now();
+    synchronized (this) {
+      revokedTokens.values().removeIf(expiresAt -> expiresAt.isBefore(now));
+      subjectCutoffs.values().removeIf(cutoff -> cutoff.plus(accessTokenLifetime).isBefore(now));
+      rebuildFilter();
+    }
+    revocationLog.purgeExpired(now);
+  }
+
+  // Written inside the caller's transaction, so the log and the change commit together; applied to
+  // memory, here and on the other nodes, only once the change is visible
+  private void record(List<RevocationEntry> entries) {
+    if (entries.isEmpty()) {
+      return;
+    }
+    revocationLog.appendAll(entries);
+    TransactionHooks.afterCommit(
+        () -> {
+          for (RevocationEntry entry : entries) {
+            apply(entry);
+            invalidationBus.publish(InvalidationEvent.revocation(entry));
+          }
+        });
+  }
+
+  // Writers are serialized so a rebuild never drops a token added while it copies the map
+  private synchronized void apply(RevocationEntry entry) {
+    if (entry.kind() == RevocationEntry.Kind.SUBJECT) {
+      subjectCutoffs.merge(entry.value(), entry.issuedBefore(), (a, b) -> a.isAfter(b) ? a : b);
+      return;
+    }
+    revokedTokens.put(entry.value(), entry.expiresAt());
+    if (revokedTokens.size() > filter.capacity()) {
+      rebuildFilter();
+    } else {
+      filter.put(entry.value());
+    }
+  }
+
+  private void rebuildFilter() {
+    BloomFilter rebuilt =
+        BloomFilter.create(Math.max(minimumCapacity, revokedTokens.size() * 2), falsePositiveRate);
+    revokedTokens.keySet().forEach(rebuilt::put);
+    filter = rebuilt;
+  }
+}
@@ -0,0 +1,121 @@
+package com.example.auth.service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Service;
+
+import com.example.auth.model.InvalidationEvent;
+import com.example.auth.model.ParsedToken;
+import com.example.auth.security.InvalidationBus;
+
+/**
+ * Tracks when the authorization data of a user or role last changed, so tokens that embed roles and
+ * permissions can be recognised as stale without a database lookup.
+ *
+ * <p>A token is current when its authorization epoch is not older than this node's start time, the
+ * last change to its subject, and the last change to every role it carries. Tokens issued before
+ * the node started are treated as stale because changes made before then are unknown here.
+ */
+@Service
+public class AuthorizationEpochRegistry {
+  private static final String ROLE_PREFIX = "ROLE_";
+
+  private final long baseline = System.currentTimeMillis();
+  private final Map<String, Long> subjectEpochs = new ConcurrentHashMap<>();
+  private final Map<String, Long> roleEpochs = new ConcurrentHashMap<>();
+  private final InvalidationBus invalidationBus;
+  // Raised when another node reports changes too numerous to name, or events may have been missed
+  private volatile long globalEpoch = baseline;
+
+  public AuthorizationEpochRegistry(InvalidationBus invalidationBus) {
+    this.invalidationBus = invalidationBus;
+    invalidationBus.subscribe(this::onInvalidation);
+  }
+
+  /**
+   * Marks the roles of {@code subject} as changed, here and on every other node. Inside a
+   * transaction the change takes effect after commit, so tokens issued from the old data are always
+   * older than the new epoch.
+   */
+  public void advanceSubject(String subject) {
+    TransactionHooks.afterCommit(
+        () -> {
+          subjectEpochs.merge(subject, nextEpoch(), Math::max);
+          invalidationBus.publish(InvalidationEvent.subject(subject));
+        });
+  }
+
+  /**
+   * {@link #advanceSubject} for many subjects at once. Other nodes get one {@link
+   * InvalidationEvent#all()} rather than an event per subject, as the bus would send for a batch
+   * naming too many users anyway.
+   */
+  public void advanceSubjects(Collection<String> subjects) {
+    if (subjects.isEmpty()) {
+      return;
+    }
+    if (subjects.size() == 1) {
+      advanceSubject(subjects.iterator().next());
+      return;
+    }
+    List<String> changed = List.copyOf(subjects);
+    TransactionHooks.afterCommit(
+        () -> {
+          long epoch = nextEpoch();
+          changed.forEach(subject -> subjectEpochs.merge(subject, epoch, Math::max));
+          invalidationBus.publish(InvalidationEvent.all());
+        });
+  }
+
+  /** Marks the permissions of {@code roleName} as changed for every holder of the role. */
+  public void advanceRole(String roleName) {
+    TransactionHooks.afterCommit(
+        () -> {
+          roleEpochs.merge(roleName, nextEpoch(), Math::max);
+          invalidationBus.publish(InvalidationEvent.role(roleName));
+        });
+  }
+
+  public boolean isCurrent(ParsedToken token) {
+    Long epoch = token.authorizationEpoch();
+    return epoch != null && isCurrent(token.subject(), token.authorities(), epoch);
+  }
+
+  /**
+   * Whether authorization data of {@code subject}, holding {@code authorities}, read at {@code
+   * epoch} (epoch milliseconds) has not changed since.
+   */
+  public boolean isCurrent(String subject, Collection<String> authorities, long epoch) {
+    if (epoch < globalEpoch) {
+      return false;
+    }
+    if (epoch < subjectEpochs.getOrDefault(subject, baseline)) {
+      return false;
+    }
+    for (String authority : authorities) {
+      if (authority.startsWith(ROLE_PREFIX) && epoch < roleEpochs.getOrDefault(authority, 0L)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void onInvalidation(InvalidationEvent event) {
+    switch (event.type()) {
+      case SUBJECT -> subjectEpochs.merge(event.key(), nextEpoch(), Math::max);
+      case ROLE -> roleEpochs.merge(event.key(), nextEpoch(), Math::max);
+      case ALL -> globalEpoch = nextEpoch();
+      default -> {
+        // Revocations are handled by the denylist
+      }
+    }
+  }
+
+  // A token issued in the same millisecond as the change may carry the old data
+  private static long nextEpoch() {
+    return System.currentTimeMillis() + 1;
+  }
+}
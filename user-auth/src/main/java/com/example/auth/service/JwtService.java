@@ -1,24 +1,53 @@
 package com.example.auth.service;
 
 import java.security.Key;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.Set;
+import java.util.UUID;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import com.example.auth.model.ParsedToken;
+import com.example.auth.model.RefreshTokenEntry;
+import com.example.auth.model.TokenType;
+import com.example.auth.security.SigningKey;
+import com.example.auth.security.SigningKeyRing;
+
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolver;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import jakarta.annotation.PostConstruct;
 
 @Service
 public class JwtService {
-  @Value("${jwt.secret}")
+  private static final String TOKEN_TYPE_CLAIM = "token_type";
+  private static final String ROLES_CLAIM = "roles";
+  private static final String PERMISSIONS_CLAIM = "perms";
+  private static final String AUTHORIZATION_EPOCH_CLAIM = "ver";
+  private static final String FAMILY_CLAIM = "fam";
+  private static final String ROLE_PREFIX = "ROLE_";
+
+  @Value("${jwt.secret:}")
   private String secretKey;
 
   @Value("${jwt.expiration}")
@@ -27,66 +56,197 @@ public class JwtService {
   @Value("${jwt.refresh-expiration}")
   private long refreshTokenExpiration;
 
+  @Value("${jwt.stateless-authentication:false}")
+  private boolean statelessAuthentication;
+
+  // Present when jwt.algorithm is asymmetric; tokens are then signed with its current key
+  @Autowired(required = false)
+  private SigningKeyRing signingKeyRing;
+
+  // Derived key and parser are immutable and thread-safe; they are swapped together on rotation
+  private volatile SigningMaterial signingMaterial;
+
+  @PostConstruct
+  public void init() {
+    this.signingMaterial = SigningMaterial.create(secretKey, signingKeyRing);
+  }
+
+  /**
+   * Replaces the HMAC secret used to sign and verify tokens. With an asymmetric algorithm the
+   * secret only verifies tokens issued before the switch, which carry no {@code kid}.
+   */
+  public void rotateSigningKey(String newSecretKey) {
+    SigningMaterial material = SigningMaterial.create(newSecretKey, signingKeyRing);
+    this.secretKey = newSecretKey;
+    this.signingMaterial = material;
+  }
+
   public String extractUsername(String token) {
-    return extractClaim(token, Claims::getSubject);
+    return parseToken(token).subject();
+  }
+
+  /**
+   * Verifies the signature of {@code token} and returns its claims. This is the only place a token
+   * is parsed; validation methods below operate on the result.
+   */
+  public ParsedToken parseToken(String token) {
+    Claims claims = signingMaterial.parser().parseClaimsJws(token).getBody();
+    return new ParsedToken(
+        claims.getSubject(),
+        toInstant(claims.getIssuedAt()),
+        toInstant(claims.getExpiration()),
+        extractAuthorities(claims),
+        TokenType.fromClaim(claims.get(TOKEN_TYPE_CLAIM, String.class)),
+        claims.get(AUTHORIZATION_EPOCH_CLAIM, Long.class),
+        claims.getId(),
+        claims.get(FAMILY_CLAIM, String.class));
+  }
+
+  /**
+   * Whether access tokens embed the user's roles and permissions so requests can be authenticated
+   * from the verified claims alone.
+   */
+  public boolean isStatelessAuthentication() {
+    return statelessAuthentication;
   }
 
   public String generateToken(UserDetails userDetails) {
     return generateToken(new HashMap<>(), userDetails);
   }
 
+  /** An access token tied to a refresh-token family, so logging out can revoke the family. */
+  public String generateToken(UserDetails userDetails, String familyId) {
+    return generateToken(Map.of(FAMILY_CLAIM, familyId), userDetails);
+  }
+
   public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
-    return Jwts.builder()
-        .setClaims(extraClaims)
-        .setSubject(userDetails.getUsername())
-        .setIssuedAt(new Date(System.currentTimeMillis()))
-        .setExpiration(new Date(System.currentTimeMillis() + jwtExpiration))
-        .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+    Map<String, Object> claims = new HashMap<>(extraClaims);
+    claims.put(TOKEN_TYPE_CLAIM, TokenType.ACCESS.getClaimValue());
+    if (statelessAuthentication) {
+      addAuthorizationClaims(claims, userDetails);
+    }
+    return signed(
+            Jwts.builder()
+                .setClaims(claims)
+                .setId(UUID.randomUUID().toString())
+                .setSubject(userDetails.getUsername())
+                .setIssuedAt(new Date(System.currentTimeMillis()))
+                .setExpiration(new Date(System.currentTimeMillis() + jwtExpiration)))
         .compact();
   }
 
-  public String generateRefreshToken(UserDetails userDetails) {
-    return Jwts.builder()
-        .setSubject(userDetails.getUsername())
-        .setIssuedAt(new Date(System.currentTimeMillis()))
-        .setExpiration(new Date(System.currentTimeMillis() + refreshTokenExpiration))
-        .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+  /** A refresh token for {@code entry}, which the caller records in the refresh-token store. */
+  public String generateRefreshToken(UserDetails userDetails, RefreshTokenEntry entry) {
+    return signed(
+            Jwts.builder()
+                .claim(TOKEN_TYPE_CLAIM, TokenType.REFRESH.getClaimValue())
+                .claim(FAMILY_CLAIM, entry.familyId())
+                .setId(entry.tokenId())
+                .setSubject(userDetails.getUsername())
+                .setIssuedAt(new Date(System.currentTimeMillis()))
+                .setExpiration(Date.from(entry.expiresAt())))
         .compact();
   }
 
+  private JwtBuilder signed(JwtBuilder builder) {
+    if (signingKeyRing == null) {
+      return builder.signWith(signingMaterial.key(), SignatureAlgorithm.HS256);
+    }
+    SigningKey key = signingKeyRing.signingKey();
+    return builder
+        .setHeaderParam(JwsHeader.KEY_ID, key.kid())
+        .signWith(key.privateKey(), key.algorithm());
+  }
+
+  public Duration getAccessTokenLifetime() {
+    return Duration.ofMillis(jwtExpiration);
+  }
+
+  public Duration getRefreshTokenLifetime() {
+    return Duration.ofMillis(refreshTokenExpiration);
+  }
+
   public boolean isTokenValid(String token, UserDetails userDetails) {
-    final String username = extractUsername(token);
-    return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+    return isTokenValid(parseToken(token), userDetails);
   }
 
-  private boolean isTokenExpired(String token) {
-    return !extractExpiration(token).before(new Date());
+  public boolean isTokenValid(ParsedToken token, UserDetails userDetails) {
+    return isIssuedTo(token, userDetails) && token.isAccessToken() && !token.isExpired();
   }
 
   public boolean isRefreshTokenValid(String token, UserDetails userDetails) {
-    final String username = extractUsername(token);
-    return (username.equals(userDetails.getUsername())) && isTokenExpired(token);
+    return isRefreshTokenValid(parseToken(token), userDetails);
+  }
+
+  public boolean isRefreshTokenValid(ParsedToken token, UserDetails userDetails) {
+    return isIssuedTo(token, userDetails) && token.isRefreshToken() && !token.isExpired();
+  }
+
+  private boolean isIssuedTo(ParsedToken token, UserDetails userDetails) {
+    return token.subject() != null && token.subject().equals(userDetails.getUsername());
+  }
+
+  private void addAuthorizationClaims(Map<String, Object> claims, UserDetails userDetails) {
+    List<String> roles = new ArrayList<>();
+    List<String> permissions = new ArrayList<>();
+    for (GrantedAuthority authority : userDetails.getAuthorities()) {
+      String name = authority.getAuthority();
+      if (name.startsWith(ROLE_PREFIX)) {
+        roles.add(name);
+      } else {
+        permissions.add(name);
+      }
+    }
+    claims.put(ROLES_CLAIM, roles);
+    claims.put(PERMISSIONS_CLAIM, permissions);
+    claims.put(AUTHORIZATION_EPOCH_CLAIM, System.currentTimeMillis());
   }
 
-  private Date extractExpiration(String token) {
-    return extractClaim(token, Claims::getExpiration);
+  private Set<String> extractAuthorities(Claims claims) {
+    Set<String> authorities = new HashSet<>();
+    addStrings(authorities, claims.get(ROLES_CLAIM));
+    addStrings(authorities, claims.get(PERMISSIONS_CLAIM));
+    return authorities;
   }
 
-  private <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-    final Claims claims = extractAllClaims(token);
-    return claimsResolver.apply(claims);
+  private static void addStrings(Set<String> target, Object claim) {
+    if (claim instanceof Collection<?> values) {
+      for (Object value : values) {
+        target.add(String.valueOf(value));
+      }
+    }
   }
 
-  private Claims extractAllClaims(String token) {
-    return Jwts.parserBuilder()
-        .setSigningKey(getSignInKey())
-        .build()
-        .parseClaimsJws(token)
-        .getBody();
+  private static Instant toInstant(Date date) {
+    return date == null ? null : date.toInstant();
   }
 
-  private Key getSignInKey() {
-    byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-    return Keys.hmacShaKeyFor(keyBytes);
+  private record SigningMaterial(Key key, JwtParser parser) {
+    static SigningMaterial create(String secretKey, SigningKeyRing signingKeyRing) {
+      Key key =
+          secretKey == null || secretKey.isBlank()
+              ? null
+              : Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+      if (signingKeyRing == null) {
+        if (key == null) {
+          throw new IllegalStateException("jwt.secret is required for HS256 tokens");
+        }
+        return new SigningMaterial(key, Jwts.parserBuilder().setSigningKey(key).build());
+      }
+      // Keys are looked up per token by kid, so rotated keys verify without rebuilding the parser
+      SigningKeyResolver resolver =
+          new SigningKeyResolverAdapter() {
+            @Override
+            public Key resolveSigningKey(JwsHeader header, Claims claims) {
+              String kid = header.getKeyId();
+              Key resolved = kid == null ? key : signingKeyRing.verificationKey(kid);
+              if (resolved == null) {
+                throw new SignatureException("Unknown signing key " + kid);
+              }
+              return resolved;
+            }
+          };
+      return new SigningMaterial(key, Jwts.parserBuilder().setSigningKeyResolver(resolver).build());
+    }
   }
 }
@@ -0,0 +1,96 @@
+package com.example.auth.service;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+
+import com.example.auth.dto.TokenResponse;
+import com.example.auth.exception.CustomException;
+import com.example.auth.model.ParsedToken;
+import com.example.auth.model.RefreshTokenEntry;
+import com.example.auth.security.RefreshTokenStore;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Issues token pairs whose refresh token can be exchanged exactly once. Each login starts a family;
+ * refreshing spends the presented token and issues its successor in the same family.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenService {
+  private final JwtService jwtService;
+  private final RefreshTokenStore refreshTokenStore;
+
+  /** A new pair in a new family, e.g. on login. */
+  public TokenResponse issue(UserDetails user) {
+    return issue(user, UUID.randomUUID().toString());
+  }
+
+  /**
+   * Exchanges a refresh token that {@link JwtService#isRefreshTokenValid} accepted for a new pair.
+   * Presenting an already exchanged token revokes its family, so a stolen token stops working for
+   * both the thief and the user.
+   */
+  public TokenResponse rotate(ParsedToken token, UserDetails user) {
+    if (token.tokenId() == null || token.familyId() == null) {
+      throw invalid();
+    }
+    switch (refreshTokenStore.rotate(token.tokenId())) {
+      case ACCEPTED:
+        return issue(user, token.familyId());
+      case REUSED:
+        log.warn(
+            "Refresh token reuse for {}, revoked family {}", user.getUsername(), token.familyId());
+        throw invalid();
+      default:
+        throw invalid();
+    }
+  }
+
+  /** Ends the login session {@code token} belongs to; tokens without a family end nothing. */
+  public void revoke(ParsedToken token) {
+    if (token.familyId() != null) {
+      refreshTokenStore.revokeFamily(token.familyId());
+    }
+  }
+
+  /** Ends every login session of {@code subject}, e.g. after a credential change. */
+  public void revokeAll(String subject) {
+    refreshTokenStore.revokeSubject(subject);
+  }
+
+  /** Expiry is handled here, on the scheduler thread, never on request threads. */
+  @Scheduled(
+      fixedDelayString = "${auth.refresh-tokens.sweep-interval:5m}",
+      initialDelayString = "${auth.refresh-tokens.sweep-interval:5m}")
+  public void purgeExpired() {
+    int purged = refreshTokenStore.purgeExpired(Instant.now());
+    log.debug("Purged {} expired refresh tokens", purged);
+  }
+
+  private TokenResponse issue(UserDetails user, String familyId) {
+    RefreshTokenEntry entry =
+        new RefreshTokenEntry(
+            UUID.randomUUID().toString(),
+            familyId,
+            user.getUsername(),
+            Instant.now().plus(jwtService.getRefreshTokenLifetime()));
+    refreshTokenStore.save(entry);
+
+    return TokenResponse.builder()
+        .accessToken(jwtService.generateToken(user, familyId))
+        .refreshToken(jwtService.generateRefreshToken(user, entry))
+        .build();
+  }
+
+  private static CustomException invalid() {
+    return new CustomException("Invalid refresh token", HttpStatus.UNAUTHORIZED);
+  }
+}
@@ -0,0 +1,85 @@
+package com.example.auth.service;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import com.example.auth.exception.CustomException;
+import com.example.auth.model.InvalidationEvent;
+import com.example.auth.model.Role;
+import com.example.auth.repository.RoleRepository;
+import com.example.auth.repository.projection.RoleRow;
+import com.example.auth.security.InvalidationBus;
+
+/**
+ * Every role by name, so resolving a role name never queries the database. The set of roles is
+ * small and rarely written: each change replaces the whole map, and readers use whichever map is
+ * current without locking. {@link RoleService} loads it at startup and after every role change;
+ * other nodes reload when the change reaches them as a role event.
+ */
+@Service
+public class RoleCatalog {
+  private final RoleRepository roleRepository;
+  private final InvalidationBus invalidationBus;
+  // A lock rather than a monitor: reload queries the database, which must not pin a virtual thread
+  private final ReentrantLock reloadLock = new ReentrantLock();
+  private volatile Map<String, RoleRow> roles = Map.of();
+
+  public RoleCatalog(RoleRepository roleRepository, InvalidationBus invalidationBus) {
+    this.roleRepository = roleRepository;
+    this.invalidationBus = invalidationBus;
+    invalidationBus.subscribe(
+        event -> {
+          if (event.type() == InvalidationEvent.Type.ROLE
+              || event.type() == InvalidationEvent.Type.ALL) {
+            reload();
+          }
+        });
+  }
+
+  public Optional<RoleRow> find(String name) {
+    return Optional.ofNullable(roles.get(name));
+  }
+
+  public RoleRow require(String name) {
+    RoleRow role = roles.get(name);
+    if (role == null) {
+      throw new CustomException("Role not found: " + name, HttpStatus.NOT_FOUND);
+    }
+    return role;
+  }
+
+  /**
+   * A reference to {@code name} for assigning it inside the caller's transaction, without a query.
+   * Reading its fields loads it.
+   */
+  public Role reference(String name) {
+    return roleRepository.getReferenceById(require(name).id());
+  }
+
+  /** Reloads here once the caller's transaction commits, then on every other node. */
+  public void refresh(String roleName) {
+    TransactionHooks.afterCommit(
+        () -> {
+          reload();
+          invalidationBus.publish(InvalidationEvent.role(roleName));
+        });
+  }
+
+  // Serialized, so the map installed last was also read last
+  void reload() {
+    reloadLock.lock();
+    try {
+      roles =
+          roleRepository.findAllRows().stream()
+              .collect(Collectors.toUnmodifiableMap(RoleRow::name, Function.identity()));
+    } finally {
+      reloadLock.unlock();
+    }
+  }
+}
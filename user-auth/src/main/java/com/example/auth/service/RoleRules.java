@@ -0,0 +1,55 @@
+package com.example.auth.service;
+
+import java.util.Set;
+
+import org.springframework.http.HttpStatus;
+
+import com.example.auth.exception.CustomException;
+import com.example.auth.model.Permission;
+import com.example.auth.model.PermissionSet;
+import com.example.auth.model.RoleHierarchy;
+
+/** Role validation and permission inheritance shared by the servlet and reactive services. */
+public final class RoleRules {
+  private RoleRules() {}
+
+  /** The requested permissions plus those the role inherits from the built-in hierarchy. */
+  public static PermissionSet grantedPermissions(String roleName, Set<Permission> requested) {
+    return RoleHierarchy.getInheritedPermissions(roleName).union(PermissionSet.copyOf(requested));
+  }
+
+  public static boolean isBuiltInRole(String roleName) {
+    try {
+      RoleHierarchy.valueOf(roleName);
+      return true;
+    } catch (IllegalArgumentException e) {
+      return false;
+    }
+  }
+
+  public static void validateRoleName(String name) {
+    if (name == null || name.trim().isEmpty()) {
+      throw new CustomException("Role name cannot be empty", HttpStatus.BAD_REQUEST);
+    }
+
+    if (!name.startsWith("ROLE_")) {
+      throw new CustomException("Role name must start with 'ROLE_'", HttpStatus.BAD_REQUEST);
+    }
+
+    if (name.length() < 6) { // "ROLE_" + at least one character
+      throw new CustomException("Role name too short", HttpStatus.BAD_REQUEST);
+    }
+
+    if (!name.matches("^ROLE_[A-Z0-9_]+$")) {
+      throw new CustomException(
+          "Role name must contain only uppercase letters, numbers, and underscores",
+          HttpStatus.BAD_REQUEST);
+    }
+  }
+
+  public static void validatePermissions(Set<Permission> permissions) {
+    if (permissions == null || permissions.isEmpty()) {
+      throw new CustomException("Permissions cannot be empty", HttpStatus.BAD_REQUEST);
+    }
+  }
+}
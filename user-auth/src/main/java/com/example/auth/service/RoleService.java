@@ -4,19 +4,28 @@ import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.example.auth.dto.CreateRoleRequest;
+import com.example.auth.dto.RoleMemberPageResponse;
+import com.example.auth.dto.RoleMemberResponse;
 import com.example.auth.dto.RoleResponse;
 import com.example.auth.dto.UpdateRoleRequest;
 import com.example.auth.exception.CustomException;
+import com.example.auth.model.AuthorityRegistry;
 import com.example.auth.model.Permission;
+import com.example.auth.model.PermissionSet;
+import com.example.auth.model.PermissionStorageMode;
 import com.example.auth.model.Role;
-import com.example.auth.model.RoleHierarchy;
 import com.example.auth.repository.RoleRepository;
+import com.example.auth.repository.UserRepository;
+import com.example.auth.repository.projection.RoleMemberRow;
+import com.example.auth.repository.projection.RoleRow;
 
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
@@ -25,29 +34,69 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class RoleService {
   private final RoleRepository roleRepository;
+  private final UserRepository userRepository;
+  private final AuthorizationEpochRegistry authorizationEpochRegistry;
+  private final UserDetailsCache userDetailsCache;
+  private final RoleCatalog roleCatalog;
+
+  @Value("${auth.permissions.storage:DUAL}")
+  private PermissionStorageMode permissionStorageMode;
 
   @PostConstruct
   public void initializeRoles() {
     if (!roleRepository.existsByName("ROLE_USER")) {
-      roleRepository.save(Role.defaultUserRole());
+      roleRepository.save(withPermissionStorage(Role.defaultUserRole()));
     }
 
     if (!roleRepository.existsByName("ROLE_ADMIN")) {
-      roleRepository.save(Role.adminRole());
+      roleRepository.save(withPermissionStorage(Role.adminRole()));
+    }
+
+    // Move roles written before permission_mask existed, and apply the configured storage mode
+    for (Role role : roleRepository.findAllWithPermissionRows()) {
+      role.backfillPermissionMask();
+      roleRepository.save(withPermissionStorage(role));
     }
+    roleCatalog.reload();
   }
 
   @PreAuthorize("hasAuthority('role:read')")
   public List<RoleResponse> getAllRoles() {
-    return roleRepository.findAll().stream()
+    return roleRepository.findAllRows().stream()
         .map(this::mapToRoleResponse)
         .collect(Collectors.toList());
   }
 
   @PreAuthorize("hasAuthority('role:read')")
   public RoleResponse getRoleById(Long id) {
-    Role role = findRoleById(id);
-    return mapToRoleResponse(role);
+    return roleRepository
+        .findRowById(id)
+        .map(this::mapToRoleResponse)
+        .orElseThrow(() -> new CustomException("Role not found", HttpStatus.NOT_FOUND));
+  }
+
+  /** Keyset pagination of the role's members by user id, as for {@code UserService.getUsers}. */
+  @PreAuthorize("hasAuthority('role:read') and hasAuthority('user:read')")
+  @Transactional(readOnly = true)
+  public RoleMemberPageResponse getRoleMembers(Long id, Long afterId, int limit) {
+    if (limit < 1 || limit > UserService.MAX_PAGE_SIZE) {
+      throw new CustomException(
+          "limit must be between 1 and " + UserService.MAX_PAGE_SIZE, HttpStatus.BAD_REQUEST);
+    }
+    if (!roleRepository.existsById(id)) {
+      throw new CustomException("Role not found", HttpStatus.NOT_FOUND);
+    }
+
+    // Fetch one extra row to learn whether another page exists
+    List<RoleMemberRow> rows =
+        userRepository.findMembersOfRole(id, afterId == null ? 0L : afterId, Limit.of(limit + 1));
+    boolean hasMore = rows.size() > limit;
+    List<RoleMemberRow> page = hasMore ? rows.subList(0, limit) : rows;
+
+    return RoleMemberPageResponse.builder()
+        .members(page.stream().map(this::mapToRoleMemberResponse).collect(Collectors.toList()))
+        .nextCursor(hasMore ? page.get(page.size() - 1).userId() : null)
+        .build();
   }
 
   @PreAuthorize("hasAuthority('role:create')")
@@ -55,12 +104,15 @@ public class RoleService {
   public RoleResponse createRole(CreateRoleRequest request) {
     validateRoleRequest(request.getName(), request.getPermissions());
 
-    Set<Permission> permissions = RoleHierarchy.getInheritedPermissions(request.getName());
-    permissions.addAll(request.getPermissions());
+    PermissionSet permissions =
+        RoleRules.grantedPermissions(request.getName(), request.getPermissions());
 
-    Role role = Role.builder().name(request.getName()).permissions(permissions).build();
+    Role role =
+        withPermissionStorage(
+            Role.builder().name(request.getName()).permissions(permissions).build());
 
     role = roleRepository.save(role);
+    roleCatalog.refresh(role.getName());
     return mapToRoleResponse(role);
   }
 
@@ -69,14 +121,19 @@ public class RoleService {
   public RoleResponse updateRole(Long id, UpdateRoleRequest request) {
     Role role = findRoleById(id);
     validateRoleUpdate(role, request.getName(), request.getPermissions());
+    authorizationEpochRegistry.advanceRole(role.getName());
+    userDetailsCache.invalidateRole(role.getName());
+    evictAuthoritiesAfterCommit(role.getName());
 
-    Set<Permission> permissions = RoleHierarchy.getInheritedPermissions(request.getName());
-    permissions.addAll(request.getPermissions());
+    PermissionSet permissions =
+        RoleRules.grantedPermissions(request.getName(), request.getPermissions());
 
     role.setName(request.getName());
     role.setPermissions(permissions);
+    withPermissionStorage(role);
 
     role = roleRepository.save(role);
+    roleCatalog.refresh(role.getName());
     return mapToRoleResponse(role);
   }
 
@@ -85,24 +142,25 @@ public class RoleService {
   public void deleteRole(Long id) {
     Role role = findRoleById(id);
 
-    if (isBuiltInRole(role.getName())) {
+    if (RoleRules.isBuiltInRole(role.getName())) {
       throw new CustomException("Cannot delete built-in role", HttpStatus.BAD_REQUEST);
     }
 
-    // Check if role is assigned to any users
-    if (!role.getUsers().isEmpty()) {
+    // Check if role is assigned to any users, without loading them
+    if (userRepository.existsMemberOfRole(id)) {
       throw new CustomException(
           "Cannot delete role that is assigned to users", HttpStatus.BAD_REQUEST);
     }
 
     roleRepository.delete(role);
+    roleCatalog.refresh(role.getName());
+    userDetailsCache.invalidateRole(role.getName());
+    evictAuthoritiesAfterCommit(role.getName());
   }
 
-  @Transactional(readOnly = true)
+  /** See {@link RoleCatalog#reference}; resolved without a query. */
   public Role findRoleByName(String name) {
-    return roleRepository
-        .findByName(name)
-        .orElseThrow(() -> new CustomException("Role not found: " + name, HttpStatus.NOT_FOUND));
+    return roleCatalog.reference(name);
   }
 
   private Role findRoleById(Long id) {
@@ -115,12 +173,12 @@ public class RoleService {
     if (roleRepository.existsByName(name)) {
       throw new CustomException("Role already exists", HttpStatus.BAD_REQUEST);
     }
-    validateRoleName(name);
-    validatePermissions(permissions);
+    RoleRules.validateRoleName(name);
+    RoleRules.validatePermissions(permissions);
   }
 
   private void validateRoleUpdate(Role role, String newName, Set<Permission> newPermissions) {
-    if (isBuiltInRole(role.getName())) {
+    if (RoleRules.isBuiltInRole(role.getName())) {
       throw new CustomException("Cannot modify built-in role", HttpStatus.BAD_REQUEST);
     }
 
@@ -128,43 +186,34 @@ public class RoleService {
       throw new CustomException("Role name already exists", HttpStatus.BAD_REQUEST);
     }
 
-    validateRoleName(newName);
-    validatePermissions(newPermissions);
+    RoleRules.validateRoleName(newName);
+    RoleRules.validatePermissions(newPermissions);
   }
 
-  private void validateRoleName(String name) {
-    if (name == null || name.trim().isEmpty()) {
-      throw new CustomException("Role name cannot be empty", HttpStatus.BAD_REQUEST);
-    }
-
-    if (!name.startsWith("ROLE_")) {
-      throw new CustomException("Role name must start with 'ROLE_'", HttpStatus.BAD_REQUEST);
-    }
-
-    if (name.length() < 6) { // "ROLE_" + at least one character
-      throw new CustomException("Role name too short", HttpStatus.BAD_REQUEST);
-    }
+  private Role withPermissionStorage(Role role) {
+    role.applyPermissionStorage(permissionStorageMode);
+    return role;
+  }
 
-    if (!name.matches("^ROLE_[A-Z0-9_]+$")) {
-      throw new CustomException(
-          "Role name must contain only uppercase letters, numbers, and underscores",
-          HttpStatus.BAD_REQUEST);
-    }
+  private void evictAuthoritiesAfterCommit(String roleName) {
+    TransactionHooks.afterCommit(() -> AuthorityRegistry.evictRole(roleName));
   }
 
-  private void validatePermissions(Set<Permission> permissions) {
-    if (permissions == null || permissions.isEmpty()) {
-      throw new CustomException("Permissions cannot be empty", HttpStatus.BAD_REQUEST);
-    }
+  private RoleMemberResponse mapToRoleMemberResponse(RoleMemberRow member) {
+    return RoleMemberResponse.builder()
+        .id(member.userId())
+        .email(member.email())
+        .firstName(member.firstName())
+        .lastName(member.lastName())
+        .build();
   }
 
-  private boolean isBuiltInRole(String roleName) {
-    try {
-      RoleHierarchy.valueOf(roleName);
-      return true;
-    } catch (IllegalArgumentException e) {
-      return false;
-    }
+  private RoleResponse mapToRoleResponse(RoleRow role) {
+    return RoleResponse.builder()
+        .id(role.id())
+        .name(role.name())
+        .permissions(role.permissions())
+        .build();
   }
 
   private RoleResponse mapToRoleResponse(Role role) {
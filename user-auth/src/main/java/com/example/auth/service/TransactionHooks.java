@@ -0,0 +1,27 @@
+package com.example.auth.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+final class TransactionHooks {
+  private TransactionHooks() {}
+
+  /**
+   * Runs {@code action} once the surrounding transaction commits, or immediately when there is
+   * none. In-memory state derived from the database must only change after the change is visible to
+   * other readers, otherwise a concurrent load can repopulate it with the old data.
+   */
+  static void afterCommit(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            action.run();
+          }
+        });
+  }
+}
@@ -0,0 +1,129 @@
+package com.example.auth.service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.auth.model.AuthenticatedUser;
+import com.example.auth.model.InvalidationEvent;
+import com.example.auth.security.InvalidationBus;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Size- and TTL-bounded cache of user snapshots keyed by email, used in front of {@link
+ * UserDetailsServiceImpl}. Entries are detached {@link AuthenticatedUser} copies, never JPA
+ * entities. Invalidation runs after commit so a concurrent load cannot re-cache the old state.
+ *
+ * <p>Misses are loaded outside the cache's map lock, so a database read never holds a monitor; on
+ * Java 21 that would pin the carrier of a virtual request thread. Concurrent misses for one email
+ * may each load, and a load that overlaps an invalidation is not kept.
+ */
+@Service
+public class UserDetailsCache {
+  private final boolean enabled;
+  private final Cache<String, AuthenticatedUser> cache;
+  private final AtomicLong invalidations = new AtomicLong();
+  private final InvalidationBus invalidationBus;
+
+  public UserDetailsCache(
+      @Value("${auth.user-cache.enabled:false}") boolean enabled,
+      @Value("${auth.user-cache.max-size:10000}") long maxSize,
+      @Value("${auth.user-cache.ttl:5m}") Duration ttl,
+      InvalidationBus invalidationBus,
+      ObjectProvider<MeterRegistry> meterRegistry) {
+    this.enabled = enabled;
+    this.cache =
+        Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).recordStats().build();
+    this.invalidationBus = invalidationBus;
+    invalidationBus.subscribe(this::onInvalidation);
+    meterRegistry.ifAvailable(
+        registry -> CaffeineCacheMetrics.monitor(registry, cache, "auth.user-details"));
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public AuthenticatedUser get(String email, Function<String, AuthenticatedUser> loader) {
+    AuthenticatedUser cached = cache.getIfPresent(email);
+    if (cached != null) {
+      return cached;
+    }
+    long generation = invalidations.get();
+    AuthenticatedUser loaded = loader.apply(email);
+    cache.put(email, loaded);
+    // Invalidations bump the counter before evicting, so either this sees it or it evicts our put
+    if (invalidations.get() != generation) {
+      cache.invalidate(email);
+    }
+    return loaded;
+  }
+
+  /** Evicts {@code email} here and, through the invalidation bus, on every other node. */
+  public void invalidate(String email) {
+    TransactionHooks.afterCommit(() -> evictAndPublish(InvalidationEvent.subject(email)));
+  }
+
+  /**
+   * Evicts each of {@code emails} here; other nodes get one {@link InvalidationEvent#all()} rather
+   * than an event per user.
+   */
+  public void invalidate(Collection<String> emails) {
+    if (emails.isEmpty()) {
+      return;
+    }
+    if (emails.size() == 1) {
+      invalidate(emails.iterator().next());
+      return;
+    }
+    List<String> evicted = List.copyOf(emails);
+    TransactionHooks.afterCommit(
+        () -> {
+          invalidations.incrementAndGet();
+          cache.invalidateAll(evicted);
+          invalidationBus.publish(InvalidationEvent.all());
+        });
+  }
+
+  /** Evicts every cached holder of {@code roleName}; the role's permissions changed. */
+  public void invalidateRole(String roleName) {
+    TransactionHooks.afterCommit(() -> evictAndPublish(InvalidationEvent.role(roleName)));
+  }
+
+  public void invalidateAll() {
+    TransactionHooks.afterCommit(() -> evictAndPublish(InvalidationEvent.all()));
+  }
+
+  private void evictAndPublish(InvalidationEvent event) {
+    onInvalidation(event);
+    invalidationBus.publish(event);
+  }
+
+  private void onInvalidation(InvalidationEvent event) {
+    if (event.isRevocation()) {
+      return;
+    }
+    invalidations.incrementAndGet();
+    switch (event.type()) {
+      case SUBJECT -> cache.invalidate(event.key());
+      case ROLE -> cache.asMap().values().removeIf(user -> user.hasAuthority(event.key()));
+      default -> cache.invalidateAll();
+    }
+  }
+
+  /** Hit, miss and eviction counters since startup. */
+  public CacheStats stats() {
+    return cache.stats();
+  }
+}
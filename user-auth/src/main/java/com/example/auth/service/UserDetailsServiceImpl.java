@@ -2,21 +2,53 @@ package com.example.auth.service;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.example.auth.exception.CustomException;
+import com.example.auth.model.AuthenticatedUser;
+import com.example.auth.model.User;
 import com.example.auth.repository.UserRepository;
 
 import lombok.RequiredArgsConstructor;
 
 @Service
 @RequiredArgsConstructor
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
   private final UserRepository userRepository;
+  private final UserDetailsCache userDetailsCache;
 
   @Override
   public UserDetails loadUserByUsername(String email) {
+    if (userDetailsCache.isEnabled()) {
+      return userDetailsCache.get(email, key -> AuthenticatedUser.fromEntity(findUser(key)));
+    }
+    return findUser(email);
+  }
+
+  /**
+   * Stores a rehash of a password that matched with an outdated algorithm or cost. Called by the
+   * authentication provider after a successful login.
+   */
+  @Override
+  @Transactional
+  public UserDetails updatePassword(UserDetails user, String newPassword) {
+    userRepository.updatePassword(user.getUsername(), newPassword);
+    userDetailsCache.invalidate(user.getUsername());
+    if (user instanceof User entity) {
+      entity.setPassword(newPassword);
+      return entity;
+    }
+    return new AuthenticatedUser(
+        user instanceof AuthenticatedUser snapshot ? snapshot.getId() : null,
+        user.getUsername(),
+        newPassword,
+        user.getAuthorities());
+  }
+
+  private User findUser(String email) {
     return userRepository
         .findByEmail(email)
         .orElseThrow(() -> new CustomException("User not found", HttpStatus.NOT_FOUND));
@@ -0,0 +1,157 @@
+package com.example.auth.service;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.http.HttpStatus;
+
+import com.example.auth.dto.SignupRequest;
+import com.example.auth.exception.CustomException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * Reads bulk-import rows one line at a time, as CSV with a header naming the {@link SignupRequest}
+ * fields or as NDJSON objects with those fields. A row that cannot be parsed is returned with an
+ * error instead of ending the import. Quoted CSV fields may contain commas and doubled quotes but
+ * not line breaks.
+ */
+final class UserImportReader implements Closeable {
+  static final List<String> COLUMNS = List.of("email", "password", "firstName", "lastName");
+
+  record Row(long line, SignupRequest request, String error) {}
+
+  private final BufferedReader reader;
+  private final ObjectReader json;
+  private final int[] columns;
+  private long line;
+
+  private UserImportReader(BufferedReader reader, ObjectReader json, int[] columns, long line) {
+    this.reader = reader;
+    this.json = json;
+    this.columns = columns;
+    this.line = line;
+  }
+
+  static UserImportReader ndjson(BufferedReader reader, ObjectMapper objectMapper) {
+    ObjectReader json =
+        objectMapper
+            .readerFor(SignupRequest.class)
+            .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    return new UserImportReader(reader, json, null, 0);
+  }
+
+  /** Reads the header now, so a file without the required columns is rejected up front. */
+  static UserImportReader csv(BufferedReader reader) throws IOException {
+    String header = reader.readLine();
+    if (header == null) {
+      throw new CustomException("CSV header is missing", HttpStatus.BAD_REQUEST);
+    }
+    Map<String, Integer> positions = new HashMap<>();
+    List<String> names = parseCsvLine(header);
+    if (names == null) {
+      throw new CustomException(
+          "CSV header has an unterminated quoted field", HttpStatus.BAD_REQUEST);
+    }
+    for (int i = 0; i < names.size(); i++) {
+      positions.put(names.get(i).strip().toLowerCase(Locale.ROOT), i);
+    }
+    int[] columns = new int[COLUMNS.size()];
+    for (int i = 0; i < columns.length; i++) {
+      Integer position = positions.get(COLUMNS.get(i).toLowerCase(Locale.ROOT));
+      if (position == null) {
+        throw new CustomException(
+            "CSV header must name the columns " + String.join(",", COLUMNS),
+            HttpStatus.BAD_REQUEST);
+      }
+      columns[i] = position;
+    }
+    return new UserImportReader(reader, null, columns, 1);
+  }
+
+  /** Up to {@code size} further rows, skipping blank lines; empty at the end of the input. */
+  List<Row> nextChunk(int size) throws IOException {
+    List<Row> rows = new ArrayList<>(size);
+    String text;
+    while (rows.size() < size && (text = reader.readLine()) != null) {
+      line++;
+      if (!text.isBlank()) {
+        rows.add(columns == null ? parseJson(text) : parseCsv(text));
+      }
+    }
+    return rows;
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+
+  private Row parseJson(String text) {
+    try {
+      return new Row(line, json.readValue(text), null);
+    } catch (JsonProcessingException e) {
+      return new Row(line, null, "Malformed JSON");
+    }
+  }
+
+  private Row parseCsv(String text) {
+    List<String> fields = parseCsvLine(text);
+    if (fields == null) {
+      return new Row(line, null, "Unterminated quoted field");
+    }
+    String[] values = new String[columns.length];
+    for (int i = 0; i < columns.length; i++) {
+      values[i] = columns[i] < fields.size() ? fields.get(columns[i]) : null;
+    }
+    // Passwords are kept exactly as sent, as signup and NDJSON import do
+    return new Row(
+        line,
+        new SignupRequest(strip(values[0]), values[1], strip(values[2]), strip(values[3])),
+        null);
+  }
+
+  private static String strip(String value) {
+    return value != null ? value.strip() : null;
+  }
+
+  // RFC 4180 fields on a single line; null if a quoted field is not closed
+  private static List<String> parseCsvLine(String text) {
+    List<String> fields = new ArrayList<>();
+    StringBuilder field = new StringBuilder();
+    boolean quoted = false;
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (quoted) {
+        if (c != '"') {
+          field.append(c);
+        } else if (i + 1 < text.length() && text.charAt(i + 1) == '"') {
+          field.append('"');
+          i++;
+        } else {
+          quoted = false;
+        }
+      } else if (c == '"') {
+        quoted = true;
+      } else if (c == ',') {
+        fields.add(field.toString());
+        field.setLength(0);
+      } else {
+        field.append(c);
+      }
+    }
+    if (quoted) {
+      return null;
+    }
+    fields.add(field.toString());
+    return fields;
+  }
+}
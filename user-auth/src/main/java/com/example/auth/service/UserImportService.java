@@ -0,0 +1,235 @@
+package com.example.auth.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.example.auth.dto.SignupRequest;
+import com.example.auth.dto.UserImportResult;
+import com.example.auth.dto.UserImportResult.Status;
+import com.example.auth.exception.CustomException;
+import com.example.auth.model.Role;
+import com.example.auth.model.User;
+import com.example.auth.repository.UserRepository;
+import com.example.auth.security.BoundedPasswordEncoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bulk user import. The body is read and answered one chunk at a time: each chunk is validated,
+ * checked for existing emails with one query, hashed on the password pool and inserted in one
+ * transaction, and its results are written out before the next chunk is read, so neither the input
+ * nor the report is held in memory.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserImportService {
+  public static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+  private final UserRepository userRepository;
+  private final RoleCatalog roleCatalog;
+  private final PasswordEncoder passwordEncoder;
+  private final PlatformTransactionManager transactionManager;
+  private final ObjectMapper objectMapper;
+  private final Validator validator;
+
+  @Value("${auth.user-import.chunk-size:500}")
+  private int chunkSize = 500;
+
+  /**
+   * Imports the users in {@code body}, CSV or NDJSON as given by {@code contentType}, each with the
+   * default role. The format and CSV header are checked before anything is written; rows then
+   * succeed or fail individually and are reported as one {@link UserImportResult} line each.
+   */
+  @PreAuthorize("hasAuthority('user:create')")
+  public StreamingResponseBody importUsers(InputStream body, MediaType contentType)
+      throws IOException {
+    if (roleCatalog.find("ROLE_USER").isEmpty()) {
+      throw new CustomException("Default role not found", HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+    UserImportReader reader = open(body, contentType);
+
+    return out -> {
+      try (reader) {
+        List<UserImportReader.Row> rows;
+        while (!(rows = reader.nextChunk(chunkSize)).isEmpty()) {
+          write(out, importChunk(rows));
+        }
+      }
+    };
+  }
+
+  private UserImportReader open(InputStream body, MediaType contentType) throws IOException {
+    Charset charset =
+        contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+    BufferedReader lines = new BufferedReader(new InputStreamReader(body, charset));
+    if (TEXT_CSV.isCompatibleWith(contentType)) {
+      return UserImportReader.csv(lines);
+    }
+    if (MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType)) {
+      return UserImportReader.ndjson(lines, objectMapper);
+    }
+    throw new CustomException(
+        "Import must be text/csv or application/x-ndjson", HttpStatus.UNSUPPORTED_MEDIA_TYPE);
+  }
+
+  List<UserImportResult> importChunk(List<UserImportReader.Row> rows) {
+    List<UserImportResult> results = new ArrayList<>(rows.size());
+    Map<String, SignupRequest> candidates = new HashMap<>();
+    Map<String, UserImportResult> pending = new HashMap<>();
+    Map<String, String> hashes = new HashMap<>();
+    for (UserImportReader.Row row : rows) {
+      UserImportResult result = validate(row);
+      results.add(result);
+      if (result.getStatus() != null) {
+        continue;
+      }
+      if (candidates.putIfAbsent(result.getEmail(), row.request()) != null) {
+        reject(result, Status.DUPLICATE, "Email appears earlier in the import");
+      } else {
+        pending.put(result.getEmail(), result);
+      }
+    }
+
+    try {
+      insert(candidates, pending, hashes);
+    } catch (DataIntegrityViolationException e) {
+      // An email was taken since the check; the rollback undid the whole chunk, so check again
+      log.debug("Import chunk conflicted with a concurrent signup, retrying", e);
+      try {
+        insert(candidates, pending, hashes);
+      } catch (DataIntegrityViolationException retryFailure) {
+        log.warn("Import chunk could not be written", retryFailure);
+        pending.values().forEach(result -> reject(result, Status.FAILED, "Could not be saved"));
+      }
+    } catch (CustomException e) {
+      // Password hashing is saturated; later chunks may still get through
+      pending.values().forEach(result -> reject(result, Status.FAILED, e.getMessage()));
+    }
+    return results;
+  }
+
+  // Inserts the pending candidates that do not exist yet and completes their results; duplicates
+  // are completed before anything is written, so a retry only sees what is still pending. Hashes
+  // are kept in hashes by email, so a retry reuses them instead of hashing on the shared pool again
+  private void insert(
+      Map<String, SignupRequest> candidates,
+      Map<String, UserImportResult> pending,
+      Map<String, String> hashes) {
+    if (pending.isEmpty()) {
+      return;
+    }
+    for (String existing : userRepository.findExistingEmails(pending.keySet())) {
+      reject(pending.remove(existing), Status.DUPLICATE, "Email already exists");
+    }
+    List<String> emails =
+        pending.values().stream()
+            .sorted(Comparator.comparingLong(UserImportResult::getLine))
+            .map(UserImportResult::getEmail)
+            .collect(Collectors.toList());
+    if (emails.isEmpty()) {
+      return;
+    }
+    List<String> unhashed = emails.stream().filter(email -> !hashes.containsKey(email)).toList();
+    List<String> encoded =
+        encodeAll(unhashed.stream().map(email -> candidates.get(email).getPassword()).toList());
+    for (int i = 0; i < unhashed.size(); i++) {
+      hashes.put(unhashed.get(i), encoded.get(i));
+    }
+
+    List<User> saved =
+        new TransactionTemplate(transactionManager)
+            .execute(
+                status -> {
+                  Set<Role> roles = Set.of(roleCatalog.reference("ROLE_USER"));
+                  List<User> users = new ArrayList<>(emails.size());
+                  for (int i = 0; i < emails.size(); i++) {
+                    SignupRequest request = candidates.get(emails.get(i));
+                    users.add(
+                        User.builder()
+                            .firstName(request.getFirstName())
+                            .lastName(request.getLastName())
+                            .email(emails.get(i))
+                            .password(hashes.get(emails.get(i)))
+                            .roles(roles)
+                            .build());
+                  }
+                  return userRepository.saveAll(users);
+                });
+    for (User user : saved) {
+      UserImportResult result = pending.remove(user.getEmail());
+      result.setStatus(Status.CREATED);
+      result.setId(user.getId());
+    }
+  }
+
+  private UserImportResult validate(UserImportReader.Row row) {
+    SignupRequest request = row.request();
+    UserImportResult result =
+        UserImportResult.builder()
+            .line(row.line())
+            .email(request != null ? request.getEmail() : null)
+            .build();
+    if (request == null) {
+      return reject(result, Status.INVALID, row.error());
+    }
+    Set<ConstraintViolation<SignupRequest>> violations = validator.validate(request);
+    if (!violations.isEmpty()) {
+      String message =
+          violations.stream()
+              .map(ConstraintViolation::getMessage)
+              .sorted()
+              .collect(Collectors.joining("; "));
+      return reject(result, Status.INVALID, message);
+    }
+    return result;
+  }
+
+  private List<String> encodeAll(List<String> rawPasswords) {
+    if (passwordEncoder instanceof BoundedPasswordEncoder bounded) {
+      return bounded.encodeAll(rawPasswords);
+    }
+    return rawPasswords.stream().map(passwordEncoder::encode).toList();
+  }
+
+  private void write(OutputStream out, List<UserImportResult> results) throws IOException {
+    for (UserImportResult result : results) {
+      out.write(objectMapper.writeValueAsBytes(result));
+      out.write('\n');
+    }
+    out.flush();
+  }
+
+  private static UserImportResult reject(UserImportResult result, Status status, String message) {
+    result.setStatus(status);
+    result.setMessage(message);
+    return result;
+  }
+}
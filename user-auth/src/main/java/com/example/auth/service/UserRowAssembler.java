@@ -0,0 +1,63 @@
+package com.example.auth.service;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import com.example.auth.dto.CurrentUserResponse;
+import com.example.auth.model.Permission;
+import com.example.auth.model.PermissionSet;
+import com.example.auth.repository.projection.UserRoleRow;
+
+/** Folds flat user-role rows into user responses, for both the servlet and reactive services. */
+public final class UserRowAssembler {
+  private UserRowAssembler() {}
+
+  /** Rows must be grouped by user; emits one response per user. */
+  public static void assemble(Iterator<UserRoleRow> rows, Consumer<CurrentUserResponse> sink) {
+    UserRoleRow current = null;
+    Set<String> roles = new HashSet<>();
+    PermissionSet granted = PermissionSet.empty();
+    while (rows.hasNext()) {
+      UserRoleRow row = rows.next();
+      if (current != null && !current.userId().equals(row.userId())) {
+        sink.accept(toResponse(current, roles, granted));
+        roles = new HashSet<>();
+        granted = PermissionSet.empty();
+      }
+      current = row;
+      if (row.roleName() != null) {
+        roles.add(row.roleName());
+        granted = granted.union(row.permissions());
+      }
+    }
+    if (current != null) {
+      sink.accept(toResponse(current, roles, granted));
+    }
+  }
+
+  /** The rows of a single user, which must not be empty. */
+  public static CurrentUserResponse toResponse(List<UserRoleRow> rows) {
+    CurrentUserResponse[] response = new CurrentUserResponse[1];
+    assemble(rows.iterator(), user -> response[0] = user);
+    return response[0];
+  }
+
+  private static CurrentUserResponse toResponse(
+      UserRoleRow user, Set<String> roles, PermissionSet granted) {
+    Set<String> permissions =
+        granted.stream().map(Permission::getPermission).collect(Collectors.toSet());
+
+    return CurrentUserResponse.builder()
+        .id(user.userId())
+        .email(user.email())
+        .firstName(user.firstName())
+        .lastName(user.lastName())
+        .roles(roles)
+        .permissions(permissions)
+        .build();
+  }
+}
@@ -1,36 +1,54 @@
 package com.example.auth.service;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.example.auth.dto.*;
 import com.example.auth.exception.CustomException;
-import com.example.auth.model.Permission;
+import com.example.auth.model.ParsedToken;
 import com.example.auth.model.Role;
 import com.example.auth.model.User;
-import com.example.auth.repository.RoleRepository;
 import com.example.auth.repository.UserRepository;
+import com.example.auth.repository.projection.UserRoleRow;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.RequiredArgsConstructor;
 
 @Service
 @RequiredArgsConstructor
 public class UserService {
+  public static final int MAX_PAGE_SIZE = 500;
+
   private final UserRepository userRepository;
-  private final RoleRepository roleRepository;
+  private final RoleCatalog roleCatalog;
   private final PasswordEncoder passwordEncoder;
   private final JwtService jwtService;
+  private final RefreshTokenService refreshTokenService;
+  private final AccessTokenDenylist accessTokenDenylist;
   private final AuthenticationManager authenticationManager;
+  private final AuthorizationEpochRegistry authorizationEpochRegistry;
+  private final UserDetailsCache userDetailsCache;
+  private final PlatformTransactionManager transactionManager;
+  private final ObjectMapper objectMapper;
 
   @Transactional
   public SignupResponse signup(SignupRequest request) {
@@ -39,13 +57,7 @@ public class UserService {
     }
 
     // Get default user role
-    Role userRole =
-        roleRepository
-            .findByName("ROLE_USER")
-            .orElseThrow(
-                () ->
-                    new CustomException(
-                        "Default role not found", HttpStatus.INTERNAL_SERVER_ERROR));
+    Role userRole = defaultRole("ROLE_USER", "Default role not found");
 
     User user =
         User.builder()
@@ -68,34 +80,25 @@ public class UserService {
   }
 
   public TokenResponse login(LoginRequest request) {
-    authenticationManager.authenticate(
-        new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword()));
-
-    User user =
-        userRepository
-            .findByEmail(request.getEmail())
-            .orElseThrow(() -> new CustomException("User not found", HttpStatus.NOT_FOUND));
+    Authentication authentication =
+        authenticationManager.authenticate(
+            new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword()));
 
-    String accessToken = jwtService.generateToken(user);
-    String refreshToken = jwtService.generateRefreshToken(user);
+    // The provider already loaded the user to check the password
+    UserDetails user = (UserDetails) authentication.getPrincipal();
 
-    return TokenResponse.builder().accessToken(accessToken).refreshToken(refreshToken).build();
+    return refreshTokenService.issue(user);
   }
 
-  public TokenResponse refreshToken(String refreshToken) {
-    String token = refreshToken.substring(7); // Remove "Bearer " prefix
-    String userEmail = jwtService.extractUsername(token);
-
+  /** {@code token} is the refresh token already verified by the authentication filter. */
+  public TokenResponse refreshToken(ParsedToken token) {
     User user =
         userRepository
-            .findByEmail(userEmail)
+            .findByEmail(token.subject())
             .orElseThrow(() -> new CustomException("User not found", HttpStatus.NOT_FOUND));
 
     if (jwtService.isRefreshTokenValid(token, user)) {
-      String accessToken = jwtService.generateToken(user);
-      String newRefreshToken = jwtService.generateRefreshToken(user);
-
-      return TokenResponse.builder().accessToken(accessToken).refreshToken(newRefreshToken).build();
+      return refreshTokenService.rotate(token, user);
     }
 
     throw new CustomException("Invalid refresh token", HttpStatus.UNAUTHORIZED);
@@ -110,48 +113,73 @@ public class UserService {
             .orElseThrow(() -> new CustomException("User not found", HttpStatus.NOT_FOUND));
 
     Set<Role> newRoles =
-        request.getRoleNames().stream()
-            .map(
-                roleName ->
-                    roleRepository
-                        .findByName(roleName)
-                        .orElseThrow(
-                            () ->
-                                new CustomException(
-                                    "Role not found: " + roleName, HttpStatus.NOT_FOUND)))
-            .collect(Collectors.toSet());
-
-    user.setRoles(newRoles);
-    userRepository.save(user);
+        request.getRoleNames().stream().map(roleCatalog::reference).collect(Collectors.toSet());
+
+    // Managed, so the change is flushed on commit; save() would merge and load every reference
+    if (!user.replaceRoles(newRoles)) {
+      return;
+    }
+    authorizationEpochRegistry.advanceSubject(user.getEmail());
+    userDetailsCache.invalidate(user.getEmail());
+    accessTokenDenylist.revokeSubject(user.getEmail());
+  }
+
+  /**
+   * Assigns or revokes one role for many users with a single statement. Unknown ids and users that
+   * already have, or lack, the role are skipped; returns how many users changed.
+   */
+  @PreAuthorize("hasAuthority('user:update')")
+  @Transactional
+  public BulkUserRolesResponse updateRoleMembers(BulkUserRolesRequest request) {
+    Long roleId = roleCatalog.require(request.getRoleName()).id();
+    Set<Long> userIds = request.getUserIds();
+    boolean assign = request.getAction() == BulkUserRolesRequest.Action.ASSIGN;
+
+    List<String> affected =
+        assign
+            ? userRepository.findEmailsWithoutRole(userIds, roleId)
+            : userRepository.findEmailsWithRole(userIds, roleId);
+    if (affected.isEmpty()) {
+      return new BulkUserRolesResponse(0);
+    }
+    int updated =
+        assign
+            ? userRepository.assignRole(userIds, roleId)
+            : userRepository.revokeRole(userIds, roleId);
+
+    authorizationEpochRegistry.advanceSubjects(affected);
+    userDetailsCache.invalidate(affected);
+    accessTokenDenylist.revokeSubjects(affected);
+    return new BulkUserRolesResponse(updated);
   }
 
   @PreAuthorize("hasAuthority('user:read')")
   public Set<RoleResponse> getUserRoles(Long userId) {
-    User user =
-        userRepository
-            .findById(userId)
-            .orElseThrow(() -> new CustomException("User not found", HttpStatus.NOT_FOUND));
+    if (!userRepository.existsById(userId)) {
+      throw new CustomException("User not found", HttpStatus.NOT_FOUND);
+    }
 
-    return user.getRoles().stream()
+    return userRepository.findRoleRowsByUserId(userId).stream()
         .map(
             role ->
                 RoleResponse.builder()
-                    .id(role.getId())
-                    .name(role.getName())
-                    .permissions(role.getPermissions())
+                    .id(role.id())
+                    .name(role.name())
+                    .permissions(role.permissions())
                     .build())
         .collect(Collectors.toSet());
   }
 
-  public void logout(String token) {
-    String jwt = token.substring(7);
-    jwtService.extractUsername(jwt); // This will throw if token is invalid
+  public void logout(ParsedToken token) {
+    // Revoking the family ends the login session
+    refreshTokenService.revoke(token);
+    accessTokenDenylist.revoke(token);
   }
 
   @PreAuthorize("hasAuthority('user:update') or #email == authentication.name")
   @Transactional
-  public void changePassword(String token, String oldPassword, String newPassword) {
-    String userEmail = jwtService.extractUsername(token.substring(7));
+  public void changePassword(ParsedToken token, String oldPassword, String newPassword) {
+    String userEmail = token.subject();
     User user =
         userRepository
             .findByEmail(userEmail)
@@ -163,32 +191,35 @@ public class UserService {
 
     user.setPassword(passwordEncoder.encode(newPassword));
     userRepository.save(user);
+    userDetailsCache.invalidate(user.getEmail());
+    refreshTokenService.revokeAll(user.getEmail());
+    accessTokenDenylist.revokeSubject(user.getEmail());
   }
 
   @PreAuthorize("hasAuthority('user:delete') or #email == authentication.name")
   @Transactional
-  public void deleteUser(String token) {
-    String userEmail = jwtService.extractUsername(token.substring(7));
+  public void deleteUser(ParsedToken token) {
+    String userEmail = token.subject();
     User user =
         userRepository
             .findByEmail(userEmail)
             .orElseThrow(() -> new CustomException("User not found", HttpStatus.NOT_FOUND));
 
     userRepository.delete(user);
+    authorizationEpochRegistry.advanceSubject(user.getEmail());
+    userDetailsCache.invalidate(user.getEmail());
+    refreshTokenService.revokeAll(user.getEmail());
+    accessTokenDenylist.revokeSubject(user.getEmail());
   }
 
   @PreAuthorize("hasAuthority('admin:access')")
+  @Transactional
   public SignupResponse createAdminUser(SignupRequest request) {
     if (userRepository.existsByEmail(request.getEmail())) {
       throw new CustomException("Email already exists", HttpStatus.BAD_REQUEST);
     }
 
-    Role adminRole =
-        roleRepository
-            .findByName("ROLE_ADMIN")
-            .orElseThrow(
-                () ->
-                    new CustomException("Admin role not found", HttpStatus.INTERNAL_SERVER_ERROR));
+    Role adminRole = defaultRole("ROLE_ADMIN", "Admin role not found");
 
     User admin =
         User.builder()
@@ -210,29 +241,78 @@ public class UserService {
         .build();
   }
 
+  /** Keyset pagination by id; pass the returned cursor as {@code afterId} for the next page. */
+  @PreAuthorize("hasAuthority('user:read')")
+  @Transactional(readOnly = true)
+  public UserPageResponse getUsers(Long afterId, int limit) {
+    if (limit < 1 || limit > MAX_PAGE_SIZE) {
+      throw new CustomException(
+          "limit must be between 1 and " + MAX_PAGE_SIZE, HttpStatus.BAD_REQUEST);
+    }
+
+    // Fetch one extra id to learn whether another page exists
+    List<Long> ids =
+        userRepository.findIdsAfter(afterId == null ? 0L : afterId, Limit.of(limit + 1));
+    boolean hasMore = ids.size() > limit;
+    List<Long> page = hasMore ? ids.subList(0, limit) : ids;
+
+    List<CurrentUserResponse> users = new ArrayList<>(page.size());
+    if (!page.isEmpty()) {
+      UserRowAssembler.assemble(userRepository.findRowsByIdIn(page).iterator(), users::add);
+    }
+
+    return UserPageResponse.builder()
+        .users(users)
+        .nextCursor(hasMore ? page.get(page.size() - 1) : null)
+        .build();
+  }
+
+  /**
+   * Streams every user as newline-delimited JSON. Authorization is checked when this is called; the
+   * returned body reads from a database cursor in its own read-only transaction and detaches each
+   * row once written, so memory stays flat regardless of the number of users.
+   */
   @PreAuthorize("hasAuthority('user:read')")
-  public List<CurrentUserResponse> getAllUsers() {
-    return userRepository.findAll().stream()
-        .map(this::mapToCurrentUserResponse)
-        .collect(Collectors.toList());
+  public StreamingResponseBody exportUsers() {
+    TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+    readOnly.setReadOnly(true);
+
+    return out ->
+        readOnly.executeWithoutResult(
+            status -> {
+              try (Stream<UserRoleRow> rows = userRepository.streamRowsOrderedById()) {
+                UserRowAssembler.assemble(
+                    rows.iterator(),
+                    user -> {
+                      try {
+                        out.write(objectMapper.writeValueAsBytes(user));
+                        out.write('\n');
+                      } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                      }
+                    });
+              }
+            });
   }
 
   @PreAuthorize("hasAuthority('user:read')")
   public CurrentUserResponse getUserById(Long id) {
-    User user =
-        userRepository
-            .findById(id)
-            .orElseThrow(() -> new CustomException("User not found", HttpStatus.NOT_FOUND));
-    return mapToCurrentUserResponse(user);
+    return assembleUser(userRepository.findRowsById(id));
   }
 
   @PreAuthorize("hasAuthority('user:delete')")
   @Transactional
   public void deleteUserById(Long id) {
-    if (!userRepository.existsById(id)) {
-      throw new CustomException("User not found", HttpStatus.NOT_FOUND);
-    }
-    userRepository.deleteById(id);
+    User user =
+        userRepository
+            .findById(id)
+            .orElseThrow(() -> new CustomException("User not found", HttpStatus.NOT_FOUND));
+
+    userRepository.delete(user);
+    authorizationEpochRegistry.advanceSubject(user.getEmail());
+    userDetailsCache.invalidate(user.getEmail());
+    refreshTokenService.revokeAll(user.getEmail());
+    accessTokenDenylist.revokeSubject(user.getEmail());
   }
 
   public CurrentUserResponse getCurrentUser(Authentication authentication) {
@@ -240,30 +320,21 @@ public class UserService {
       throw new CustomException("Not authenticated", HttpStatus.UNAUTHORIZED);
     }
 
-    User user =
-        userRepository
-            .findByEmail(authentication.getName())
-            .orElseThrow(() -> new CustomException("User not found", HttpStatus.NOT_FOUND));
-
-    return mapToCurrentUserResponse(user);
+    return assembleUser(userRepository.findRowsByEmail(authentication.getName()));
   }
 
-  private CurrentUserResponse mapToCurrentUserResponse(User user) {
-    Set<String> roles = user.getRoles().stream().map(Role::getName).collect(Collectors.toSet());
-
-    Set<String> permissions =
-        user.getRoles().stream()
-            .flatMap(role -> role.getPermissions().stream())
-            .map(Permission::getPermission)
-            .collect(Collectors.toSet());
+  // Built-in roles are created at startup, so a missing one is a server fault
+  private Role defaultRole(String name, String missingMessage) {
+    if (roleCatalog.find(name).isEmpty()) {
+      throw new CustomException(missingMessage, HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+    return roleCatalog.reference(name);
+  }
 
-    return CurrentUserResponse.builder()
-        .id(user.getId())
-        .email(user.getEmail())
-        .firstName(user.getFirstName())
-        .lastName(user.getLastName())
-        .roles(roles)
-        .permissions(permissions)
-        .build();
+  private CurrentUserResponse assembleUser(List<UserRoleRow> rows) {
+    if (rows.isEmpty()) {
+      throw new CustomException("User not found", HttpStatus.NOT_FOUND);
+    }
+    return UserRowAssembler.toResponse(rows);
   }
 }
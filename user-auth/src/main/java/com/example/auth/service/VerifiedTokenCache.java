@@ -0,0 +1,137 @@
+package com.example.auth.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Service;
+
+import com.example.auth.model.VerifiedToken;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Size-bounded cache of verified access tokens keyed by the raw token, so a client reusing a token
+ * skips signature verification, claim parsing and the user lookup. The map hashes the token and
+ * confirms a hit by comparing it in full; a key holding only a hash would let a forged token with a
+ * colliding hash borrow another user's entry.
+ *
+ * <p>Entries expire with their token, or after {@code ttl} if sooner. An entry is dropped on read
+ * once the {@link AuthorizationEpochRegistry} reports a change to its user or one of their roles
+ * since it was verified, here or on another node. Revocation is not cached: callers check the
+ * {@link AccessTokenDenylist} on every request.
+ */
+@Service
+public class VerifiedTokenCache {
+  private static final String ROLE_PREFIX = "ROLE_";
+
+  private final boolean enabled;
+  private final Cache<String, Entry> cache;
+  private final AuthorizationEpochRegistry authorizationEpochRegistry;
+  private final AtomicLong staleHits = new AtomicLong();
+
+  public VerifiedTokenCache(
+      @Value("${auth.token-cache.enabled:false}") boolean enabled,
+      @Value("${auth.token-cache.max-size:10000}") long maxSize,
+      @Value("${auth.token-cache.ttl:5m}") Duration ttl,
+      AuthorizationEpochRegistry authorizationEpochRegistry,
+      ObjectProvider<MeterRegistry> meterRegistry) {
+    this.enabled = enabled;
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfter(new TokenExpiry(ttl))
+            .recordStats()
+            .build();
+    this.authorizationEpochRegistry = authorizationEpochRegistry;
+    meterRegistry.ifAvailable(
+        registry -> {
+          CaffeineCacheMetrics.monitor(registry, cache, "auth.verified-tokens");
+          FunctionCounter.builder("auth.verified-tokens.stale", staleHits, AtomicLong::get)
+              .description("Cached tokens dropped because the user's authorization changed")
+              .register(registry);
+        });
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Returns the cached verification of {@code token}, or verifies it with {@code verifier} and
+   * caches the result. A {@code null} result, for a token that does not authenticate anyone, is not
+   * cached.
+   */
+  public VerifiedToken get(String token, Function<String, VerifiedToken> verifier) {
+    if (!enabled) {
+      return verifier.apply(token);
+    }
+    Entry cached = cache.getIfPresent(token);
+    if (cached != null) {
+      VerifiedToken verified = cached.verified();
+      if (authorizationEpochRegistry.isCurrent(
+          verified.token().subject(), cached.roles(), verified.verifiedAt())) {
+        return verified;
+      }
+      staleHits.incrementAndGet();
+      cache.invalidate(token);
+    }
+    VerifiedToken verified = verifier.apply(token);
+    if (verified != null) {
+      cache.put(token, Entry.of(verified));
+    }
+    return verified;
+  }
+
+  /** Hit, miss and eviction counters since startup. */
+  public CacheStats stats() {
+    return cache.stats();
+  }
+
+  // Fixed at creation: the token's remaining lifetime, capped at ttl
+  private record TokenExpiry(Duration ttl) implements Expiry<String, Entry> {
+    @Override
+    public long expireAfterCreate(String token, Entry entry, long currentTime) {
+      Instant expiresAt = entry.verified().token().expiresAt();
+      if (expiresAt == null) {
+        return ttl.toNanos();
+      }
+      Duration remaining = Duration.between(Instant.now(), expiresAt);
+      return Math.max(0, Math.min(remaining.toNanos(), ttl.toNanos()));
+    }
+
+    @Override
+    public long expireAfterUpdate(
+        String token, Entry entry, long currentTime, long currentDuration) {
+      return expireAfterCreate(token, entry, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(String token, Entry entry, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+  }
+
+  // Role names are extracted once so hits do not walk the authorities
+  private record Entry(VerifiedToken verified, List<String> roles) {
+    static Entry of(VerifiedToken verified) {
+      return new Entry(
+          verified,
+          verified.userDetails().getAuthorities().stream()
+              .map(GrantedAuthority::getAuthority)
+              .filter(authority -> authority.startsWith(ROLE_PREFIX))
+              .toList());
+    }
+  }
+}
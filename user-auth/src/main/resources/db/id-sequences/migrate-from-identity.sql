@@ -0,0 +1,19 @@
+-- One-off PostgreSQL migration for databases created while users and roles had identity ids.
+-- Run it with the application stopped, before starting a version that uses sequence ids.
+-- "increment by" must equal auth.id.allocation-size (default 50).
+begin;
+
+create sequence if not exists roles_seq increment by 50;
+create sequence if not exists users_seq increment by 50;
+
+-- Each sequence value is the highest id of a reserved block, so start a full block above max(id)
+select setval('roles_seq', (select coalesce(max(id), 0) + 50 from roles));
+select setval('users_seq', (select coalesce(max(id), 0) + 50 from users));
+
+-- Inserts that do not supply an id, such as the reactive stack's, draw from the same sequences
+alter table roles alter column id drop identity if exists;
+alter table roles alter column id set default nextval('roles_seq');
+alter table users alter column id drop identity if exists;
+alter table users alter column id set default nextval('users_seq');
+
+commit;
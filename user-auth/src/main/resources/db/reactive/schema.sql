@@ -0,0 +1,36 @@
+-- Tables of the JPA mapping, for the reactive stack where Hibernate does not manage the schema.
+-- Ids come from the sequences the servlet stack reserves blocks from (auth.id.allocation-size)
+create sequence if not exists roles_seq start with 1 increment by 50;
+create sequence if not exists users_seq start with 1 increment by 50;
+
+create table if not exists roles (
+    id bigint default nextval('roles_seq') primary key,
+    name varchar(255) unique,
+    permission_mask bigint
+);
+
+create table if not exists role_permissions (
+    role_id bigint not null references roles (id),
+    permissions varchar(255)
+);
+
+create table if not exists users (
+    id bigint default nextval('users_seq') primary key,
+    email varchar(255) unique,
+    password varchar(255),
+    first_name varchar(255),
+    last_name varchar(255)
+);
+
+create table if not exists user_roles (
+    user_id bigint not null references users (id),
+    role_id bigint not null references roles (id),
+    primary key (user_id, role_id)
+);
+
+-- Role membership checks and member pages
+create index if not exists idx_user_roles_role_user on user_roles (role_id, user_id);
+
+-- Tables created by Hibernate have no id default
+alter table roles alter column id set default nextval('roles_seq');
+alter table users alter column id set default nextval('users_seq');
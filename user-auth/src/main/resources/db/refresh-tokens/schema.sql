@@ -0,0 +1,22 @@
+-- Tables of JdbcRefreshTokenStore (auth.refresh-tokens.store=jdbc)
+create table if not exists refresh_token_families (
+    family_id varchar(36) primary key,
+    subject varchar(255) not null,
+    expires_at timestamp not null,
+    revoked boolean not null
+);
+
+create index if not exists idx_refresh_token_families_subject
+    on refresh_token_families (subject);
+
+create index if not exists idx_refresh_token_families_expires_at
+    on refresh_token_families (expires_at);
+
+create table if not exists refresh_tokens (
+    token_id varchar(36) primary key,
+    family_id varchar(36) not null,
+    expires_at timestamp not null,
+    used boolean not null
+);
+
+create index if not exists idx_refresh_tokens_expires_at on refresh_tokens (expires_at);
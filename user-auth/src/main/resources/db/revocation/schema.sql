@@ -0,0 +1,11 @@
+-- Table of JdbcRevocationLog (auth.revocation.log=jdbc)
+create table if not exists access_token_revocations (
+    id bigint generated by default as identity primary key,
+    kind varchar(16) not null,
+    revoked_value varchar(255) not null,
+    issued_before timestamp,
+    expires_at timestamp not null
+);
+
+create index if not exists idx_access_token_revocations_expires_at
+    on access_token_revocations (expires_at);
@@ -0,0 +1,8 @@
+-- Table of JdbcSigningKeyStore (jwt.keys.store=jdbc)
+create table if not exists jwt_signing_keys (
+    kid varchar(36) primary key,
+    algorithm varchar(8) not null,
+    private_key varchar(4096) not null,
+    public_key varchar(1024) not null,
+    created_at timestamp not null
+);
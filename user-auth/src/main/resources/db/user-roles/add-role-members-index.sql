@@ -0,0 +1,4 @@
+-- One-off PostgreSQL migration for databases created before user_roles was indexed by role.
+-- Builds the index without blocking writes, so it can run while the application is up; it must not
+-- run inside a transaction.
+create index concurrently if not exists idx_user_roles_role_user on user_roles (role_id, user_id);
@@ -0,0 +1,7 @@
+package com.example.auth;
+
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/** Boot configuration for slice tests; the module itself has no application class. */
+@SpringBootApplication
+public class UserAuthTestApplication {}
@@ -0,0 +1,142 @@
+package com.example.auth.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.example.auth.UserAuthTestApplication;
+import com.example.auth.model.User;
+import com.example.auth.repository.RoleRepository;
+import com.example.auth.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Load comparison of platform-thread and virtual-thread request handling ({@code
+ * spring.threads.virtual.enabled}) for the auth and user-management endpoints, with more concurrent
+ * clients than Tomcat's default pool. The {@code virtual} mode needs a Java 21 runtime.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(256)
+@Fork(1)
+public class EndpointLoadBenchmark {
+  private static final String EMAIL = "load@example.com";
+  private static final String PASSWORD = "Load-Pass#1";
+  private static final int USERS = 200;
+
+  @Param({"platform", "virtual"})
+  public String threads;
+
+  private ConfigurableApplicationContext context;
+  private HttpClient client;
+  private HttpRequest login;
+  private HttpRequest profile;
+  private HttpRequest users;
+
+  @Setup
+  public void setUp() throws Exception {
+    boolean virtual = threads.equals("virtual");
+    if (virtual && Runtime.version().feature() < 21) {
+      throw new IllegalStateException("Virtual threads need Java 21, running " + Runtime.version());
+    }
+    context =
+        new SpringApplicationBuilder(UserAuthTestApplication.class)
+            .properties(
+                "server.port=0",
+                "spring.datasource.url=jdbc:h2:mem:endpoint-load",
+                "spring.jpa.open-in-view=false",
+                "logging.level.root=WARN",
+                "spring.threads.virtual.enabled=" + virtual)
+            .run();
+    seedUsers();
+
+    String baseUrl =
+        "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+    client = HttpClient.newHttpClient();
+    login =
+        HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/auth/login"))
+            .header("Content-Type", "application/json")
+            .POST(
+                HttpRequest.BodyPublishers.ofString(
+                    "{\"email\":\"" + EMAIL + "\",\"password\":\"" + PASSWORD + "\"}"))
+            .build();
+    String token = new ObjectMapper().readTree(send(login).body()).get("accessToken").asText();
+    profile = authorized(baseUrl + "/api/v1/auth/profile", token);
+    users = authorized(baseUrl + "/api/v1/users?limit=50", token);
+  }
+
+  private void seedUsers() {
+    UserRepository userRepository = context.getBean(UserRepository.class);
+    RoleRepository roleRepository = context.getBean(RoleRepository.class);
+    String password = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+    userRepository.save(
+        User.builder()
+            .email(EMAIL)
+            .password(password)
+            .firstName("Load")
+            .lastName("Test")
+            .roles(Set.of(roleRepository.findByName("ROLE_ADMIN").orElseThrow()))
+            .build());
+    for (int i = 0; i < USERS; i++) {
+      userRepository.save(
+          User.builder()
+              .email("user" + i + "@example.com")
+              .password(password)
+              .firstName("User")
+              .lastName("Number" + i)
+              .roles(Set.of(roleRepository.findByName("ROLE_USER").orElseThrow()))
+              .build());
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public int login() throws Exception {
+    return send(login).statusCode();
+  }
+
+  @Benchmark
+  public int profile() throws Exception {
+    return send(profile).statusCode();
+  }
+
+  @Benchmark
+  public int users() throws Exception {
+    return send(users).statusCode();
+  }
+
+  private static HttpRequest authorized(String url, String token) {
+    return HttpRequest.newBuilder(URI.create(url))
+        .header("Authorization", "Bearer " + token)
+        .GET()
+        .build();
+  }
+
+  private HttpResponse<String> send(HttpRequest request) throws Exception {
+    return client.send(request, HttpResponse.BodyHandlers.ofString());
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(EndpointLoadBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+}
@@ -0,0 +1,106 @@
+package com.example.auth.benchmark;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.auth.middleware.JwtAuthenticationFilter;
+import com.example.auth.security.InMemoryRevocationLog;
+import com.example.auth.security.InProcessInvalidationBus;
+import com.example.auth.service.AccessTokenDenylist;
+import com.example.auth.service.AuthorizationEpochRegistry;
+import com.example.auth.service.JwtService;
+import com.example.auth.service.VerifiedTokenCache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Cost of {@link JwtAuthenticationFilter} for a client that reuses its access token, with the
+ * verified-token cache off ({@code cache=false}: signature check and claim parsing on every
+ * request) and on ({@code cache=true}: one lookup after the first request). Users are resolved from
+ * memory, so the difference is the token work alone; with users loaded from the database a miss
+ * also costs a query.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+  private static final String SECRET =
+      "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+  @Param({"false", "true"})
+  public boolean cache;
+
+  private JwtAuthenticationFilter filter;
+  private MockHttpServletRequest request;
+
+  @Setup
+  public void setUp() {
+    JwtService jwtService = new JwtService();
+    ReflectionTestUtils.setField(jwtService, "secretKey", SECRET);
+    ReflectionTestUtils.setField(jwtService, "jwtExpiration", 3_600_000L);
+    ReflectionTestUtils.setField(jwtService, "refreshTokenExpiration", 86_400_000L);
+    jwtService.init();
+
+    UserDetails user =
+        User.withUsername("bench@example.com")
+            .password("n/a")
+            .authorities("ROLE_USER", "user:read")
+            .build();
+    InProcessInvalidationBus bus = new InProcessInvalidationBus(Duration.ofSeconds(1), 500);
+    AuthorizationEpochRegistry registry = new AuthorizationEpochRegistry(bus);
+    StaticListableBeanFactory beans = new StaticListableBeanFactory();
+    filter =
+        new JwtAuthenticationFilter(
+            jwtService,
+            username -> user,
+            registry,
+            new AccessTokenDenylist(
+                new InMemoryRevocationLog(),
+                bus,
+                jwtService,
+                10_000,
+                0.01,
+                beans.getBeanProvider(MeterRegistry.class)),
+            new VerifiedTokenCache(
+                cache,
+                10_000,
+                Duration.ofMinutes(5),
+                registry,
+                beans.getBeanProvider(MeterRegistry.class)));
+
+    request = new MockHttpServletRequest("GET", "/api/v1/auth/profile");
+    request.addHeader("Authorization", "Bearer " + jwtService.generateToken(user));
+  }
+
+  @Benchmark
+  public Object authenticate() throws Exception {
+    filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+    Object authentication = SecurityContextHolder.getContext().getAuthentication();
+    SecurityContextHolder.clearContext();
+    return authentication;
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder()
+                .include(JwtAuthenticationFilterBenchmark.class.getSimpleName())
+                .build())
+        .run();
+  }
+}
@@ -0,0 +1,87 @@
+package com.example.auth.benchmark;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.auth.service.JwtService;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Compares token signing and parsing with a key derived on every call (the previous behaviour)
+ * against the precomputed key and parser held by {@link JwtService}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+  private static final String SECRET =
+      "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+  private JwtService jwtService;
+  private UserDetails userDetails;
+  private String token;
+
+  @Setup
+  public void setUp() {
+    jwtService = new JwtService();
+    ReflectionTestUtils.setField(jwtService, "secretKey", SECRET);
+    ReflectionTestUtils.setField(jwtService, "jwtExpiration", 3_600_000L);
+    ReflectionTestUtils.setField(jwtService, "refreshTokenExpiration", 86_400_000L);
+    jwtService.init();
+
+    userDetails =
+        User.withUsername("bench@example.com").password("n/a").authorities("user:read").build();
+    token = jwtService.generateToken(userDetails);
+  }
+
+  @Benchmark
+  public String signPerCallKey() {
+    return Jwts.builder()
+        .setSubject(userDetails.getUsername())
+        .setIssuedAt(new Date(System.currentTimeMillis()))
+        .setExpiration(new Date(System.currentTimeMillis() + 3_600_000L))
+        .signWith(deriveKey(), SignatureAlgorithm.HS256)
+        .compact();
+  }
+
+  @Benchmark
+  public String signCachedKey() {
+    return jwtService.generateToken(userDetails);
+  }
+
+  @Benchmark
+  public Claims parsePerCallParser() {
+    return Jwts.parserBuilder().setSigningKey(deriveKey()).build().parseClaimsJws(token).getBody();
+  }
+
+  @Benchmark
+  public String parseCachedParser() {
+    return jwtService.extractUsername(token);
+  }
+
+  private static Key deriveKey() {
+    return Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(JwtServiceBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+}
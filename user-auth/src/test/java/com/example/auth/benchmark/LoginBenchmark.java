@@ -0,0 +1,99 @@
+package com.example.auth.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.auth.UserAuthTestApplication;
+import com.example.auth.dto.LoginRequest;
+import com.example.auth.dto.SignupRequest;
+import com.example.auth.dto.TokenResponse;
+import com.example.auth.service.UserService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Latency distribution of {@link UserService#login} against H2, including the password check. The
+ * SQL statements issued per login are printed after each iteration; with the user-details cache
+ * enabled ({@code cache=true}) a warm login should issue none.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class LoginBenchmark {
+  private static final String EMAIL = "login@example.com";
+  private static final String PASSWORD = "Login-Pass#1";
+
+  @Param({"false", "true"})
+  public boolean cache;
+
+  private ConfigurableApplicationContext context;
+  private UserService userService;
+  private Statistics statistics;
+  private LoginRequest request;
+  private long logins;
+
+  @Setup
+  public void setUp() {
+    context =
+        new SpringApplicationBuilder(UserAuthTestApplication.class)
+            .web(WebApplicationType.NONE)
+            .properties(
+                "spring.datasource.url=jdbc:h2:mem:login",
+                "spring.jpa.properties.hibernate.generate_statistics=true",
+                "logging.level.root=WARN",
+                "auth.user-cache.enabled=" + cache)
+            .run();
+    userService = context.getBean(UserService.class);
+    statistics =
+        context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+
+    userService.signup(
+        SignupRequest.builder()
+            .email(EMAIL)
+            .password(PASSWORD)
+            .firstName("Login")
+            .lastName("Bench")
+            .build());
+    request = new LoginRequest(EMAIL, PASSWORD);
+  }
+
+  @Setup(Level.Iteration)
+  public void resetCounters() {
+    statistics.clear();
+    logins = 0;
+  }
+
+  @TearDown(Level.Iteration)
+  public void reportStatements() {
+    System.out.printf(
+        "%nSQL statements per login: %.2f (%d logins)%n",
+        (double) statistics.getPrepareStatementCount() / logins, logins);
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public TokenResponse login() {
+    logins++;
+    return userService.login(request);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(LoginBenchmark.class.getSimpleName()).build()).run();
+  }
+}
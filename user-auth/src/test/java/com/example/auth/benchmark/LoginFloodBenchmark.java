@@ -0,0 +1,120 @@
+package com.example.auth.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.auth.UserAuthTestApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Load harness: measures {@code GET /api/v1/auth/profile} latency on a live server while other
+ * threads flood {@code POST /api/v1/auth/login}. {@code pool=bounded} runs BCrypt on one worker per
+ * core with a short queue; {@code pool=unbounded} sizes the pool like Tomcat's, which is equivalent
+ * to hashing on the request threads. Compare {@code flood:profile} with {@code idle}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class LoginFloodBenchmark {
+  private static final String EMAIL = "flood@example.com";
+  private static final String PASSWORD = "Flood-Pass#1";
+
+  @Param({"bounded", "unbounded"})
+  public String pool;
+
+  private ConfigurableApplicationContext context;
+  private HttpClient client;
+  private String baseUrl;
+  private HttpRequest login;
+  private HttpRequest profile;
+
+  @Setup
+  public void setUp() throws Exception {
+    boolean bounded = pool.equals("bounded");
+    context =
+        new SpringApplicationBuilder(UserAuthTestApplication.class)
+            .properties(
+                "server.port=0",
+                "spring.datasource.url=jdbc:h2:mem:login-flood",
+                "logging.level.root=WARN",
+                "spring.jpa.open-in-view=false",
+                "auth.password-hashing.threads=" + (bounded ? 0 : 200),
+                "auth.password-hashing.queue-capacity=" + (bounded ? 32 : 10_000))
+            .run();
+    int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+    baseUrl = "http://localhost:" + port + "/api/v1/auth";
+    client = HttpClient.newHttpClient();
+
+    String credentials = "{\"email\":\"" + EMAIL + "\",\"password\":\"" + PASSWORD + "\"}";
+    send(
+        post(
+            "/signup",
+            "{\"firstName\":\"Flood\",\"lastName\":\"Test\",\"email\":\""
+                + EMAIL
+                + "\",\"password\":\""
+                + PASSWORD
+                + "\"}"));
+    login = post("/login", credentials);
+    JsonNode tokens = new ObjectMapper().readTree(send(login).body());
+    profile =
+        HttpRequest.newBuilder(URI.create(baseUrl + "/profile"))
+            .header("Authorization", "Bearer " + tokens.get("accessToken").asText())
+            .GET()
+            .build();
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public int idle() throws Exception {
+    return send(profile).statusCode();
+  }
+
+  @Benchmark
+  @Group("flood")
+  @GroupThreads(32)
+  public int login() throws Exception {
+    return send(login).statusCode();
+  }
+
+  @Benchmark
+  @Group("flood")
+  @GroupThreads(1)
+  public int profile() throws Exception {
+    return send(profile).statusCode();
+  }
+
+  private HttpRequest post(String path, String body) {
+    return HttpRequest.newBuilder(URI.create(baseUrl + path))
+        .header("Content-Type", "application/json")
+        .POST(HttpRequest.BodyPublishers.ofString(body))
+        .build();
+  }
+
+  private HttpResponse<String> send(HttpRequest request) throws Exception {
+    return client.send(request, HttpResponse.BodyHandlers.ofString());
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(LoginFloodBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+}
@@ -0,0 +1,148 @@
+package com.example.auth.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.auth.UserAuthTestApplication;
+import com.example.auth.model.User;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Time to insert 100,000 users through JPA in transactions of 1,000, with the previous identity ids
+ * ({@code ids=identity}: one round trip per row, no batching) and pooled sequence ids ({@code
+ * ids=sequence}: one sequence call per {@code auth.id.allocation-size} rows, batched inserts).
+ * Inserts per second are printed after each iteration. Runs against in-memory H2, where a round
+ * trip is nearly free; pass {@code -Dspring.datasource.url=...} to measure a real database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class UserInsertBenchmark {
+  private static final int USERS = 100_000;
+  private static final int TRANSACTION_SIZE = 1_000;
+
+  @Param({"identity", "sequence"})
+  public String ids;
+
+  private ConfigurableApplicationContext context;
+  private EntityManager entityManager;
+  private TransactionTemplate transactionTemplate;
+  private JdbcTemplate jdbcTemplate;
+  private Statistics statistics;
+  private long startedAt;
+
+  /** The user mapping as it was before sequence ids, on a table of its own. */
+  @Entity
+  @Table(name = "benchmark_identity_users")
+  public static class IdentityUser {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String email;
+    private String password;
+    private String firstName;
+    private String lastName;
+
+    protected IdentityUser() {}
+
+    IdentityUser(String email) {
+      this.email = email;
+      this.password = "hash";
+      this.firstName = "Insert";
+      this.lastName = "Bench";
+    }
+  }
+
+  @Setup
+  public void setUp() {
+    context =
+        new SpringApplicationBuilder(UserAuthTestApplication.class)
+            .web(WebApplicationType.NONE)
+            .properties(
+                "spring.datasource.url=jdbc:h2:mem:inserts",
+                "spring.jpa.properties.hibernate.generate_statistics=true",
+                "logging.level.root=WARN")
+            .run();
+    EntityManagerFactory entityManagerFactory = context.getBean(EntityManagerFactory.class);
+    entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+    transactionTemplate =
+        new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    jdbcTemplate = context.getBean(JdbcTemplate.class);
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+  }
+
+  @Setup(Level.Iteration)
+  public void clearTables() {
+    jdbcTemplate.update("delete from users where email like 'insert-%'");
+    jdbcTemplate.update("delete from benchmark_identity_users");
+    statistics.clear();
+    startedAt = System.nanoTime();
+  }
+
+  @TearDown(Level.Iteration)
+  public void reportThroughput() {
+    double seconds = (System.nanoTime() - startedAt) / 1e9;
+    System.out.printf(
+        "%n%s ids: %.0f inserts/s, %d statements prepared%n",
+        ids, USERS / seconds, statistics.getPrepareStatementCount());
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public void insertUsers() {
+    boolean identity = ids.equals("identity");
+    for (int start = 0; start < USERS; start += TRANSACTION_SIZE) {
+      int first = start;
+      transactionTemplate.executeWithoutResult(
+          status -> {
+            for (int i = first; i < first + TRANSACTION_SIZE; i++) {
+              String email = "insert-" + i + "@example.com";
+              entityManager.persist(
+                  identity
+                      ? new IdentityUser(email)
+                      : User.builder()
+                          .email(email)
+                          .password("hash")
+                          .firstName("Insert")
+                          .lastName("Bench")
+                          .build());
+            }
+            entityManager.flush();
+            entityManager.clear();
+          });
+    }
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(UserInsertBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+}
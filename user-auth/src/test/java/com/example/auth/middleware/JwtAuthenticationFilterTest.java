@@ -0,0 +1,124 @@
+package com.example.auth.middleware;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.auth.model.ParsedToken;
+import com.example.auth.model.RefreshTokenEntry;
+import com.example.auth.model.TokenType;
+import com.example.auth.security.InMemoryRevocationLog;
+import com.example.auth.security.InProcessInvalidationBus;
+import com.example.auth.service.AccessTokenDenylist;
+import com.example.auth.service.AuthorizationEpochRegistry;
+import com.example.auth.service.JwtService;
+import com.example.auth.service.VerifiedTokenCache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.ServletException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtAuthenticationFilterTest {
+  private static final String SECRET =
+      "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+  private final AtomicInteger userLookups = new AtomicInteger();
+  private JwtService jwtService;
+  private JwtAuthenticationFilter filter;
+  private UserDetails user;
+
+  @BeforeEach
+  void setUp() {
+    jwtService = new JwtService();
+    ReflectionTestUtils.setField(jwtService, "secretKey", SECRET);
+    ReflectionTestUtils.setField(jwtService, "jwtExpiration", 60_000L);
+    ReflectionTestUtils.setField(jwtService, "refreshTokenExpiration", 120_000L);
+    jwtService.init();
+
+    user = User.withUsername("user@example.com").password("n/a").authorities("user:read").build();
+    InProcessInvalidationBus bus = new InProcessInvalidationBus(Duration.ofSeconds(1), 500);
+    AuthorizationEpochRegistry registry = new AuthorizationEpochRegistry(bus);
+    StaticListableBeanFactory beans = new StaticListableBeanFactory();
+    filter =
+        new JwtAuthenticationFilter(
+            jwtService,
+            username -> {
+              userLookups.incrementAndGet();
+              return user;
+            },
+            registry,
+            new AccessTokenDenylist(
+                new InMemoryRevocationLog(),
+                bus,
+                jwtService,
+                10_000,
+                0.01,
+                beans.getBeanProvider(MeterRegistry.class)),
+            new VerifiedTokenCache(
+                false,
+                10_000,
+                Duration.ofMinutes(5),
+                registry,
+                beans.getBeanProvider(MeterRegistry.class)));
+  }
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  private MockHttpServletRequest filter(String token) throws ServletException, IOException {
+    MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/auth/logout");
+    request.addHeader("Authorization", "Bearer " + token);
+    filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+    return request;
+  }
+
+  @Test
+  void shouldAuthenticateAccessTokenAndExposeItsClaims() throws Exception {
+    // Act
+    MockHttpServletRequest request = filter(jwtService.generateToken(user));
+
+    // Assert
+    assertThat(SecurityContextHolder.getContext().getAuthentication().getName())
+        .isEqualTo("user@example.com");
+    assertThat(request.getAttribute(JwtAuthenticationFilter.PARSED_TOKEN_ATTRIBUTE))
+        .isInstanceOfSatisfying(
+            ParsedToken.class, token -> assertThat(token.type()).isEqualTo(TokenType.ACCESS));
+    assertThat(userLookups).hasValue(1);
+  }
+
+  @Test
+  void shouldExposeRefreshTokenWithoutLoadingTheUser() throws Exception {
+    // Arrange
+    String refreshToken =
+        jwtService.generateRefreshToken(
+            user,
+            new RefreshTokenEntry(
+                "token-1", "family-1", "user@example.com", Instant.now().plusSeconds(120)));
+
+    // Act
+    MockHttpServletRequest request = filter(refreshToken);
+
+    // Assert
+    assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    assertThat(request.getAttribute(JwtAuthenticationFilter.PARSED_TOKEN_ATTRIBUTE))
+        .isInstanceOfSatisfying(
+            ParsedToken.class, token -> assertThat(token.tokenId()).isEqualTo("token-1"));
+    assertThat(userLookups).hasValue(0);
+  }
+}
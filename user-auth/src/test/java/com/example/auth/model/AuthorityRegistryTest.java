@@ -0,0 +1,78 @@
+package com.example.auth.model;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuthorityRegistryTest {
+
+  private static Role role(long id, String name, Permission... permissions) {
+    return Role.builder().id(id).name(name).permissions(Set.of(permissions)).build();
+  }
+
+  @Nested
+  class Interning {
+    @Test
+    void shouldReturnSameSetForSameRoleCombination() {
+      // Arrange
+      Role user = role(1, "ROLE_USER", Permission.USER_READ);
+      Role manager = role(2, "ROLE_MANAGER", Permission.USER_READ, Permission.USER_UPDATE);
+
+      // Act
+      Set<GrantedAuthority> first = AuthorityRegistry.forRoles(Set.of(user, manager));
+      Set<GrantedAuthority> second =
+          AuthorityRegistry.forRoles(
+              Set.of(
+                  role(1, "ROLE_USER", Permission.USER_READ),
+                  role(2, "ROLE_MANAGER", Permission.USER_UPDATE, Permission.USER_READ)));
+
+      // Assert
+      assertThat(second).isSameAs(first);
+      assertThat(first)
+          .extracting(GrantedAuthority::getAuthority)
+          .containsExactlyInAnyOrder("ROLE_USER", "ROLE_MANAGER", "user:read", "user:update");
+    }
+
+    @Test
+    void shouldResolveNewSetWhenPermissionsChange() {
+      // Arrange
+      Set<GrantedAuthority> before =
+          AuthorityRegistry.forRole(role(3, "ROLE_AUDITOR", Permission.USER_READ));
+
+      // Act
+      Set<GrantedAuthority> after =
+          AuthorityRegistry.forRole(
+              role(3, "ROLE_AUDITOR", Permission.USER_READ, Permission.ROLE_READ));
+
+      // Assert
+      assertThat(after).isNotSameAs(before);
+      assertThat(after).extracting(GrantedAuthority::getAuthority).contains("role:read");
+    }
+  }
+
+  @Nested
+  class UserAuthorities {
+    @Test
+    void shouldMemoizeUntilRolesChange() {
+      // Arrange
+      User user = User.builder().email("a@example.com").build();
+      user.setRoles(Set.of(role(1, "ROLE_USER", Permission.USER_READ)));
+
+      // Act
+      var first = user.getAuthorities();
+      var second = user.getAuthorities();
+      user.setRoles(Set.of(Role.adminRole()));
+      var third = user.getAuthorities();
+
+      // Assert
+      assertThat(second).isSameAs(first);
+      assertThat(third)
+          .extracting(GrantedAuthority::getAuthority)
+          .contains("ROLE_ADMIN", "admin:access");
+    }
+  }
+}
@@ -0,0 +1,83 @@
+package com.example.auth.model;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PermissionSetTest {
+
+  @Nested
+  class SetSemantics {
+    @Test
+    void shouldBehaveLikeEnumSet() {
+      // Arrange
+      PermissionSet set = PermissionSet.of(Permission.USER_READ, Permission.ROLE_DELETE);
+
+      // Assert
+      assertThat(set).containsExactly(Permission.USER_READ, Permission.ROLE_DELETE);
+      assertThat(set).hasSize(2);
+      assertThat(set.contains(Permission.USER_UPDATE)).isFalse();
+      assertThat(set).isEqualTo(EnumSet.of(Permission.USER_READ, Permission.ROLE_DELETE));
+      assertThat(set.hashCode())
+          .isEqualTo(EnumSet.of(Permission.USER_READ, Permission.ROLE_DELETE).hashCode());
+    }
+
+    @Test
+    void shouldInternInstancesPerMask() {
+      assertThat(PermissionSet.copyOf(Set.of(Permission.USER_READ, Permission.USER_UPDATE)))
+          .isSameAs(PermissionSet.of(Permission.USER_UPDATE, Permission.USER_READ));
+    }
+
+    @Test
+    void shouldRoundTripThroughMask() {
+      PermissionSet all = PermissionSet.copyOf(EnumSet.allOf(Permission.class));
+
+      assertThat(PermissionSet.fromMask(all.mask())).isEqualTo(EnumSet.allOf(Permission.class));
+    }
+
+    @Test
+    void shouldIgnoreUnknownBits() {
+      assertThat(PermissionSet.fromMask(Permission.USER_READ.mask() | (1L << 40)))
+          .containsExactly(Permission.USER_READ);
+    }
+
+    @Test
+    void shouldCollectPermissionsFromAuthorities() {
+      PermissionSet set =
+          PermissionSet.fromAuthorities(
+              List.of(
+                  new SimpleGrantedAuthority("ROLE_USER"),
+                  new SimpleGrantedAuthority("user:read"),
+                  new SimpleGrantedAuthority("custom:thing")));
+
+      assertThat(set).containsExactly(Permission.USER_READ);
+    }
+  }
+
+  @Nested
+  class Hierarchy {
+    @Test
+    void shouldInheritUserPermissionsForManager() {
+      assertThat(RoleHierarchy.getInheritedPermissions("ROLE_MANAGER"))
+          .containsExactlyInAnyOrder(
+              Permission.USER_READ, Permission.USER_UPDATE, Permission.ROLE_READ);
+    }
+
+    @Test
+    void shouldGrantEverythingToAdmin() {
+      assertThat(RoleHierarchy.getInheritedPermissions("ROLE_ADMIN"))
+          .isEqualTo(EnumSet.allOf(Permission.class));
+    }
+
+    @Test
+    void shouldInheritNothingForCustomRole() {
+      assertThat(RoleHierarchy.getInheritedPermissions("ROLE_AUDITOR")).isEmpty();
+    }
+  }
+}
@@ -0,0 +1,524 @@
+package com.example.auth.reactive;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.reactive.server.StatusAssertions;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.example.auth.dto.CurrentUserResponse;
+import com.example.auth.dto.RoleResponse;
+import com.example.auth.dto.TokenResponse;
+import com.example.auth.model.Permission;
+import com.example.auth.repository.projection.RoleRow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(
+    classes = ReactiveUserAuthComponentTest.ReactiveTestApplication.class,
+    properties = {
+      "spring.main.web-application-type=reactive",
+      "spring.autoconfigure.exclude=",
+      "spring.r2dbc.url=r2dbc:h2:mem:///reactive-auth;DB_CLOSE_DELAY=-1",
+      "spring.sql.init.schema-locations=classpath:db/reactive/schema.sql",
+      // Exercises the asymmetric key ring; the servlet tests keep the HS256 default
+      "jwt.algorithm=ES256"
+    })
+@AutoConfigureWebTestClient
+class ReactiveUserAuthComponentTest {
+  private static final String ADMIN_EMAIL = "admin@example.com";
+  private static final String PASSWORD = "Reactive-Pass#1";
+
+  @Autowired private WebTestClient client;
+  @Autowired private DatabaseClient databaseClient;
+  @Autowired private ReactiveUserRepository userRepository;
+  @Autowired private ReactiveRoleRepository roleRepository;
+  @Autowired private PasswordEncoder passwordEncoder;
+
+  /** Only auto-configuration, so the servlet components of this module are not scanned. */
+  @SpringBootConfiguration
+  @EnableAutoConfiguration
+  static class ReactiveTestApplication {}
+
+  @BeforeEach
+  void setUp() {
+    databaseClient.sql("delete from user_roles").then().block();
+    databaseClient.sql("delete from users").then().block();
+    Long adminRole = roleRepository.findRowByName("ROLE_ADMIN").block().id();
+    userRepository
+        .insert(ADMIN_EMAIL, passwordEncoder.encode(PASSWORD), "Admin", "User", adminRole)
+        .block();
+  }
+
+  private void signup(String email) {
+    client
+        .post()
+        .uri("/api/v1/auth/signup")
+        .bodyValue(
+            Map.of(
+                "email", email, "password", PASSWORD, "firstName", "Reactive", "lastName", "User"))
+        .exchange()
+        .expectStatus()
+        .isOk();
+  }
+
+  private String login(String email) {
+    return client
+        .post()
+        .uri("/api/v1/auth/login")
+        .bodyValue(Map.of("email", email, "password", PASSWORD))
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody(TokenResponse.class)
+        .returnResult()
+        .getResponseBody()
+        .getAccessToken();
+  }
+
+  @Nested
+  class Authentication {
+    @Test
+    void shouldSignUpLogInAndReadProfile() {
+      // Arrange
+      signup("user@example.com");
+      String token = login("user@example.com");
+
+      // Act
+      CurrentUserResponse profile =
+          client
+              .get()
+              .uri("/api/v1/auth/profile")
+              .headers(headers -> headers.setBearerAuth(token))
+              .exchange()
+              .expectStatus()
+              .isOk()
+              .expectBody(CurrentUserResponse.class)
+              .returnResult()
+              .getResponseBody();
+
+      // Assert
+      assertThat(profile.getEmail()).isEqualTo("user@example.com");
+      assertThat(profile.getRoles()).containsExactly("ROLE_USER");
+      assertThat(profile.getPermissions()).contains(Permission.USER_READ.getPermission());
+    }
+
+    @Test
+    void shouldRotateRefreshTokenAndRevokeFamilyOnReuse() {
+      // Arrange
+      String refreshToken =
+          client
+              .post()
+              .uri("/api/v1/auth/login")
+              .bodyValue(Map.of("email", ADMIN_EMAIL, "password", PASSWORD))
+              .exchange()
+              .expectBody(TokenResponse.class)
+              .returnResult()
+              .getResponseBody()
+              .getRefreshToken();
+
+      // Act
+      String rotated =
+          refresh(refreshToken)
+              .isOk()
+              .expectBody(TokenResponse.class)
+              .returnResult()
+              .getResponseBody()
+              .getRefreshToken();
+
+      // Assert
+      refresh(refreshToken).isUnauthorized();
+      refresh(rotated).isUnauthorized();
+    }
+
+    @Test
+    void shouldRejectAccessTokenAfterLogout() {
+      // Arrange
+      String token = login(ADMIN_EMAIL);
+
+      // Act
+      client
+          .post()
+          .uri("/api/v1/auth/logout")
+          .headers(headers -> headers.setBearerAuth(token))
+          .exchange()
+          .expectStatus()
+          .isOk();
+
+      // Assert
+      client
+          .get()
+          .uri("/api/v1/auth/profile")
+          .headers(headers -> headers.setBearerAuth(token))
+          .exchange()
+          .expectStatus()
+          .isUnauthorized();
+    }
+
+    private StatusAssertions refresh(String refreshToken) {
+      return client
+          .post()
+          .uri("/api/v1/auth/refresh")
+          .headers(headers -> headers.setBearerAuth(refreshToken))
+          .exchange()
+          .expectStatus();
+    }
+
+    @Test
+    void shouldRejectWrongPassword() {
+      // Act & Assert
+      client
+          .post()
+          .uri("/api/v1/auth/login")
+          .bodyValue(Map.of("email", ADMIN_EMAIL, "password", "Wrong-Pass#1"))
+          .exchange()
+          .expectStatus()
+          .isUnauthorized();
+    }
+
+    @Test
+    void shouldRejectDuplicateEmail() {
+      // Arrange
+      signup("twice@example.com");
+
+      // Act & Assert
+      client
+          .post()
+          .uri("/api/v1/auth/signup")
+          .bodyValue(
+              Map.of(
+                  "email", "twice@example.com",
+                  "password", PASSWORD,
+                  "firstName", "Reactive",
+                  "lastName", "User"))
+          .exchange()
+          .expectStatus()
+          .isBadRequest()
+          .expectBody()
+          .jsonPath("$.message")
+          .isEqualTo("Email already exists");
+    }
+
+    @Test
+    void shouldReportValidationErrors() {
+      // Act & Assert
+      client
+          .post()
+          .uri("/api/v1/auth/login")
+          .bodyValue(Map.of("email", "not-an-email", "password", PASSWORD))
+          .exchange()
+          .expectStatus()
+          .isBadRequest()
+          .expectBody()
+          .jsonPath("$.errors.email")
+          .isEqualTo("Invalid email format");
+    }
+
+    @Test
+    void shouldRequireTokenForProtectedEndpoints() {
+      // Act & Assert
+      client.get().uri("/api/v1/auth/profile").exchange().expectStatus().isUnauthorized();
+    }
+  }
+
+  @Nested
+  class Jwks {
+    @Test
+    void shouldPublishSigningKeyWithEtag() {
+      // Arrange
+      String token = login(ADMIN_EMAIL);
+
+      // Act
+      String etag =
+          client
+              .get()
+              .uri("/.well-known/jwks.json")
+              .exchange()
+              .expectStatus()
+              .isOk()
+              .expectHeader()
+              .cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic())
+              .expectBody()
+              .jsonPath("$.keys[0].kty")
+              .isEqualTo("EC")
+              .jsonPath("$.keys[0].kid")
+              .isEqualTo(keyId(token))
+              .returnResult()
+              .getResponseHeaders()
+              .getETag();
+
+      // Assert
+      client
+          .get()
+          .uri("/.well-known/jwks.json")
+          .ifNoneMatch(etag)
+          .exchange()
+          .expectStatus()
+          .isNotModified();
+    }
+
+    private String keyId(String token) {
+      String header =
+          new String(
+              Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))),
+              StandardCharsets.UTF_8);
+      return header.replaceAll(".*\"kid\":\"([^\"]+)\".*", "$1");
+    }
+  }
+
+  @Nested
+  class Authorization {
+    @Test
+    void shouldForbidRoleEndpointsForUsers() {
+      // Arrange
+      signup("user@example.com");
+      String token = login("user@example.com");
+
+      // Act & Assert
+      client
+          .get()
+          .uri("/api/v1/roles")
+          .headers(headers -> headers.setBearerAuth(token))
+          .exchange()
+          .expectStatus()
+          .isForbidden();
+    }
+
+    @Test
+    void shouldApplyMethodSecurityToServices() {
+      // Arrange
+      signup("user@example.com");
+      String token = login("user@example.com");
+
+      // Act & Assert: users hold user:read but not user:delete
+      client
+          .delete()
+          .uri("/api/v1/users/{id}", 1)
+          .headers(headers -> headers.setBearerAuth(token))
+          .exchange()
+          .expectStatus()
+          .isEqualTo(HttpStatus.FORBIDDEN);
+    }
+  }
+
+  @Nested
+  class Administration {
+    @Test
+    void shouldCreateRoleAndAssignIt() {
+      // Arrange
+      String token = login(ADMIN_EMAIL);
+      signup("member@example.com");
+      Long memberId = userRepository.findPrincipalByEmail("member@example.com").block().getId();
+
+      // Act
+      RoleResponse role =
+          client
+              .post()
+              .uri("/api/v1/roles")
+              .headers(headers -> headers.setBearerAuth(token))
+              .bodyValue(
+                  Map.of("name", "ROLE_AUDITOR", "permissions", List.of(Permission.ROLE_READ)))
+              .exchange()
+              .expectStatus()
+              .isOk()
+              .expectBody(RoleResponse.class)
+              .returnResult()
+              .getResponseBody();
+      client
+          .put()
+          .uri("/api/v1/users/{id}/roles", memberId)
+          .headers(headers -> headers.setBearerAuth(token))
+          .bodyValue(Map.of("roleNames", Set.of("ROLE_USER", "ROLE_AUDITOR")))
+          .exchange()
+          .expectStatus()
+          .isOk();
+
+      // Assert
+      assertThat(role.getPermissions()).contains(Permission.ROLE_READ);
+      CurrentUserResponse member =
+          client
+              .get()
+              .uri("/api/v1/users/{id}", memberId)
+              .headers(headers -> headers.setBearerAuth(token))
+              .exchange()
+              .expectStatus()
+              .isOk()
+              .expectBody(CurrentUserResponse.class)
+              .returnResult()
+              .getResponseBody();
+      assertThat(member.getRoles()).containsExactlyInAnyOrder("ROLE_USER", "ROLE_AUDITOR");
+      assertThat(member.getPermissions()).contains(Permission.ROLE_READ.getPermission());
+    }
+
+    @Test
+    void shouldAssignAndRevokeRoleForManyUsers() {
+      // Arrange
+      String token = login(ADMIN_EMAIL);
+      signup("one@example.com");
+      signup("two@example.com");
+      List<Long> ids =
+          List.of(
+              userRepository.findPrincipalByEmail("one@example.com").block().getId(),
+              userRepository.findPrincipalByEmail("two@example.com").block().getId(),
+              Long.MAX_VALUE);
+      Map<String, Object> assign =
+          Map.of("action", "ASSIGN", "roleName", "ROLE_ADMIN", "userIds", ids);
+
+      // Act & Assert: unknown ids and users already holding the role are skipped
+      client
+          .put()
+          .uri("/api/v1/users/roles")
+          .headers(headers -> headers.setBearerAuth(token))
+          .bodyValue(assign)
+          .exchange()
+          .expectStatus()
+          .isOk()
+          .expectBody()
+          .jsonPath("$.updated")
+          .isEqualTo(2);
+      client
+          .put()
+          .uri("/api/v1/users/roles")
+          .headers(headers -> headers.setBearerAuth(token))
+          .bodyValue(assign)
+          .exchange()
+          .expectStatus()
+          .isOk()
+          .expectBody()
+          .jsonPath("$.updated")
+          .isEqualTo(0);
+      client
+          .put()
+          .uri("/api/v1/users/roles")
+          .headers(headers -> headers.setBearerAuth(token))
+          .bodyValue(Map.of("action", "REVOKE", "roleName", "ROLE_ADMIN", "userIds", ids))
+          .exchange()
+          .expectStatus()
+          .isOk()
+          .expectBody()
+          .jsonPath("$.updated")
+          .isEqualTo(2);
+      assertThat(
+              userRepository
+                  .findRoleRowsByUserId(ids.get(0))
+                  .map(RoleRow::name)
+                  .collectList()
+                  .block())
+          .containsExactly("ROLE_USER");
+    }
+
+    @Test
+    void shouldPageRoleMembers() {
+      // Arrange
+      String token = login(ADMIN_EMAIL);
+      signup("first@example.com");
+      signup("second@example.com");
+      Long userRole = roleRepository.findRowByName("ROLE_USER").block().id();
+      Long firstId = userRepository.findPrincipalByEmail("first@example.com").block().getId();
+
+      // Act & Assert
+      client
+          .get()
+          .uri("/api/v1/roles/{id}/members?limit=1", userRole)
+          .headers(headers -> headers.setBearerAuth(token))
+          .exchange()
+          .expectStatus()
+          .isOk()
+          .expectBody()
+          .jsonPath("$.members[0].email")
+          .isEqualTo("first@example.com")
+          .jsonPath("$.nextCursor")
+          .isEqualTo(firstId.intValue());
+      client
+          .get()
+          .uri("/api/v1/roles/{id}/members?afterId={afterId}", userRole, firstId)
+          .headers(headers -> headers.setBearerAuth(token))
+          .exchange()
+          .expectStatus()
+          .isOk()
+          .expectBody()
+          .jsonPath("$.members[0].email")
+          .isEqualTo("second@example.com")
+          .jsonPath("$.members.length()")
+          .isEqualTo(1)
+          .jsonPath("$.nextCursor")
+          .doesNotExist();
+    }
+
+    @Test
+    void shouldRefuseToDeleteBuiltInRole() {
+      // Arrange
+      String token = login(ADMIN_EMAIL);
+      Long adminRole = roleRepository.findRowByName("ROLE_ADMIN").block().id();
+
+      // Act & Assert
+      client
+          .delete()
+          .uri("/api/v1/roles/{id}", adminRole)
+          .headers(headers -> headers.setBearerAuth(token))
+          .exchange()
+          .expectStatus()
+          .isBadRequest()
+          .expectBody()
+          .jsonPath("$.message")
+          .isEqualTo("Cannot delete built-in role");
+    }
+
+    @Test
+    void shouldPageAndExportUsers() {
+      // Arrange
+      String token = login(ADMIN_EMAIL);
+      signup("first@example.com");
+      signup("second@example.com");
+
+      // Act
+      List<CurrentUserResponse> exported =
+          client
+              .get()
+              .uri("/api/v1/users")
+              .headers(headers -> headers.setBearerAuth(token))
+              .accept(MediaType.APPLICATION_NDJSON)
+              .exchange()
+              .expectStatus()
+              .isOk()
+              .returnResult(CurrentUserResponse.class)
+              .getResponseBody()
+              .collectList()
+              .block();
+
+      // Assert
+      assertThat(exported)
+          .extracting(CurrentUserResponse::getEmail)
+          .containsExactly(ADMIN_EMAIL, "first@example.com", "second@example.com");
+      client
+          .get()
+          .uri("/api/v1/users?limit=2")
+          .headers(headers -> headers.setBearerAuth(token))
+          .exchange()
+          .expectStatus()
+          .isOk()
+          .expectBody()
+          .jsonPath("$.users.length()")
+          .isEqualTo(2)
+          .jsonPath("$.nextCursor")
+          .isEqualTo(exported.get(1).getId().intValue());
+    }
+  }
+}
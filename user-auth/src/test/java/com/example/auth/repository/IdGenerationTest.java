@@ -0,0 +1,67 @@
+package com.example.auth.repository;
+
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.auth.config.PersistenceConfig;
+import com.example.auth.model.User;
+import com.example.auth.support.QueryCounter;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "auth.id.allocation-size=20")
+@Import(PersistenceConfig.class)
+class IdGenerationTest {
+  @Autowired private TestEntityManager entityManager;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @Test
+  void shouldCreateSequenceWithConfiguredAllocationSize() {
+    // Act
+    Long increment =
+        jdbcTemplate.queryForObject(
+            "select increment from information_schema.sequences where sequence_name = 'USERS_SEQ'",
+            Long.class);
+
+    // Assert
+    assertThat(increment).isEqualTo(20);
+  }
+
+  @Test
+  void shouldInsertUsersInBatches() {
+    // Arrange
+    QueryCounter queries = new QueryCounter(entityManagerFactory);
+
+    // Act
+    long statements =
+        queries.count(
+            () ->
+                IntStream.range(0, 40)
+                    .forEach(
+                        i ->
+                            entityManager.persist(
+                                User.builder()
+                                    .email("user" + i + "@example.com")
+                                    .password("hash")
+                                    .firstName("Batch")
+                                    .lastName("User")
+                                    .build())));
+
+    // Assert: a few sequence calls and one batched insert instead of 40 inserts
+    assertThat(statements).isLessThan(10);
+    assertThat(userCount()).isEqualTo(40);
+  }
+
+  private Long userCount() {
+    return jdbcTemplate.queryForObject("select count(*) from users", Long.class);
+  }
+}
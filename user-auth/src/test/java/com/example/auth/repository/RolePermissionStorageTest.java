@@ -0,0 +1,90 @@
+package com.example.auth.repository;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import com.example.auth.model.Permission;
+import com.example.auth.model.PermissionStorageMode;
+import com.example.auth.model.Role;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class RolePermissionStorageTest {
+  @Autowired private TestEntityManager entityManager;
+  @Autowired private RoleRepository roleRepository;
+
+  private long permissionRowCount(Long roleId) {
+    return ((Number)
+            entityManager
+                .getEntityManager()
+                .createNativeQuery("select count(*) from role_permissions where role_id = ?1")
+                .setParameter(1, roleId)
+                .getSingleResult())
+        .longValue();
+  }
+
+  @Nested
+  class StorageModes {
+    @Test
+    void shouldMirrorMaskIntoJoinTableInDualMode() {
+      // Arrange
+      Role role = Role.adminRole();
+      role.applyPermissionStorage(PermissionStorageMode.DUAL);
+
+      // Act
+      Long id = entityManager.persistFlushFind(role).getId();
+      entityManager.clear();
+
+      // Assert
+      assertThat(permissionRowCount(id)).isEqualTo(Permission.values().length);
+      assertThat(roleRepository.findById(id).orElseThrow().getPermissions())
+          .containsExactlyInAnyOrder(Permission.values());
+    }
+
+    @Test
+    void shouldDropJoinRowsInBitmaskMode() {
+      // Arrange
+      Long id = entityManager.persistFlushFind(Role.adminRole()).getId();
+      entityManager.clear();
+
+      // Act
+      Role role = roleRepository.findById(id).orElseThrow();
+      role.applyPermissionStorage(PermissionStorageMode.BITMASK);
+      entityManager.flush();
+      entityManager.clear();
+
+      // Assert
+      assertThat(permissionRowCount(id)).isZero();
+      assertThat(roleRepository.findById(id).orElseThrow().getPermissions())
+          .containsExactlyInAnyOrder(Permission.values());
+    }
+
+    @Test
+    void shouldBackfillMaskFromLegacyRows() {
+      // Arrange
+      Long id = entityManager.persistFlushFind(Role.defaultUserRole()).getId();
+      entityManager
+          .getEntityManager()
+          .createNativeQuery("update roles set permission_mask = null where id = ?1")
+          .setParameter(1, id)
+          .executeUpdate();
+      entityManager.clear();
+
+      // Act
+      Role legacy =
+          roleRepository.findAllWithPermissionRows().stream()
+              .filter(role -> role.getId().equals(id))
+              .findFirst()
+              .orElseThrow();
+      boolean migrated = legacy.backfillPermissionMask();
+
+      // Assert
+      assertThat(migrated).isTrue();
+      assertThat(legacy.getPermissionMask()).isEqualTo(Permission.USER_READ.mask());
+    }
+  }
+}
@@ -0,0 +1,227 @@
+package com.example.auth.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+
+import com.example.auth.model.Permission;
+import com.example.auth.model.Role;
+import com.example.auth.model.User;
+import com.example.auth.repository.projection.RoleMemberRow;
+import com.example.auth.repository.projection.RoleRow;
+import com.example.auth.repository.projection.UserRoleRow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class UserRepositoryTest {
+  @Autowired private TestEntityManager entityManager;
+  @Autowired private UserRepository userRepository;
+  @Autowired private RoleRepository roleRepository;
+
+  private List<Long> ids;
+  private Role userRole;
+  private Role adminRole;
+
+  @BeforeEach
+  void setUp() {
+    userRole = entityManager.persist(Role.defaultUserRole());
+    adminRole = entityManager.persist(Role.adminRole());
+    ids =
+        Stream.of("a", "b", "c", "d", "e")
+            .map(
+                name ->
+                    entityManager
+                        .persist(
+                            User.builder()
+                                .email(name + "@example.com")
+                                .password("hash")
+                                .firstName(name)
+                                .lastName(name)
+                                .roles(
+                                    name.equals("a")
+                                        ? Set.of(userRole, adminRole)
+                                        : name.equals("e") ? Set.of() : Set.of(userRole))
+                                .build())
+                        .getId())
+            .toList();
+    entityManager.flush();
+    entityManager.clear();
+  }
+
+  @Nested
+  class KeysetPages {
+    @Test
+    void shouldReturnIdsAfterCursorInOrder() {
+      // Act
+      List<Long> page = userRepository.findIdsAfter(ids.get(1), Limit.of(2));
+
+      // Assert
+      assertThat(page).containsExactly(ids.get(2), ids.get(3));
+    }
+
+    @Test
+    void shouldWalkAllUsersWithoutGapsOrDuplicates() {
+      // Arrange
+      long cursor = 0L;
+      List<Long> seen = new ArrayList<>();
+
+      // Act
+      List<Long> page;
+      do {
+        page = userRepository.findIdsAfter(cursor, Limit.of(2));
+        seen.addAll(page);
+        if (!page.isEmpty()) {
+          cursor = page.get(page.size() - 1);
+        }
+      } while (!page.isEmpty());
+
+      // Assert
+      assertThat(seen).containsExactlyElementsOf(ids);
+    }
+  }
+
+  @Nested
+  class Projections {
+    @Test
+    void shouldReturnOneRowPerRoleWithMask() {
+      // Act
+      List<UserRoleRow> rows = userRepository.findRowsById(ids.get(0));
+
+      // Assert
+      assertThat(rows)
+          .extracting(UserRoleRow::roleName)
+          .containsExactlyInAnyOrder("ROLE_USER", "ROLE_ADMIN");
+      assertThat(rows)
+          .filteredOn(row -> row.roleName().equals("ROLE_ADMIN"))
+          .singleElement()
+          .extracting(UserRoleRow::permissions)
+          .isEqualTo(Set.of(Permission.values()));
+    }
+
+    @Test
+    void shouldKeepUsersWithoutRoles() {
+      // Act
+      List<UserRoleRow> rows = userRepository.findRowsByEmail("e@example.com");
+
+      // Assert
+      assertThat(rows).singleElement().extracting(UserRoleRow::roleName).isNull();
+    }
+
+    @Test
+    void shouldGroupRowsByUserWhenLoadingPage() {
+      // Act
+      List<UserRoleRow> rows = userRepository.findRowsByIdIn(ids.subList(0, 2));
+
+      // Assert
+      assertThat(rows)
+          .extracting(UserRoleRow::userId)
+          .containsExactly(ids.get(0), ids.get(0), ids.get(1));
+    }
+
+    @Test
+    void shouldStreamRowsInUserOrder() {
+      try (Stream<UserRoleRow> rows = userRepository.streamRowsOrderedById()) {
+        assertThat(rows.map(UserRoleRow::userId).distinct()).containsExactlyElementsOf(ids);
+      }
+    }
+
+    @Test
+    void shouldProjectRolesWithoutLoadingEntities() {
+      // Act
+      List<RoleRow> userRoles = userRepository.findRoleRowsByUserId(ids.get(1));
+      List<RoleRow> allRoles = roleRepository.findAllRows();
+
+      // Assert
+      assertThat(userRoles).extracting(RoleRow::name).containsExactly("ROLE_USER");
+      assertThat(allRoles)
+          .extracting(RoleRow::id)
+          .containsExactly(userRole.getId(), adminRole.getId());
+      assertThat(roleRepository.findRowById(userRole.getId()))
+          .get()
+          .extracting(RoleRow::permissions)
+          .isEqualTo(userRole.getPermissions());
+    }
+  }
+
+  @Nested
+  class RoleMembership {
+    @Test
+    void shouldTellWhetherRoleHasMembers() {
+      // Arrange
+      Role unassigned =
+          entityManager.persistAndFlush(
+              Role.builder()
+                  .name("ROLE_AUDITOR")
+                  .permissions(Set.of(Permission.USER_READ))
+                  .build());
+
+      // Act & Assert
+      assertThat(userRepository.existsMemberOfRole(adminRole.getId())).isTrue();
+      assertThat(userRepository.existsMemberOfRole(unassigned.getId())).isFalse();
+    }
+
+    @Test
+    void shouldPageMembersByUserId() {
+      // Act
+      List<RoleMemberRow> first =
+          userRepository.findMembersOfRole(userRole.getId(), 0L, Limit.of(2));
+      List<RoleMemberRow> rest =
+          userRepository.findMembersOfRole(
+              userRole.getId(), first.get(first.size() - 1).userId(), Limit.of(10));
+
+      // Assert: e holds no role and is never listed
+      assertThat(first)
+          .extracting(RoleMemberRow::email)
+          .containsExactly("a@example.com", "b@example.com");
+      assertThat(rest).extracting(RoleMemberRow::userId).containsExactly(ids.get(2), ids.get(3));
+    }
+
+    @Test
+    void assignShouldInsertOnlyMissingRows() {
+      // Arrange: a already has the admin role, and 999 does not exist
+      List<Long> targets = List.of(ids.get(0), ids.get(1), ids.get(4), 999L);
+
+      // Act
+      List<String> affected = userRepository.findEmailsWithoutRole(targets, adminRole.getId());
+      int inserted = userRepository.assignRole(targets, adminRole.getId());
+
+      // Assert
+      assertThat(affected).containsExactlyInAnyOrder("b@example.com", "e@example.com");
+      assertThat(inserted).isEqualTo(2);
+      assertThat(userRepository.findRoleRowsByUserId(ids.get(4)))
+          .extracting(RoleRow::name)
+          .containsExactly("ROLE_ADMIN");
+      assertThat(userRepository.findEmailsWithoutRole(targets, adminRole.getId())).isEmpty();
+    }
+
+    @Test
+    void revokeShouldDeleteOnlyThatRole() {
+      // Arrange
+      List<Long> targets = List.of(ids.get(0), ids.get(1), ids.get(4));
+
+      // Act
+      List<String> affected = userRepository.findEmailsWithRole(targets, userRole.getId());
+      int deleted = userRepository.revokeRole(targets, userRole.getId());
+
+      // Assert
+      assertThat(affected).containsExactlyInAnyOrder("a@example.com", "b@example.com");
+      assertThat(deleted).isEqualTo(2);
+      assertThat(userRepository.findRoleRowsByUserId(ids.get(0)))
+          .extracting(RoleRow::name)
+          .containsExactly("ROLE_ADMIN");
+      assertThat(userRepository.findRoleRowsByUserId(ids.get(2)))
+          .extracting(RoleRow::name)
+          .containsExactly("ROLE_USER");
+    }
+  }
+}
@@ -0,0 +1,45 @@
+package com.example.auth.security;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTest {
+  @Test
+  void shouldNeverMissAddedValues() {
+    // Arrange
+    BloomFilter filter = BloomFilter.create(1_000, 0.01);
+    String[] values = new String[1_000];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = UUID.randomUUID().toString();
+      filter.put(values[i]);
+    }
+
+    // Act & Assert
+    for (String value : values) {
+      assertThat(filter.mightContain(value)).isTrue();
+    }
+  }
+
+  @Test
+  void shouldKeepFalsePositivesNearConfiguredRate() {
+    // Arrange
+    BloomFilter filter = BloomFilter.create(10_000, 0.01);
+    for (int i = 0; i < 10_000; i++) {
+      filter.put(UUID.randomUUID().toString());
+    }
+
+    // Act
+    int falsePositives = 0;
+    for (int i = 0; i < 100_000; i++) {
+      if (filter.mightContain(UUID.randomUUID().toString())) {
+        falsePositives++;
+      }
+    }
+
+    // Assert: 1% expected, with room for randomness
+    assertThat(falsePositives).isLessThan(2_000);
+  }
+}
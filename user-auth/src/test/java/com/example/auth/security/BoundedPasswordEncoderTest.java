@@ -0,0 +1,171 @@
+package com.example.auth.security;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.example.auth.exception.CustomException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedPasswordEncoderTest {
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final CountDownLatch release = new CountDownLatch(1);
+  private final ExecutorService callers = Executors.newCachedThreadPool();
+  private BoundedPasswordEncoder encoder;
+
+  @AfterEach
+  void tearDown() {
+    release.countDown();
+    callers.shutdownNow();
+    if (encoder != null) {
+      encoder.close();
+    }
+  }
+
+  private BoundedPasswordEncoder encoder(PasswordEncoder delegate, int queue, Duration maxWait) {
+    StaticListableBeanFactory beans = new StaticListableBeanFactory();
+    beans.addBean("registry", registry);
+    encoder =
+        new BoundedPasswordEncoder(
+            delegate, 1, queue, maxWait, beans.getBeanProvider(MeterRegistry.class));
+    return encoder;
+  }
+
+  /** Blocks every hash until {@link #release} opens. */
+  private PasswordEncoder blocking(CountDownLatch started) {
+    return new PasswordEncoder() {
+      @Override
+      public String encode(CharSequence rawPassword) {
+        started.countDown();
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        return "{hashed}" + rawPassword;
+      }
+
+      @Override
+      public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return encode(rawPassword).equals(encodedPassword);
+      }
+    };
+  }
+
+  @Nested
+  class Delegation {
+    @Test
+    void shouldEncodeAndMatchThroughDelegate() {
+      // Arrange
+      release.countDown();
+      BoundedPasswordEncoder encoder =
+          encoder(blocking(new CountDownLatch(1)), 4, Duration.ofSeconds(5));
+
+      // Act
+      String hash = encoder.encode("secret");
+
+      // Assert
+      assertThat(hash).isEqualTo("{hashed}secret");
+      assertThat(encoder.matches("secret", hash)).isTrue();
+      assertThat(encoder.matches("other", hash)).isFalse();
+      assertThat(registry.get("auth.password.hashing").tag("operation", "encode").timer().count())
+          .isEqualTo(1);
+      assertThat(registry.get("auth.password.hashing").tag("operation", "matches").timer().count())
+          .isEqualTo(2);
+    }
+
+    @Test
+    void encodeAllShouldKeepInputOrderWithoutOverflowingTheQueue() {
+      // Arrange
+      release.countDown();
+      BoundedPasswordEncoder encoder =
+          encoder(blocking(new CountDownLatch(1)), 1, Duration.ofSeconds(5));
+
+      // Act: more passwords than the pool and queue hold at once
+      List<String> hashes = encoder.encodeAll(List.of("a", "b", "c", "d", "e"));
+
+      // Assert
+      assertThat(hashes)
+          .containsExactly("{hashed}a", "{hashed}b", "{hashed}c", "{hashed}d", "{hashed}e");
+      assertThat(registry.get("auth.password.hashing").tag("operation", "encode").timer().count())
+          .isEqualTo(5);
+    }
+
+    @Test
+    void shouldPropagateDelegateFailures() {
+      // Arrange
+      PasswordEncoder failing =
+          new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+              throw new IllegalArgumentException("bad salt");
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+              return false;
+            }
+          };
+
+      // Act & Assert
+      assertThatThrownBy(() -> encoder(failing, 4, Duration.ofSeconds(5)).encode("secret"))
+          .isInstanceOf(IllegalArgumentException.class)
+          .hasMessage("bad salt");
+    }
+  }
+
+  @Nested
+  class BackPressure {
+    @Test
+    void shouldRejectWhenQueueIsFull() throws Exception {
+      // Arrange
+      CountDownLatch started = new CountDownLatch(1);
+      BoundedPasswordEncoder encoder = encoder(blocking(started), 1, Duration.ofSeconds(5));
+      callers.submit(() -> encoder.encode("running"));
+      assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+      callers.submit(() -> encoder.encode("queued"));
+      while (encoder.queued() == 0) {
+        Thread.onSpinWait();
+      }
+
+      // Act & Assert
+      assertThatThrownBy(() -> encoder.encode("rejected"))
+          .isInstanceOfSatisfying(
+              CustomException.class,
+              e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+      assertThat(registry.get("auth.password.hashing.rejected").counter().count()).isEqualTo(1);
+      assertThat(registry.get("auth.password.hashing.queued").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldGiveUpWhenWaitExceedsLimit() throws Exception {
+      // Arrange
+      CountDownLatch started = new CountDownLatch(1);
+      BoundedPasswordEncoder encoder = encoder(blocking(started), 4, Duration.ofMillis(50));
+      callers.submit(() -> encoder.encode("running"));
+      assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+      // Act & Assert
+      assertThatThrownBy(() -> encoder.matches("waiting", "{hashed}waiting"))
+          .isInstanceOfSatisfying(
+              CustomException.class,
+              e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+      assertThat(encoder.queued()).isZero();
+    }
+  }
+}
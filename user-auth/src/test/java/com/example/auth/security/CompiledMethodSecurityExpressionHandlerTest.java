@@ -0,0 +1,184 @@
+package com.example.auth.security;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
+import org.springframework.security.access.hierarchicalroles.RoleHierarchyImpl;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.util.SimpleMethodInvocation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompiledMethodSecurityExpressionHandlerTest {
+  private final CompiledMethodSecurityExpressionHandler compiled =
+      new CompiledMethodSecurityExpressionHandler();
+  private final DefaultMethodSecurityExpressionHandler spel =
+      new DefaultMethodSecurityExpressionHandler();
+
+  static class Target {
+    public void update(String email) {}
+  }
+
+  private static MethodInvocation invocation(String email) throws NoSuchMethodException {
+    Method method = Target.class.getMethod("update", String.class);
+    return new SimpleMethodInvocation(new Target(), method, email);
+  }
+
+  private static Authentication user(String name, String... authorities) {
+    return new TestingAuthenticationToken(name, "password", authorities);
+  }
+
+  private static boolean evaluate(
+      MethodSecurityExpressionHandler handler,
+      String expression,
+      Supplier<Authentication> authentication,
+      MethodInvocation invocation) {
+    Expression parsed = handler.getExpressionParser().parseExpression(expression);
+    EvaluationContext context = handler.createEvaluationContext(authentication, invocation);
+    return parsed.getValue(context, Boolean.class);
+  }
+
+  private void assertSameDecision(String expression, Authentication authentication, String email)
+      throws NoSuchMethodException {
+    boolean expected = evaluate(spel, expression, () -> authentication, invocation(email));
+    boolean actual = evaluate(compiled, expression, () -> authentication, invocation(email));
+    assertThat(actual).as(expression + " for " + authentication).isEqualTo(expected);
+  }
+
+  @Nested
+  class Compilation {
+    @Test
+    void shouldCompileSimpleRoleAndAuthorityExpressions() {
+      List<String> expressions =
+          List.of(
+              "isAuthenticated()",
+              "hasRole('USER')",
+              "hasAnyRole('ADMIN', 'MANAGER')",
+              "hasRole('USER') and hasRole('MANAGER')",
+              "hasAuthority('user:read')",
+              "hasAuthority('user:update') or #email == authentication.name",
+              "!(hasRole('ADMIN') || denyAll())");
+
+      for (String expression : expressions) {
+        assertThat(compiled.getExpressionParser().parseExpression(expression))
+            .as(expression)
+            .isInstanceOf(CompiledAuthorizationExpression.class);
+      }
+    }
+
+    @Test
+    void shouldFallBackToSpelForOtherExpressions() {
+      List<String> expressions =
+          List.of(
+              "hasAuthority(#resource + ':read')",
+              "hasPermission(#email, 'read')",
+              "principal.username == 'admin'",
+              "hasRole('USER') == true");
+
+      for (String expression : expressions) {
+        assertThat(compiled.getExpressionParser().parseExpression(expression))
+            .as(expression)
+            .isNotInstanceOf(CompiledAuthorizationExpression.class);
+      }
+    }
+
+    @Test
+    void shouldNotCompileWhenRoleHierarchyIsConfigured() {
+      // Arrange
+      compiled.setRoleHierarchy(RoleHierarchyImpl.fromHierarchy("ROLE_ADMIN > ROLE_USER"));
+
+      // Act
+      Expression expression = compiled.getExpressionParser().parseExpression("hasRole('USER')");
+
+      // Assert
+      assertThat(expression).isNotInstanceOf(CompiledAuthorizationExpression.class);
+    }
+  }
+
+  @Nested
+  class Semantics {
+    @Test
+    void shouldMatchSpelForRolesAndPermissions() throws NoSuchMethodException {
+      List<String> expressions =
+          List.of(
+              "hasRole('USER')",
+              "hasRole('ROLE_USER')",
+              "hasAnyRole('ADMIN', 'MANAGER')",
+              "hasRole('USER') and hasRole('MANAGER')",
+              "hasRole('ADMIN') or not hasRole('USER')",
+              "hasAuthority('user:read')",
+              "hasAnyAuthority('user:delete', 'custom:thing')",
+              "hasAuthority('ROLE_USER')",
+              "isAuthenticated() and permitAll()");
+      List<Authentication> users =
+          List.of(
+              user("a@example.com", "ROLE_USER"),
+              user("b@example.com", "ROLE_USER", "ROLE_MANAGER", "user:read"),
+              user("c@example.com", "ROLE_ADMIN", "user:delete"),
+              user("d@example.com", "custom:thing"));
+
+      for (String expression : expressions) {
+        for (Authentication authentication : users) {
+          assertSameDecision(expression, authentication, "x@example.com");
+        }
+      }
+    }
+
+    @Test
+    void shouldCompareArgumentWithAuthenticationName() throws NoSuchMethodException {
+      String expression = "hasAuthority('user:update') or #email == authentication.name";
+
+      assertSameDecision(expression, user("a@example.com", "ROLE_USER"), "a@example.com");
+      assertSameDecision(expression, user("a@example.com", "ROLE_USER"), "b@example.com");
+      assertSameDecision(expression, user("a@example.com", "ROLE_USER"), null);
+      assertSameDecision(expression, user("a@example.com", "user:update"), "b@example.com");
+      assertSameDecision("authentication.name == #a0", user("a@example.com"), "a@example.com");
+    }
+
+    @Test
+    void shouldTreatAnonymousUsersLikeSpel() throws NoSuchMethodException {
+      Authentication anonymous =
+          new AnonymousAuthenticationToken(
+              "key", "anonymous", AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS"));
+
+      assertSameDecision("isAuthenticated()", anonymous, null);
+      assertSameDecision("isAnonymous()", anonymous, null);
+    }
+
+    @Test
+    void shouldThrowWhenAuthenticationIsMissing() throws NoSuchMethodException {
+      // Arrange
+      Supplier<Authentication> missing =
+          () -> {
+            throw new AuthenticationCredentialsNotFoundException("missing");
+          };
+      MethodInvocation invocation = invocation("a@example.com");
+
+      // Act & Assert
+      assertThatThrownBy(() -> evaluate(compiled, "hasRole('USER')", missing, invocation))
+          .isInstanceOf(AuthenticationCredentialsNotFoundException.class);
+      assertThat(evaluate(compiled, "permitAll()", missing, invocation)).isTrue();
+    }
+
+    @Test
+    void shouldEvaluateFallbackExpressionsThroughDeferredContext() throws NoSuchMethodException {
+      assertSameDecision(
+          "hasAuthority(#email + ':read')", user("a@example.com", "user:read"), "user");
+      assertSameDecision(
+          "hasAuthority(#email + ':read')", user("a@example.com", "user:read"), "role");
+    }
+  }
+}
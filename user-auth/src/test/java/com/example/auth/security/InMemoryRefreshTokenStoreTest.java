@@ -0,0 +1,165 @@
+package com.example.auth.security;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.example.auth.model.RefreshTokenEntry;
+import com.example.auth.security.RefreshTokenStore.Rotation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryRefreshTokenStoreTest {
+  private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+  private final InMemoryRefreshTokenStore store = new InMemoryRefreshTokenStore();
+
+  private static RefreshTokenEntry token(String tokenId, String familyId, Instant expiresAt) {
+    return new RefreshTokenEntry(tokenId, familyId, "user@example.com", expiresAt);
+  }
+
+  @Nested
+  class Rotating {
+    @Test
+    void shouldAcceptEachTokenOnce() {
+      // Arrange
+      store.save(token("t1", "f1", NOW.plus(Duration.ofDays(7))));
+
+      // Act
+      Rotation first = store.rotate("t1");
+
+      // Assert
+      assertThat(first).isEqualTo(Rotation.ACCEPTED);
+      store.save(token("t2", "f1", NOW.plus(Duration.ofDays(7))));
+      assertThat(store.rotate("t2")).isEqualTo(Rotation.ACCEPTED);
+    }
+
+    @Test
+    void shouldRevokeFamilyWhenSpentTokenIsReused() {
+      // Arrange
+      store.save(token("t1", "f1", NOW.plus(Duration.ofDays(7))));
+      store.rotate("t1");
+      store.save(token("t2", "f1", NOW.plus(Duration.ofDays(7))));
+
+      // Act
+      Rotation replay = store.rotate("t1");
+
+      // Assert
+      assertThat(replay).isEqualTo(Rotation.REUSED);
+      assertThat(store.rotate("t2")).isEqualTo(Rotation.REVOKED);
+    }
+
+    @Test
+    void shouldRejectUnknownToken() {
+      assertThat(store.rotate("missing")).isEqualTo(Rotation.UNKNOWN);
+    }
+
+    @Test
+    void shouldAcceptOneOfConcurrentExchanges() throws Exception {
+      // Arrange
+      store.save(token("t1", "f1", NOW.plus(Duration.ofDays(7))));
+      int callers = 16;
+      CountDownLatch start = new CountDownLatch(1);
+      ExecutorService executor = Executors.newFixedThreadPool(callers);
+      List<Future<Rotation>> results = new ArrayList<>();
+
+      // Act
+      try {
+        Callable<Rotation> exchange =
+            () -> {
+              start.await();
+              return store.rotate("t1");
+            };
+        for (int i = 0; i < callers; i++) {
+          results.add(executor.submit(exchange));
+        }
+        start.countDown();
+
+        // Assert
+        int accepted = 0;
+        for (Future<Rotation> result : results) {
+          if (result.get() == Rotation.ACCEPTED) {
+            accepted++;
+          }
+        }
+        assertThat(accepted).isEqualTo(1);
+      } finally {
+        executor.shutdownNow();
+      }
+    }
+  }
+
+  @Nested
+  class Revocation {
+    @Test
+    void shouldRevokeSingleFamily() {
+      // Arrange
+      store.save(token("t1", "f1", NOW.plus(Duration.ofDays(7))));
+      store.save(token("t2", "f2", NOW.plus(Duration.ofDays(7))));
+
+      // Act
+      store.revokeFamily("f1");
+
+      // Assert
+      assertThat(store.rotate("t1")).isEqualTo(Rotation.REVOKED);
+      assertThat(store.rotate("t2")).isEqualTo(Rotation.ACCEPTED);
+    }
+
+    @Test
+    void shouldRevokeEveryFamilyOfSubject() {
+      // Arrange
+      store.save(token("t1", "f1", NOW.plus(Duration.ofDays(7))));
+      store.save(token("t2", "f2", NOW.plus(Duration.ofDays(7))));
+      store.save(new RefreshTokenEntry("t3", "f3", "other@example.com", NOW.plusSeconds(60)));
+
+      // Act
+      store.revokeSubject("user@example.com");
+
+      // Assert
+      assertThat(store.rotate("t1")).isEqualTo(Rotation.REVOKED);
+      assertThat(store.rotate("t2")).isEqualTo(Rotation.REVOKED);
+      assertThat(store.rotate("t3")).isEqualTo(Rotation.ACCEPTED);
+    }
+  }
+
+  @Nested
+  class Expiry {
+    @Test
+    void shouldPurgeOnlyExpiredTokens() {
+      // Arrange
+      store.save(token("old", "f1", NOW.minusSeconds(1)));
+      store.save(token("live", "f2", NOW.plusSeconds(60)));
+
+      // Act
+      int purged = store.purgeExpired(NOW);
+
+      // Assert
+      assertThat(purged).isEqualTo(1);
+      assertThat(store.rotate("old")).isEqualTo(Rotation.UNKNOWN);
+      assertThat(store.rotate("live")).isEqualTo(Rotation.ACCEPTED);
+    }
+
+    @Test
+    void shouldKeepRevokedFamilyUntilItsLastTokenExpires() {
+      // Arrange
+      store.save(token("t1", "f1", NOW.minusSeconds(1)));
+      store.save(token("t2", "f1", NOW.plusSeconds(60)));
+      store.revokeFamily("f1");
+
+      // Act
+      store.purgeExpired(NOW);
+
+      // Assert
+      assertThat(store.rotate("t2")).isEqualTo(Rotation.REVOKED);
+    }
+  }
+}
@@ -0,0 +1,105 @@
+package com.example.auth.security;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.example.auth.model.InvalidationEvent;
+import com.example.auth.model.RevocationEntry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InProcessInvalidationBusTest {
+  private static final int MAX_KEYS = 10;
+
+  private final InProcessInvalidationBus.Hub hub = new InProcessInvalidationBus.Hub();
+  // Flushed by the tests, not by the flush thread
+  private final InProcessInvalidationBus nodeA = node();
+  private final InProcessInvalidationBus nodeB = node();
+  private final List<InvalidationEvent> receivedByA = new CopyOnWriteArrayList<>();
+  private final List<InvalidationEvent> receivedByB = new CopyOnWriteArrayList<>();
+
+  {
+    nodeA.subscribe(receivedByA::add);
+    nodeB.subscribe(receivedByB::add);
+  }
+
+  private InProcessInvalidationBus node() {
+    return new InProcessInvalidationBus(hub, Duration.ofHours(1), MAX_KEYS);
+  }
+
+  @AfterEach
+  void tearDown() {
+    nodeA.close();
+    nodeB.close();
+  }
+
+  @Nested
+  class Delivery {
+    @Test
+    void shouldDeliverToOtherNodesOnly() {
+      // Arrange
+      nodeA.publish(InvalidationEvent.subject("a@example.com"));
+
+      // Act
+      nodeA.flush();
+
+      // Assert
+      assertThat(receivedByB).containsExactly(InvalidationEvent.subject("a@example.com"));
+      assertThat(receivedByA).isEmpty();
+    }
+
+    @Test
+    void shouldHoldEventsUntilFlush() {
+      // Act
+      nodeA.publish(InvalidationEvent.role("ROLE_EDITOR"));
+
+      // Assert
+      assertThat(receivedByB).isEmpty();
+    }
+  }
+
+  @Nested
+  class Coalescing {
+    @Test
+    void shouldSendEqualEventsOnce() {
+      // Arrange
+      for (int i = 0; i < 5; i++) {
+        nodeA.publish(InvalidationEvent.subject("a@example.com"));
+        nodeA.publish(InvalidationEvent.role("ROLE_EDITOR"));
+      }
+
+      // Act
+      nodeA.flush();
+
+      // Assert
+      assertThat(receivedByB)
+          .containsExactly(
+              InvalidationEvent.subject("a@example.com"), InvalidationEvent.role("ROLE_EDITOR"));
+    }
+
+    @Test
+    void shouldReplaceManyKeysWithOneEventButKeepRevocations() {
+      // Arrange
+      RevocationEntry revocation =
+          RevocationEntry.subject(
+              "user0@example.com", Instant.now(), Instant.now().plusSeconds(60));
+      for (int i = 0; i < 1_000; i++) {
+        nodeA.publish(InvalidationEvent.subject("user" + i + "@example.com"));
+      }
+      nodeA.publish(InvalidationEvent.revocation(revocation));
+
+      // Act
+      nodeA.flush();
+
+      // Assert
+      assertThat(receivedByB)
+          .containsExactly(InvalidationEvent.all(), InvalidationEvent.revocation(revocation));
+    }
+  }
+}
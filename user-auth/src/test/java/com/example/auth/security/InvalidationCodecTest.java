@@ -0,0 +1,58 @@
+package com.example.auth.security;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.auth.model.InvalidationEvent;
+import com.example.auth.model.RevocationEntry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InvalidationCodecTest {
+  private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+  @Test
+  void shouldRoundTripEveryEventType() {
+    // Arrange
+    List<InvalidationEvent> batch =
+        List.of(
+            InvalidationEvent.subject("a@example.com"),
+            InvalidationEvent.role("ROLE_EDITOR"),
+            InvalidationEvent.all(),
+            InvalidationEvent.revocation(RevocationEntry.token("jti-1", NOW)),
+            InvalidationEvent.revocation(
+                RevocationEntry.subject("b@example.com", NOW, NOW.plusSeconds(60))));
+
+    // Act
+    List<String> payloads = InvalidationCodec.encode("node-1", batch, 7900);
+    InvalidationCodec.Message message = InvalidationCodec.decode(payloads.get(0));
+
+    // Assert
+    assertThat(payloads).hasSize(1);
+    assertThat(message.origin()).isEqualTo("node-1");
+    assertThat(message.events()).isEqualTo(batch);
+  }
+
+  @Test
+  void shouldSplitBatchesAtPayloadLimit() {
+    // Arrange
+    List<InvalidationEvent> batch = new ArrayList<>();
+    for (int i = 0; i < 1_000; i++) {
+      batch.add(InvalidationEvent.revocation(RevocationEntry.token("jti-" + i, NOW)));
+    }
+
+    // Act
+    List<String> payloads = InvalidationCodec.encode("node-1", batch, 1_000);
+
+    // Assert
+    assertThat(payloads).hasSizeGreaterThan(1);
+    assertThat(payloads)
+        .allMatch(payload -> payload.getBytes(StandardCharsets.UTF_8).length <= 1_000);
+    assertThat(payloads.stream().flatMap(p -> InvalidationCodec.decode(p).events().stream()))
+        .containsExactlyElementsOf(batch);
+  }
+}
@@ -0,0 +1,85 @@
+package com.example.auth.security;
+
+import java.time.Instant;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.example.auth.model.RefreshTokenEntry;
+import com.example.auth.security.RefreshTokenStore.Rotation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@JdbcTest
+@Sql("/db/refresh-tokens/schema.sql")
+class JdbcRefreshTokenStoreTest {
+  private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private PlatformTransactionManager transactionManager;
+
+  private JdbcRefreshTokenStore store;
+
+  @BeforeEach
+  void setUp() {
+    store = new JdbcRefreshTokenStore(jdbcTemplate, transactionManager);
+  }
+
+  private static RefreshTokenEntry token(String tokenId, String familyId, Instant expiresAt) {
+    return new RefreshTokenEntry(tokenId, familyId, "user@example.com", expiresAt);
+  }
+
+  @Test
+  void shouldRevokeFamilyWhenSpentTokenIsReused() {
+    // Arrange
+    store.save(token("t1", "f1", NOW.plusSeconds(60)));
+    assertThat(store.rotate("t1")).isEqualTo(Rotation.ACCEPTED);
+    store.save(token("t2", "f1", NOW.plusSeconds(120)));
+
+    // Act
+    Rotation replay = store.rotate("t1");
+
+    // Assert
+    assertThat(replay).isEqualTo(Rotation.REUSED);
+    assertThat(store.rotate("t2")).isEqualTo(Rotation.REVOKED);
+    assertThat(store.rotate("missing")).isEqualTo(Rotation.UNKNOWN);
+  }
+
+  @Test
+  void shouldRevokeEveryFamilyOfSubject() {
+    // Arrange
+    store.save(token("t1", "f1", NOW.plusSeconds(60)));
+    store.save(token("t2", "f2", NOW.plusSeconds(60)));
+
+    // Act
+    store.revokeSubject("user@example.com");
+
+    // Assert
+    assertThat(store.rotate("t1")).isEqualTo(Rotation.REVOKED);
+    assertThat(store.rotate("t2")).isEqualTo(Rotation.REVOKED);
+  }
+
+  @Test
+  void shouldPurgeExpiredTokensAndFamilies() {
+    // Arrange
+    store.save(token("old", "f1", NOW.minusSeconds(1)));
+    store.save(token("live", "f2", NOW.plusSeconds(60)));
+
+    // Act
+    int purged = store.purgeExpired(NOW);
+
+    // Assert
+    assertThat(purged).isEqualTo(1);
+    assertThat(store.rotate("old")).isEqualTo(Rotation.UNKNOWN);
+    assertThat(store.rotate("live")).isEqualTo(Rotation.ACCEPTED);
+    assertThat(
+            jdbcTemplate.queryForObject(
+                "select count(*) from refresh_token_families", Integer.class))
+        .isEqualTo(1);
+  }
+}
@@ -0,0 +1,60 @@
+package com.example.auth.security;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+
+import com.example.auth.model.RevocationEntry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@JdbcTest
+@Sql("/db/revocation/schema.sql")
+class JdbcRevocationLogTest {
+  private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @Test
+  void shouldLoadOnlyActiveEntriesAndPurgeExpiredOnes() {
+    // Arrange
+    JdbcRevocationLog log = new JdbcRevocationLog(jdbcTemplate);
+    RevocationEntry token = RevocationEntry.token("jti-1", NOW.plusSeconds(60));
+    RevocationEntry subject =
+        RevocationEntry.subject("user@example.com", NOW.minusSeconds(1), NOW.plusSeconds(60));
+    log.append(token);
+    log.append(subject);
+    log.append(RevocationEntry.token("jti-2", NOW.minusSeconds(1)));
+
+    // Act
+    log.purgeExpired(NOW);
+
+    // Assert
+    assertThat(log.loadActive(NOW)).containsExactlyInAnyOrder(token, subject);
+    assertThat(
+            jdbcTemplate.queryForObject(
+                "select count(*) from access_token_revocations", Integer.class))
+        .isEqualTo(2);
+  }
+
+  @Test
+  void shouldAppendEntriesInOneBatch() {
+    // Arrange
+    JdbcRevocationLog log = new JdbcRevocationLog(jdbcTemplate);
+    List<RevocationEntry> entries =
+        List.of(
+            RevocationEntry.subject("a@example.com", NOW, NOW.plusSeconds(60)),
+            RevocationEntry.subject("b@example.com", NOW, NOW.plusSeconds(60)));
+
+    // Act
+    log.appendAll(entries);
+
+    // Assert
+    assertThat(log.loadActive(NOW)).containsExactlyInAnyOrderElementsOf(entries);
+  }
+}
@@ -0,0 +1,46 @@
+package com.example.auth.security;
+
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@JdbcTest
+@Sql("/db/signing-keys/schema.sql")
+class JdbcSigningKeyStoreTest {
+  private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @Test
+  void shouldRoundTripKeysAndDeleteOldOnes() {
+    // Arrange
+    JdbcSigningKeyStore store = new JdbcSigningKeyStore(jdbcTemplate);
+    SigningKey rsa = SigningKey.generate(SignatureAlgorithm.RS256, NOW.minusSeconds(60));
+    SigningKey ec = SigningKey.generate(SignatureAlgorithm.ES256, NOW);
+    store.save(rsa);
+    store.save(ec);
+
+    // Act
+    store.deleteCreatedBefore(NOW, ec.kid());
+
+    // Assert
+    assertThat(store.findAll())
+        .singleElement()
+        .satisfies(
+            loaded -> {
+              assertThat(loaded.kid()).isEqualTo(ec.kid());
+              assertThat(loaded.algorithm()).isEqualTo(SignatureAlgorithm.ES256);
+              assertThat(loaded.privateKey()).isEqualTo(ec.privateKey());
+              assertThat(loaded.publicKey()).isEqualTo(ec.publicKey());
+              assertThat(loaded.createdAt()).isEqualTo(NOW);
+            });
+  }
+}
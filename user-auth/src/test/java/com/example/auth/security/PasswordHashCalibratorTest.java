@@ -0,0 +1,124 @@
+package com.example.auth.security;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PasswordHashCalibratorTest {
+
+  /** Stands in for an encoder at a given cost; nothing is hashed. */
+  private record CostEncoder(int cost) implements PasswordEncoder {
+    @Override
+    public String encode(CharSequence rawPassword) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+      throw new UnsupportedOperationException();
+    }
+  }
+
+  /** Pretends each cost step above 10 doubles a 10 ms hash. */
+  private static PasswordHashCalibrator fakeTimings(Duration target) {
+    return new PasswordHashCalibrator(target) {
+      @Override
+      Duration measure(PasswordEncoder encoder) {
+        return Duration.ofMillis(10L << (((CostEncoder) encoder).cost() - 10));
+      }
+    };
+  }
+
+  @Nested
+  class Calibration {
+    @Test
+    void shouldPickHighestCostWithinTarget() {
+      // Arrange
+      PasswordHashCalibrator calibrator = fakeTimings(Duration.ofMillis(50));
+
+      // Act
+      int cost = calibrator.calibrate("bcrypt", CostEncoder::new, 10, 16);
+
+      // Assert: 10, 20, 40 ms fit; 80 ms does not
+      assertThat(cost).isEqualTo(12);
+    }
+
+    @Test
+    void shouldNeverGoBelowMinimumOrAboveMaximum() {
+      assertThat(fakeTimings(Duration.ofMillis(1)).calibrate("bcrypt", CostEncoder::new, 10, 16))
+          .isEqualTo(10);
+      assertThat(fakeTimings(Duration.ofHours(1)).calibrate("bcrypt", CostEncoder::new, 10, 16))
+          .isEqualTo(16);
+    }
+
+    @Test
+    void shouldSkipMeasurementWhenTargetIsZero() {
+      assertThat(
+              new PasswordHashCalibrator(Duration.ZERO)
+                  .calibrate(
+                      "bcrypt",
+                      c -> {
+                        throw new AssertionError("measured");
+                      },
+                      10,
+                      16))
+          .isEqualTo(10);
+    }
+  }
+
+  @Nested
+  class Upgrades {
+    private final String legacyHash = new BCryptPasswordEncoder(4).encode("secret");
+
+    @Test
+    void shouldMatchAndUpgradeUnprefixedLegacyHashes() {
+      // Arrange
+      PasswordEncoder encoder =
+          new PasswordHashCalibrator(Duration.ZERO).delegatingEncoder("bcrypt");
+
+      // Act & Assert
+      assertThat(encoder.matches("secret", legacyHash)).isTrue();
+      assertThat(encoder.upgradeEncoding(legacyHash)).isTrue();
+    }
+
+    @Test
+    void shouldUpgradeHashesBelowCurrentCost() {
+      // Arrange
+      PasswordEncoder encoder =
+          new PasswordHashCalibrator(Duration.ZERO).delegatingEncoder("bcrypt");
+
+      // Act
+      String current = encoder.encode("secret");
+
+      // Assert
+      assertThat(current).startsWith("{bcrypt}$2a$10$");
+      assertThat(encoder.upgradeEncoding(current)).isFalse();
+      assertThat(encoder.upgradeEncoding("{bcrypt}" + legacyHash)).isTrue();
+    }
+
+    @Test
+    void shouldMoveBcryptHashesToArgon2WhenSelected() {
+      // Arrange
+      PasswordEncoder bcrypt =
+          new PasswordHashCalibrator(Duration.ZERO).delegatingEncoder("bcrypt");
+      PasswordEncoder argon2 =
+          new PasswordHashCalibrator(Duration.ZERO).delegatingEncoder("argon2");
+      String stored = bcrypt.encode("secret");
+
+      // Act
+      String rehashed = argon2.encode("secret");
+
+      // Assert
+      assertThat(argon2.matches("secret", stored)).isTrue();
+      assertThat(argon2.upgradeEncoding(stored)).isTrue();
+      assertThat(rehashed).startsWith("{argon2}");
+      assertThat(argon2.matches("secret", rehashed)).isTrue();
+      assertThat(argon2.upgradeEncoding(rehashed)).isFalse();
+    }
+  }
+}
@@ -0,0 +1,48 @@
+package com.example.auth.security;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import com.example.auth.model.InvalidationEvent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs against a local PostgreSQL, e.g. {@code AUTH_TEST_POSTGRES_URL=jdbc:postgresql://localhost/
+ * postgres?user=postgres&password=postgres}; skipped otherwise.
+ */
+@EnabledIfEnvironmentVariable(named = "AUTH_TEST_POSTGRES_URL", matches = ".+")
+class PostgresInvalidationBusTest {
+  @Test
+  void shouldDeliverBatchToOtherNode() throws InterruptedException {
+    // Arrange
+    DriverManagerDataSource dataSource =
+        new DriverManagerDataSource(System.getenv("AUTH_TEST_POSTGRES_URL"));
+    List<InvalidationEvent> received = new CopyOnWriteArrayList<>();
+    try (PostgresInvalidationBus sender =
+            new PostgresInvalidationBus(dataSource, "auth_test", Duration.ofHours(1), 500);
+        PostgresInvalidationBus receiver =
+            new PostgresInvalidationBus(dataSource, "auth_test", Duration.ofHours(1), 500)) {
+      receiver.subscribe(received::add);
+      Thread.sleep(1_000); // until the receiver listens
+      sender.publish(InvalidationEvent.subject("a@example.com"));
+      sender.publish(InvalidationEvent.role("ROLE_EDITOR"));
+
+      // Act
+      sender.flush();
+
+      // Assert
+      for (int i = 0; i < 50 && received.size() < 2; i++) {
+        Thread.sleep(100);
+      }
+      assertThat(received)
+          .containsExactly(
+              InvalidationEvent.subject("a@example.com"), InvalidationEvent.role("ROLE_EDITOR"));
+    }
+  }
+}
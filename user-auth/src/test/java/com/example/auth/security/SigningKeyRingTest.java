@@ -0,0 +1,172 @@
+package com.example.auth.security;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SigningKeyRingTest {
+  private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+  private static final Duration ROTATION = Duration.ofDays(7);
+  private static final Duration ACTIVATION = Duration.ofMinutes(10);
+  private static final Duration TOKEN_LIFETIME = Duration.ofDays(1);
+  private static final TypeReference<Map<String, List<Map<String, String>>>> KEY_SET =
+      new TypeReference<>() {};
+
+  private InMemorySigningKeyStore store;
+  private SigningKeyRing ring;
+
+  @BeforeEach
+  void setUp() {
+    store = new InMemorySigningKeyStore();
+    ring =
+        new SigningKeyRing(store, SignatureAlgorithm.ES256, ROTATION, ACTIVATION, TOKEN_LIFETIME);
+    ring.refresh(NOW);
+  }
+
+  @Nested
+  class Rotation {
+    @Test
+    void shouldSignWithFirstKeyImmediately() {
+      // Act
+      SigningKey key = ring.signingKey();
+
+      // Assert
+      assertThat(store.findAll()).containsExactly(key);
+      assertThat(ring.verificationKey(key.kid())).isEqualTo(key.publicKey());
+    }
+
+    @Test
+    void shouldPublishNewKeyBeforeSigningWithIt() {
+      // Arrange
+      SigningKey first = ring.signingKey();
+
+      // Act
+      ring.refresh(NOW.plus(ROTATION));
+
+      // Assert
+      assertThat(ring.signingKey()).isEqualTo(first);
+      SigningKey second =
+          store.findAll().stream()
+              .filter(key -> !key.kid().equals(first.kid()))
+              .findFirst()
+              .orElseThrow();
+      assertThat(ring.verificationKey(second.kid())).isEqualTo(second.publicKey());
+      ring.refresh(NOW.plus(ROTATION).plus(ACTIVATION));
+      assertThat(ring.signingKey()).isEqualTo(second);
+    }
+
+    @Test
+    void shouldRetireKeysOnceTheirTokensHaveExpired() {
+      // Arrange
+      SigningKey first = ring.signingKey();
+      ring.refresh(NOW.plus(ROTATION));
+
+      // Act
+      ring.refresh(NOW.plus(ROTATION).plus(ACTIVATION).plus(TOKEN_LIFETIME).plusSeconds(1));
+
+      // Assert
+      assertThat(ring.verificationKey(first.kid())).isNull();
+      assertThat(store.findAll()).doesNotContain(first);
+    }
+
+    @Test
+    void shouldPickUpKeysRotatedByOtherNodes() {
+      // Arrange
+      SigningKeyRing other =
+          new SigningKeyRing(store, SignatureAlgorithm.ES256, ROTATION, ACTIVATION, TOKEN_LIFETIME);
+      SigningKey first = ring.signingKey();
+      other.refresh(NOW.plus(ROTATION));
+      SigningKey rotated =
+          store.findAll().stream()
+              .filter(key -> !key.kid().equals(first.kid()))
+              .findFirst()
+              .orElseThrow();
+
+      // Act
+      ring.refresh(NOW.plus(ROTATION).plus(ACTIVATION));
+
+      // Assert
+      assertThat(store.findAll()).hasSize(2);
+      assertThat(ring.signingKey().kid()).isEqualTo(rotated.kid());
+    }
+  }
+
+  @Nested
+  class Jwks {
+    @Test
+    void shouldListEveryPublishedKey() throws Exception {
+      // Arrange
+      ring.refresh(NOW.plus(ROTATION));
+
+      // Act
+      Map<String, List<Map<String, String>>> jwks =
+          new ObjectMapper().readValue(ring.jwks(), KEY_SET);
+
+      // Assert
+      assertThat(jwks.get("keys"))
+          .hasSize(2)
+          .allSatisfy(
+              jwk ->
+                  assertThat(jwk)
+                      .containsEntry("kty", "EC")
+                      .containsEntry("crv", "P-256")
+                      .containsEntry("alg", "ES256")
+                      .containsKeys("kid", "x", "y"));
+    }
+
+    @Test
+    void shouldKeepEtagUntilKeysChange() {
+      // Arrange
+      byte[] jwks = ring.jwks();
+      String etag = ring.jwksEtag();
+
+      // Act
+      ring.refresh(NOW.plusSeconds(60));
+
+      // Assert
+      assertThat(ring.jwks()).isSameAs(jwks);
+      assertThat(ring.jwksEtag()).isEqualTo(etag);
+      ring.refresh(NOW.plus(ROTATION));
+      assertThat(ring.jwksEtag()).isNotEqualTo(etag);
+    }
+
+    @Test
+    void shouldRenderRsaModulusAndExponent() throws Exception {
+      // Arrange
+      SigningKeyRing rsaRing =
+          new SigningKeyRing(
+              new InMemorySigningKeyStore(),
+              SignatureAlgorithm.RS256,
+              ROTATION,
+              ACTIVATION,
+              TOKEN_LIFETIME);
+
+      // Act
+      rsaRing.refresh(NOW);
+
+      // Assert
+      Map<String, List<Map<String, String>>> jwks =
+          new ObjectMapper().readValue(rsaRing.jwks(), KEY_SET);
+      assertThat(jwks.get("keys"))
+          .singleElement()
+          .satisfies(
+              jwk ->
+                  assertThat(jwk)
+                      .containsEntry("kty", "RSA")
+                      .containsEntry("e", "AQAB")
+                      .containsKeys("kid", "n"));
+    }
+  }
+}
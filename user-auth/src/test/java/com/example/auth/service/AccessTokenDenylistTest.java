@@ -0,0 +1,168 @@
+package com.example.auth.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.auth.model.ParsedToken;
+import com.example.auth.model.RevocationEntry;
+import com.example.auth.model.TokenType;
+import com.example.auth.security.InMemoryRevocationLog;
+import com.example.auth.security.InProcessInvalidationBus;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccessTokenDenylistTest {
+  private final InMemoryRevocationLog revocationLog = new InMemoryRevocationLog();
+  private JwtService jwtService;
+  private AccessTokenDenylist denylist;
+
+  @BeforeEach
+  void setUp() {
+    jwtService = new JwtService();
+    ReflectionTestUtils.setField(jwtService, "jwtExpiration", 60_000L);
+    denylist = denylist();
+  }
+
+  private AccessTokenDenylist denylist() {
+    AccessTokenDenylist created =
+        new AccessTokenDenylist(
+            revocationLog,
+            new InProcessInvalidationBus(Duration.ofMinutes(1), 500),
+            jwtService,
+            16,
+            0.01,
+            new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class));
+    created.replayLog();
+    return created;
+  }
+
+  private static ParsedToken token(String subject, String tokenId, Instant issuedAt) {
+    return new ParsedToken(
+        subject,
+        issuedAt,
+        issuedAt.plusSeconds(60),
+        Set.of(),
+        TokenType.ACCESS,
+        null,
+        tokenId,
+        null);
+  }
+
+  @Nested
+  class TokenRevocation {
+    @Test
+    void shouldRejectOnlyTheRevokedToken() {
+      // Arrange
+      ParsedToken revoked = token("a@example.com", "jti-1", Instant.now());
+      ParsedToken other = token("a@example.com", "jti-2", Instant.now());
+
+      // Act
+      denylist.revoke(revoked);
+
+      // Assert
+      assertThat(denylist.isRevoked(revoked)).isTrue();
+      assertThat(denylist.isRevoked(other)).isFalse();
+    }
+
+    @Test
+    void shouldKeepRevocationsBeyondFilterCapacity() {
+      // Arrange
+      List<ParsedToken> tokens =
+          IntStream.range(0, 100)
+              .mapToObj(i -> token("a@example.com", "jti-" + i, Instant.now()))
+              .toList();
+
+      // Act
+      tokens.forEach(denylist::revoke);
+
+      // Assert
+      assertThat(tokens).allMatch(denylist::isRevoked);
+    }
+
+    @Test
+    void shouldForgetTokensOnceExpired() {
+      // Arrange
+      ParsedToken expired = token("a@example.com", "jti-1", Instant.now().minusSeconds(120));
+      revocationLog.append(RevocationEntry.token("jti-1", expired.expiresAt()));
+      AccessTokenDenylist replayed = denylist();
+
+      // Act
+      replayed.purgeExpired();
+
+      // Assert
+      assertThat(replayed.isRevoked(expired)).isFalse();
+      assertThat(revocationLog.loadActive(Instant.now())).isEmpty();
+    }
+  }
+
+  @Nested
+  class SubjectRevocation {
+    @Test
+    void shouldRejectTokensIssuedUpToTheCutoff() {
+      // Arrange
+      ParsedToken issued = token("a@example.com", "jti-1", Instant.now().minusSeconds(5));
+      ParsedToken otherSubject = token("b@example.com", "jti-2", Instant.now().minusSeconds(5));
+
+      // Act
+      denylist.revokeSubject("a@example.com");
+
+      // Assert
+      assertThat(denylist.isRevoked(issued)).isTrue();
+      assertThat(denylist.isRevoked(otherSubject)).isFalse();
+      ParsedToken later =
+          token(
+              "a@example.com",
+              "jti-3",
+              Instant.now().truncatedTo(ChronoUnit.SECONDS).plusSeconds(1));
+      assertThat(denylist.isRevoked(later)).isFalse();
+    }
+
+    @Test
+    void shouldRevokeManySubjectsAndLogOneEntryEach() {
+      // Arrange
+      Instant issuedAt = Instant.now().minusSeconds(5);
+
+      // Act
+      denylist.revokeSubjects(List.of("a@example.com", "b@example.com"));
+
+      // Assert
+      assertThat(denylist.isRevoked(token("a@example.com", "jti-1", issuedAt))).isTrue();
+      assertThat(denylist.isRevoked(token("b@example.com", "jti-2", issuedAt))).isTrue();
+      assertThat(denylist.isRevoked(token("c@example.com", "jti-3", issuedAt))).isFalse();
+      assertThat(revocationLog.loadActive(Instant.now()))
+          .extracting(RevocationEntry::value)
+          .containsExactlyInAnyOrder("a@example.com", "b@example.com");
+    }
+  }
+
+  @Nested
+  class Replay {
+    @Test
+    void shouldRestoreRevocationsFromLog() {
+      // Arrange
+      ParsedToken revoked = token("a@example.com", "jti-1", Instant.now());
+      ParsedToken signedOut = token("b@example.com", "jti-2", Instant.now().minusSeconds(5));
+      denylist.revoke(revoked);
+      denylist.revokeSubject("b@example.com");
+
+      // Act
+      AccessTokenDenylist restarted = denylist();
+
+      // Assert
+      assertThat(restarted.isRevoked(revoked)).isTrue();
+      assertThat(restarted.isRevoked(signedOut)).isTrue();
+    }
+  }
+}
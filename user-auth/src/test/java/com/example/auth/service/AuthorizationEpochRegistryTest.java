@@ -0,0 +1,96 @@
+package com.example.auth.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.example.auth.model.ParsedToken;
+import com.example.auth.model.TokenType;
+import com.example.auth.security.InProcessInvalidationBus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuthorizationEpochRegistryTest {
+  private final AuthorizationEpochRegistry registry =
+      new AuthorizationEpochRegistry(new InProcessInvalidationBus(Duration.ofMinutes(1), 500));
+
+  private static ParsedToken token(String subject, Long epoch, String... authorities) {
+    return new ParsedToken(
+        subject,
+        Instant.now(),
+        Instant.now().plusSeconds(60),
+        Set.of(authorities),
+        TokenType.ACCESS,
+        epoch,
+        null,
+        null);
+  }
+
+  @Nested
+  class Staleness {
+    @Test
+    void shouldAcceptTokenIssuedAfterStartup() throws InterruptedException {
+      Thread.sleep(2);
+      assertThat(
+              registry.isCurrent(token("a@example.com", System.currentTimeMillis(), "ROLE_USER")))
+          .isTrue();
+    }
+
+    @Test
+    void shouldRejectTokenIssuedBeforeStartup() {
+      assertThat(registry.isCurrent(token("a@example.com", 0L, "ROLE_USER"))).isFalse();
+    }
+
+    @Test
+    void shouldRejectTokenWithoutEpoch() {
+      assertThat(registry.isCurrent(token("a@example.com", null, "ROLE_USER"))).isFalse();
+    }
+
+    @Test
+    void shouldRejectTokenIssuedBeforeSubjectChange() throws InterruptedException {
+      // Arrange
+      Thread.sleep(2);
+      ParsedToken issued = token("a@example.com", System.currentTimeMillis(), "ROLE_USER");
+
+      // Act
+      registry.advanceSubject("a@example.com");
+
+      // Assert
+      assertThat(registry.isCurrent(issued)).isFalse();
+      assertThat(registry.isCurrent(token("b@example.com", issued.authorizationEpoch()))).isTrue();
+    }
+
+    @Test
+    void shouldRejectTokensIssuedBeforeBulkSubjectChange() throws InterruptedException {
+      // Arrange
+      Thread.sleep(2);
+      long epoch = System.currentTimeMillis();
+
+      // Act
+      registry.advanceSubjects(List.of("a@example.com", "b@example.com"));
+
+      // Assert
+      assertThat(registry.isCurrent(token("a@example.com", epoch))).isFalse();
+      assertThat(registry.isCurrent(token("b@example.com", epoch))).isFalse();
+      assertThat(registry.isCurrent(token("c@example.com", epoch))).isTrue();
+    }
+
+    @Test
+    void shouldRejectTokenCarryingChangedRole() throws InterruptedException {
+      // Arrange
+      Thread.sleep(2);
+      long epoch = System.currentTimeMillis();
+
+      // Act
+      registry.advanceRole("ROLE_MANAGER");
+
+      // Assert
+      assertThat(registry.isCurrent(token("a@example.com", epoch, "ROLE_MANAGER"))).isFalse();
+      assertThat(registry.isCurrent(token("b@example.com", epoch, "ROLE_USER"))).isTrue();
+    }
+  }
+}
@@ -0,0 +1,227 @@
+package com.example.auth.service;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.auth.model.ParsedToken;
+import com.example.auth.model.RefreshTokenEntry;
+import com.example.auth.model.TokenType;
+import com.example.auth.security.InMemorySigningKeyStore;
+import com.example.auth.security.SigningKeyRing;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.SignatureException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JwtServiceTest {
+  private static final String SECRET =
+      "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+  private static final String ROTATED_SECRET =
+      "5A7134743777217A25432A462D4A614E645267556B58703273357638792F423F";
+
+  private JwtService jwtService;
+  private UserDetails userDetails;
+
+  @BeforeEach
+  void setUp() {
+    jwtService = new JwtService();
+    ReflectionTestUtils.setField(jwtService, "secretKey", SECRET);
+    ReflectionTestUtils.setField(jwtService, "jwtExpiration", 60_000L);
+    ReflectionTestUtils.setField(jwtService, "refreshTokenExpiration", 120_000L);
+    jwtService.init();
+
+    userDetails =
+        User.withUsername("user@example.com").password("n/a").authorities("user:read").build();
+  }
+
+  @Nested
+  class SigningKey {
+    @Test
+    void shouldParseTokenSignedWithCachedKey() {
+      // Arrange
+      String token = jwtService.generateToken(userDetails);
+
+      // Act & Assert
+      assertThat(jwtService.extractUsername(token)).isEqualTo("user@example.com");
+    }
+
+    @Test
+    void shouldRejectTokensSignedBeforeRotation() {
+      // Arrange
+      String oldToken = jwtService.generateToken(userDetails);
+
+      // Act
+      jwtService.rotateSigningKey(ROTATED_SECRET);
+
+      // Assert
+      assertThrows(SignatureException.class, () -> jwtService.extractUsername(oldToken));
+      String newToken = jwtService.generateToken(userDetails);
+      assertThat(jwtService.extractUsername(newToken)).isEqualTo("user@example.com");
+    }
+  }
+
+  @Nested
+  class TokenValidation {
+    @Test
+    void shouldParseAccessTokenOnce() {
+      // Arrange
+      String token = jwtService.generateToken(userDetails);
+
+      // Act
+      ParsedToken parsed = jwtService.parseToken(token);
+
+      // Assert
+      assertThat(parsed.subject()).isEqualTo("user@example.com");
+      assertThat(parsed.type()).isEqualTo(TokenType.ACCESS);
+      assertThat(parsed.expiresAt()).isAfter(parsed.issuedAt());
+      assertThat(jwtService.isTokenValid(parsed, userDetails)).isTrue();
+      assertThat(jwtService.isRefreshTokenValid(parsed, userDetails)).isFalse();
+    }
+
+    @Test
+    void shouldAcceptRefreshTokenOnlyForRefresh() {
+      // Arrange
+      RefreshTokenEntry entry =
+          new RefreshTokenEntry(
+              "token-1",
+              "family-1",
+              "user@example.com",
+              Instant.now().plus(jwtService.getRefreshTokenLifetime()));
+      ParsedToken parsed =
+          jwtService.parseToken(jwtService.generateRefreshToken(userDetails, entry));
+
+      // Act & Assert
+      assertThat(parsed.type()).isEqualTo(TokenType.REFRESH);
+      assertThat(parsed.tokenId()).isEqualTo("token-1");
+      assertThat(parsed.familyId()).isEqualTo("family-1");
+      assertThat(jwtService.isRefreshTokenValid(parsed, userDetails)).isTrue();
+      assertThat(jwtService.isTokenValid(parsed, userDetails)).isFalse();
+    }
+
+    @Test
+    void shouldRejectTokenIssuedToAnotherUser() {
+      // Arrange
+      ParsedToken parsed = jwtService.parseToken(jwtService.generateToken(userDetails));
+      UserDetails other =
+          User.withUsername("other@example.com").password("n/a").authorities("user:read").build();
+
+      // Act & Assert
+      assertThat(jwtService.isTokenValid(parsed, other)).isFalse();
+    }
+  }
+
+  @Nested
+  class StatelessAuthentication {
+    @Test
+    void shouldOmitAuthorizationClaimsByDefault() {
+      ParsedToken parsed = jwtService.parseToken(jwtService.generateToken(userDetails));
+
+      assertThat(parsed.hasAuthorizationClaims()).isFalse();
+      assertThat(parsed.authorities()).isEmpty();
+    }
+
+    @Test
+    void shouldEmbedRolesAndPermissionsWhenEnabled() {
+      // Arrange
+      ReflectionTestUtils.setField(jwtService, "statelessAuthentication", true);
+      UserDetails manager =
+          User.withUsername("manager@example.com")
+              .password("n/a")
+              .authorities("ROLE_MANAGER", "user:read", "user:update")
+              .build();
+
+      // Act
+      ParsedToken parsed = jwtService.parseToken(jwtService.generateToken(manager));
+
+      // Assert
+      assertThat(parsed.hasAuthorizationClaims()).isTrue();
+      assertThat(parsed.authorities())
+          .containsExactlyInAnyOrder("ROLE_MANAGER", "user:read", "user:update");
+    }
+  }
+
+  @Nested
+  class AsymmetricSigning {
+    private SigningKeyRing signingKeyRing;
+
+    private void useAlgorithm(SignatureAlgorithm algorithm) {
+      signingKeyRing =
+          new SigningKeyRing(
+              new InMemorySigningKeyStore(),
+              algorithm,
+              Duration.ofDays(7),
+              Duration.ofMinutes(10),
+              Duration.ofDays(1));
+      signingKeyRing.refresh();
+      ReflectionTestUtils.setField(jwtService, "signingKeyRing", signingKeyRing);
+      jwtService.init();
+    }
+
+    @ParameterizedTest
+    @EnumSource(
+        value = SignatureAlgorithm.class,
+        names = {"RS256", "ES256"})
+    void shouldSignWithCurrentKeyAndNameItInHeader(SignatureAlgorithm algorithm) {
+      // Arrange
+      useAlgorithm(algorithm);
+
+      // Act
+      String token = jwtService.generateToken(userDetails);
+
+      // Assert
+      Jws<Claims> verified =
+          Jwts.parserBuilder()
+              .setSigningKey(signingKeyRing.signingKey().publicKey())
+              .build()
+              .parseClaimsJws(token);
+      assertThat(verified.getHeader().getAlgorithm()).isEqualTo(algorithm.getValue());
+      assertThat(verified.getHeader().getKeyId()).isEqualTo(signingKeyRing.signingKey().kid());
+      assertThat(jwtService.parseToken(token).subject()).isEqualTo("user@example.com");
+    }
+
+    @Test
+    void shouldStillAcceptTokensSignedWithSecretBeforeSwitch() {
+      // Arrange
+      String legacyToken = jwtService.generateToken(userDetails);
+
+      // Act
+      useAlgorithm(SignatureAlgorithm.ES256);
+
+      // Assert
+      assertThat(jwtService.parseToken(legacyToken).subject()).isEqualTo("user@example.com");
+    }
+
+    @Test
+    void shouldRejectTokensSignedWithUnknownKey() {
+      // Arrange
+      useAlgorithm(SignatureAlgorithm.ES256);
+      // The nested SigningKey class above shadows the record
+      com.example.auth.security.SigningKey foreign =
+          com.example.auth.security.SigningKey.generate(SignatureAlgorithm.ES256, Instant.now());
+      String token =
+          Jwts.builder()
+              .setHeaderParam(JwsHeader.KEY_ID, foreign.kid())
+              .setSubject("user@example.com")
+              .signWith(foreign.privateKey(), SignatureAlgorithm.ES256)
+              .compact();
+
+      // Act & Assert
+      assertThrows(SignatureException.class, () -> jwtService.parseToken(token));
+    }
+  }
+}
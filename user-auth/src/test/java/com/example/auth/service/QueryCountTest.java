@@ -0,0 +1,245 @@
+package com.example.auth.service;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.example.auth.dto.BulkUserRolesRequest;
+import com.example.auth.dto.CreateRoleRequest;
+import com.example.auth.dto.LoginRequest;
+import com.example.auth.dto.SignupRequest;
+import com.example.auth.dto.UpdateRoleRequest;
+import com.example.auth.dto.UpdateUserRolesRequest;
+import com.example.auth.model.Permission;
+import com.example.auth.model.Role;
+import com.example.auth.model.User;
+import com.example.auth.repository.RoleRepository;
+import com.example.auth.repository.UserRepository;
+import com.example.auth.support.QueryCounter;
+import com.example.auth.support.ServiceTestConfiguration;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Pins the number of SQL statements each service method issues, so N+1 regressions in fetch
+ * strategy show up as test failures. Method security is not active in this slice.
+ */
+@DataJpaTest
+@Import({
+  UserService.class,
+  RoleService.class,
+  RoleCatalog.class,
+  JwtService.class,
+  RefreshTokenService.class,
+  AccessTokenDenylist.class,
+  AuthorizationEpochRegistry.class,
+  UserDetailsCache.class,
+  UserDetailsServiceImpl.class,
+  ServiceTestConfiguration.class
+})
+class QueryCountTest {
+  private static final int USERS = 20;
+
+  @Autowired private TestEntityManager entityManager;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+  @Autowired private UserRepository userRepository;
+  @Autowired private RoleRepository roleRepository;
+  @Autowired private UserService userService;
+  @Autowired private RoleService roleService;
+  @Autowired private RoleCatalog roleCatalog;
+  @Autowired private PasswordEncoder passwordEncoder;
+
+  private QueryCounter queries;
+  private Role customRole;
+  private User first;
+
+  @BeforeEach
+  void setUp() {
+    queries = new QueryCounter(entityManagerFactory);
+    Role userRole = roleRepository.findByName("ROLE_USER").orElseThrow();
+    Role adminRole = roleRepository.findByName("ROLE_ADMIN").orElseThrow();
+    customRole =
+        entityManager.persist(
+            Role.builder()
+                .name("ROLE_AUDITOR")
+                .permissions(Set.of(Permission.USER_READ, Permission.ROLE_READ))
+                .build());
+    String password = passwordEncoder.encode("secret");
+    for (int i = 0; i < USERS; i++) {
+      User user =
+          entityManager.persist(
+              User.builder()
+                  .email("user" + i + "@example.com")
+                  .password(password)
+                  .firstName("First")
+                  .lastName("Last")
+                  .roles(i % 2 == 0 ? Set.of(userRole, customRole) : Set.of(adminRole))
+                  .build());
+      if (i == 0) {
+        first = user;
+      }
+    }
+    // The role above bypassed RoleService, which keeps the catalog current
+    roleCatalog.reload();
+  }
+
+  @Nested
+  class UserServiceQueries {
+    @Test
+    void findAllShouldLoadUsersAndRolesInOneQuery() {
+      assertThat(
+              queries.count(
+                  () ->
+                      userRepository
+                          .findAll()
+                          .forEach(user -> assertThat(user.getAuthorities()).isNotEmpty())))
+          .isEqualTo(1);
+    }
+
+    @Test
+    void lazyRolesShouldBeBatchLoaded() {
+      // Users loaded without the graph initialize their roles in one batch, not one per user
+      assertThat(
+              queries.count(
+                  () ->
+                      userRepository
+                          .findAllById(userRepository.findIdsAfter(0L, Limit.of(USERS)))
+                          .forEach(user -> assertThat(user.getRoles()).isNotEmpty())))
+          .isEqualTo(3);
+    }
+
+    @Test
+    void getUserByIdShouldIssueOneQuery() {
+      assertThat(queries.count(() -> userService.getUserById(first.getId()))).isEqualTo(1);
+    }
+
+    @Test
+    void getUsersShouldIssueTwoQueriesPerPage() {
+      assertThat(queries.count(() -> userService.getUsers(null, USERS / 2))).isEqualTo(2);
+    }
+
+    @Test
+    void getUserRolesShouldIssueTwoQueries() {
+      assertThat(queries.count(() -> userService.getUserRoles(first.getId()))).isEqualTo(2);
+    }
+
+    @Test
+    void loginShouldIssueOneQuery() {
+      LoginRequest request = new LoginRequest(first.getEmail(), "secret");
+
+      assertThat(queries.count(() -> userService.login(request))).isEqualTo(1);
+    }
+
+    @Test
+    void signupShouldIssueThreeQueries() {
+      SignupRequest request =
+          SignupRequest.builder()
+              .email("new@example.com")
+              .password("secret")
+              .firstName("New")
+              .lastName("User")
+              .build();
+
+      // exists check, user insert, user_roles insert; the default role comes from the catalog
+      assertThat(queries.count(() -> userService.signup(request))).isEqualTo(3);
+    }
+
+    @Test
+    void updateUserRolesShouldIssueConstantQueries() {
+      UpdateUserRolesRequest request =
+          new UpdateUserRolesRequest(Set.of("ROLE_ADMIN", "ROLE_AUDITOR"));
+
+      // user with roles, then one delete and one insert for the roles that differ; role names
+      // need no lookup
+      assertThat(queries.count(() -> userService.updateUserRoles(first.getId(), request)))
+          .isEqualTo(3);
+    }
+
+    @Test
+    void updateUserRolesShouldNotWriteWhenRolesAreUnchanged() {
+      UpdateUserRolesRequest request =
+          new UpdateUserRolesRequest(Set.of("ROLE_USER", "ROLE_AUDITOR"));
+
+      assertThat(queries.count(() -> userService.updateUserRoles(first.getId(), request)))
+          .isEqualTo(1);
+    }
+
+    @Test
+    void updateRoleMembersShouldIssueTwoQueriesForAnyNumberOfUsers() {
+      BulkUserRolesRequest request =
+          new BulkUserRolesRequest(
+              BulkUserRolesRequest.Action.ASSIGN,
+              "ROLE_AUDITOR",
+              Set.copyOf(userRepository.findIdsAfter(0L, Limit.of(USERS))));
+
+      // users lacking the role, then one insert ... select for all of them
+      assertThat(queries.count(() -> userService.updateRoleMembers(request))).isEqualTo(2);
+      assertThat(userRepository.findEmailsWithoutRole(request.getUserIds(), customRole.getId()))
+          .isEmpty();
+    }
+  }
+
+  @Nested
+  class RoleServiceQueries {
+    @Test
+    void getAllRolesShouldIssueOneQuery() {
+      assertThat(queries.count(() -> roleService.getAllRoles())).isEqualTo(1);
+    }
+
+    @Test
+    void getRoleByIdShouldIssueOneQuery() {
+      assertThat(queries.count(() -> roleService.getRoleById(customRole.getId()))).isEqualTo(1);
+    }
+
+    @Test
+    void createRoleShouldIssueConstantQueries() {
+      CreateRoleRequest request =
+          new CreateRoleRequest("ROLE_SUPPORT", Set.of(Permission.USER_READ));
+
+      assertThat(queries.count(() -> roleService.createRole(request))).isEqualTo(3);
+    }
+
+    @Test
+    void getRoleMembersShouldIssueTwoQueriesPerPage() {
+      // role exists check, then one page of members
+      assertThat(
+              queries.count(
+                  () ->
+                      assertThat(
+                              roleService.getRoleMembers(customRole.getId(), null, 3).getMembers())
+                          .hasSize(3)))
+          .isEqualTo(2);
+    }
+
+    @Test
+    void deleteRoleShouldCheckMembershipWithoutLoadingUsers() {
+      // role, then one membership probe; the users holding it are never loaded
+      assertThat(
+              queries.count(
+                  () ->
+                      assertThatThrownBy(() -> roleService.deleteRole(customRole.getId()))
+                          .hasMessage("Cannot delete role that is assigned to users")))
+          .isEqualTo(2);
+    }
+
+    @Test
+    void updateRoleShouldIssueConstantQueries() {
+      UpdateRoleRequest request =
+          new UpdateRoleRequest("ROLE_AUDITOR", Set.of(Permission.USER_READ));
+
+      assertThat(queries.count(() -> roleService.updateRole(customRole.getId(), request)))
+          .isEqualTo(4);
+    }
+  }
+}
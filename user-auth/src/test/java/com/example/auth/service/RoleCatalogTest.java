@@ -0,0 +1,89 @@
+package com.example.auth.service;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.http.HttpStatus;
+
+import com.example.auth.exception.CustomException;
+import com.example.auth.model.Permission;
+import com.example.auth.model.Role;
+import com.example.auth.repository.RoleRepository;
+import com.example.auth.security.InProcessInvalidationBus;
+import com.example.auth.support.QueryCounter;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+class RoleCatalogTest {
+  @Autowired private TestEntityManager entityManager;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+  @Autowired private RoleRepository roleRepository;
+
+  private RoleCatalog catalog;
+  private Role auditor;
+
+  @BeforeEach
+  void setUp() {
+    auditor =
+        entityManager.persistAndFlush(
+            Role.builder().name("ROLE_AUDITOR").permissions(Set.of(Permission.USER_READ)).build());
+    catalog =
+        new RoleCatalog(roleRepository, new InProcessInvalidationBus(Duration.ofMinutes(1), 500));
+    catalog.reload();
+  }
+
+  @Test
+  void shouldResolveNamesLoadedFromDatabase() {
+    // Act & Assert
+    assertThat(catalog.require("ROLE_AUDITOR").id()).isEqualTo(auditor.getId());
+    assertThat(catalog.require("ROLE_AUDITOR").permissions()).containsExactly(Permission.USER_READ);
+    assertThat(catalog.find("ROLE_MISSING")).isEmpty();
+    assertThatThrownBy(() -> catalog.require("ROLE_MISSING"))
+        .isInstanceOfSatisfying(
+            CustomException.class, e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.NOT_FOUND));
+  }
+
+  @Test
+  void referenceShouldNotQueryOrLoadTheRole() {
+    // Arrange
+    QueryCounter queries = new QueryCounter(entityManagerFactory);
+    Set<Role> roles = new HashSet<>();
+
+    // Act
+    long statements = queries.count(() -> roles.add(catalog.reference("ROLE_AUDITOR")));
+
+    // Assert: hashing the reference into a set does not initialize it either
+    assertThat(statements).isZero();
+    assertThat(roles)
+        .singleElement()
+        .satisfies(role -> assertThat(Hibernate.isInitialized(role)).isFalse());
+    assertThat(roles).contains(roleRepository.findById(auditor.getId()).orElseThrow());
+  }
+
+  @Test
+  void reloadShouldReplaceTheWholeCatalog() {
+    // Arrange
+    entityManager.persistAndFlush(
+        Role.builder().name("ROLE_SUPPORT").permissions(Set.of(Permission.USER_READ)).build());
+    entityManager.remove(auditor);
+    entityManager.flush();
+
+    // Act
+    catalog.reload();
+
+    // Assert
+    assertThat(catalog.find("ROLE_SUPPORT")).isPresent();
+    assertThat(catalog.find("ROLE_AUDITOR")).isEmpty();
+  }
+}
@@ -0,0 +1,169 @@
+package com.example.auth.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import com.example.auth.model.AuthenticatedUser;
+import com.example.auth.model.InvalidationEvent;
+import com.example.auth.security.InProcessInvalidationBus;
+import com.example.auth.security.InvalidationBus;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserDetailsCacheTest {
+  private UserDetailsCache cache;
+  private AtomicInteger loads;
+
+  @BeforeEach
+  void setUp() {
+    cache =
+        new UserDetailsCache(
+            true,
+            100,
+            Duration.ofMinutes(5),
+            new InProcessInvalidationBus(Duration.ofMinutes(1), 500),
+            new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class));
+    loads = new AtomicInteger();
+  }
+
+  private AuthenticatedUser load(String email, String... authorities) {
+    loads.incrementAndGet();
+    return new AuthenticatedUser(
+        1L, email, "hash", List.of(authorities).stream().map(SimpleGrantedAuthority::new).toList());
+  }
+
+  @Nested
+  class Lookup {
+    @Test
+    void shouldLoadOnceAndServeHitsFromCache() {
+      // Act
+      cache.get("a@example.com", email -> load(email, "ROLE_USER"));
+      cache.get("a@example.com", email -> load(email, "ROLE_USER"));
+
+      // Assert
+      CacheStats stats = cache.stats();
+      assertThat(loads).hasValue(1);
+      assertThat(stats.hitCount()).isEqualTo(1);
+      assertThat(stats.missCount()).isEqualTo(1);
+    }
+  }
+
+  @Nested
+  class Invalidation {
+    @Test
+    void shouldEvictSingleUser() {
+      // Arrange
+      cache.get("a@example.com", email -> load(email, "ROLE_USER"));
+
+      // Act
+      cache.invalidate("a@example.com");
+      cache.get("a@example.com", email -> load(email, "ROLE_USER"));
+
+      // Assert
+      assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void shouldEvictOnlyHoldersOfChangedRole() {
+      // Arrange
+      cache.get("manager@example.com", email -> load(email, "ROLE_MANAGER", "user:update"));
+      cache.get("user@example.com", email -> load(email, "ROLE_USER"));
+
+      // Act
+      cache.invalidateRole("ROLE_MANAGER");
+      cache.get("manager@example.com", email -> load(email, "ROLE_MANAGER", "user:update"));
+      cache.get("user@example.com", email -> load(email, "ROLE_USER"));
+
+      // Assert
+      assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void shouldDiscardLoadThatOverlapsInvalidation() {
+      // Arrange: the role changes while the old snapshot is being read
+      cache.get(
+          "a@example.com",
+          email -> {
+            AuthenticatedUser stale = load(email, "ROLE_USER");
+            cache.invalidate(email);
+            return stale;
+          });
+
+      // Act
+      cache.get("a@example.com", email -> load(email, "ROLE_ADMIN"));
+
+      // Assert
+      assertThat(loads).hasValue(2);
+    }
+  }
+
+  @Nested
+  class ClusterInvalidation {
+    @Test
+    void shouldEvictOnOtherNodeAfterFlush() {
+      // Arrange
+      InProcessInvalidationBus.Hub hub = new InProcessInvalidationBus.Hub();
+      InProcessInvalidationBus busA = new InProcessInvalidationBus(hub, Duration.ofHours(1), 500);
+      InProcessInvalidationBus busB = new InProcessInvalidationBus(hub, Duration.ofHours(1), 500);
+      UserDetailsCache nodeA = node(busA);
+      UserDetailsCache nodeB = node(busB);
+      nodeB.get("a@example.com", email -> load(email, "ROLE_USER"));
+
+      // Act
+      nodeA.invalidate("a@example.com");
+      busA.flush();
+      nodeB.get("a@example.com", email -> load(email, "ROLE_ADMIN"));
+
+      // Assert
+      assertThat(loads).hasValue(2);
+      busA.close();
+      busB.close();
+    }
+
+    @Test
+    void shouldEvictBulkChangeOnOtherNodeWithOneEvent() {
+      // Arrange
+      InProcessInvalidationBus.Hub hub = new InProcessInvalidationBus.Hub();
+      InProcessInvalidationBus busA = new InProcessInvalidationBus(hub, Duration.ofHours(1), 500);
+      InProcessInvalidationBus busB = new InProcessInvalidationBus(hub, Duration.ofHours(1), 500);
+      List<InvalidationEvent> received = new ArrayList<>();
+      busB.subscribe(received::add);
+      UserDetailsCache nodeA = node(busA);
+      UserDetailsCache nodeB = node(busB);
+      nodeA.get("c@example.com", email -> load(email, "ROLE_USER"));
+      nodeB.get("a@example.com", email -> load(email, "ROLE_USER"));
+
+      // Act
+      nodeA.invalidate(List.of("a@example.com", "b@example.com"));
+      busA.flush();
+      nodeA.get("c@example.com", email -> load(email, "ROLE_USER"));
+      nodeB.get("a@example.com", email -> load(email, "ROLE_ADMIN"));
+
+      // Assert: this node keeps unrelated users; the other node is told once
+      assertThat(loads).hasValue(3);
+      assertThat(received).containsExactly(InvalidationEvent.all());
+      busA.close();
+      busB.close();
+    }
+
+    private UserDetailsCache node(InvalidationBus bus) {
+      return new UserDetailsCache(
+          true,
+          100,
+          Duration.ofMinutes(5),
+          bus,
+          new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class));
+    }
+  }
+}
@@ -0,0 +1,108 @@
+package com.example.auth.service;
+
+import java.time.Duration;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.example.auth.config.InvalidationConfig;
+import com.example.auth.model.User;
+import com.example.auth.repository.UserRepository;
+import com.example.auth.security.PasswordHashCalibrator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@Import({UserDetailsServiceImpl.class, UserDetailsCache.class, InvalidationConfig.class})
+class UserDetailsServiceImplTest {
+  private static final String EMAIL = "legacy@example.com";
+
+  @Autowired private TestEntityManager entityManager;
+  @Autowired private UserRepository userRepository;
+  @Autowired private UserDetailsServiceImpl userDetailsService;
+
+  private final PasswordEncoder encoder =
+      new PasswordHashCalibrator(Duration.ZERO).delegatingEncoder(PasswordHashCalibrator.BCRYPT);
+  private DaoAuthenticationProvider provider;
+
+  @BeforeEach
+  void setUp() {
+    provider = new DaoAuthenticationProvider();
+    provider.setUserDetailsService(userDetailsService);
+    provider.setUserDetailsPasswordService(userDetailsService);
+    provider.setPasswordEncoder(encoder);
+  }
+
+  private void persistUser(String passwordHash) {
+    entityManager.persist(
+        User.builder()
+            .email(EMAIL)
+            .password(passwordHash)
+            .firstName("Legacy")
+            .lastName("User")
+            .roles(Set.of())
+            .build());
+    entityManager.flush();
+    entityManager.clear();
+  }
+
+  private String storedHash() {
+    entityManager.clear();
+    return userRepository.findByEmail(EMAIL).orElseThrow().getPassword();
+  }
+
+  @Nested
+  class PasswordUpgrade {
+    @Test
+    void shouldRehashOutdatedPasswordOnSuccessfulLogin() {
+      // Arrange
+      persistUser(new BCryptPasswordEncoder(4).encode("secret"));
+
+      // Act
+      provider.authenticate(new UsernamePasswordAuthenticationToken(EMAIL, "secret"));
+
+      // Assert
+      String stored = storedHash();
+      assertThat(stored).startsWith("{bcrypt}$2a$10$");
+      assertThat(encoder.matches("secret", stored)).isTrue();
+    }
+
+    @Test
+    void shouldKeepCurrentHash() {
+      // Arrange
+      String current = encoder.encode("secret");
+      persistUser(current);
+
+      // Act
+      provider.authenticate(new UsernamePasswordAuthenticationToken(EMAIL, "secret"));
+
+      // Assert
+      assertThat(storedHash()).isEqualTo(current);
+    }
+
+    @Test
+    void shouldNotRehashAfterFailedLogin() {
+      // Arrange
+      String legacy = new BCryptPasswordEncoder(4).encode("secret");
+      persistUser(legacy);
+
+      // Act & Assert
+      assertThatThrownBy(
+              () -> provider.authenticate(new UsernamePasswordAuthenticationToken(EMAIL, "wrong")))
+          .isInstanceOf(BadCredentialsException.class);
+      assertThat(storedHash()).isEqualTo(legacy);
+    }
+  }
+}
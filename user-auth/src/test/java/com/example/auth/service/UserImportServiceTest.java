@@ -0,0 +1,214 @@
+package com.example.auth.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.example.auth.config.PersistenceConfig;
+import com.example.auth.dto.SignupRequest;
+import com.example.auth.dto.UserImportResult;
+import com.example.auth.dto.UserImportResult.Status;
+import com.example.auth.exception.CustomException;
+import com.example.auth.model.Role;
+import com.example.auth.model.User;
+import com.example.auth.repository.RoleRepository;
+import com.example.auth.repository.UserRepository;
+import com.example.auth.support.QueryCounter;
+import com.example.auth.support.ServiceTestConfiguration;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest(properties = "auth.user-import.chunk-size=3")
+@Import({
+  UserImportService.class,
+  PersistenceConfig.class,
+  RoleService.class,
+  RoleCatalog.class,
+  JwtService.class,
+  RefreshTokenService.class,
+  AccessTokenDenylist.class,
+  AuthorizationEpochRegistry.class,
+  UserDetailsCache.class,
+  UserDetailsServiceImpl.class,
+  ServiceTestConfiguration.class
+})
+class UserImportServiceTest {
+  private static final String PASSWORD = "Secret@123";
+
+  @Autowired private TestEntityManager entityManager;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+  @Autowired private UserRepository userRepository;
+  @Autowired private RoleRepository roleRepository;
+  @Autowired private UserImportService userImportService;
+  @Autowired private ObjectMapper objectMapper;
+  @Autowired private PasswordEncoder passwordEncoder;
+
+  @BeforeEach
+  void setUp() {
+    entityManager.persistAndFlush(
+        User.builder()
+            .email("existing@example.com")
+            .password("secret")
+            .firstName("Existing")
+            .lastName("User")
+            .roles(Set.of(roleRepository.findByName("ROLE_USER").orElseThrow()))
+            .build());
+  }
+
+  private List<UserImportResult> importUsers(String body, MediaType contentType)
+      throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    userImportService
+        .importUsers(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), contentType)
+        .writeTo(out);
+    List<UserImportResult> results = new ArrayList<>();
+    for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+      results.add(objectMapper.readValue(line, UserImportResult.class));
+    }
+    return results;
+  }
+
+  @Test
+  void csvImportShouldCreateUsersAndReportEveryRow() throws IOException {
+    // Arrange: columns in any order, a quoted field, a blank line and three kinds of rejects
+    String csv =
+        String.join(
+            "\n",
+            "lastName,email,firstName,password",
+            "Doe,jane@example.com,Jane," + PASSWORD,
+            "\"Smith, Jr\",john@example.com,John," + PASSWORD,
+            "",
+            "User,existing@example.com,Existing," + PASSWORD,
+            "Doe,jane@example.com,Janet," + PASSWORD,
+            "Doe,not-an-email,Jane," + PASSWORD,
+            "Roe,rick@example.com,Rick," + PASSWORD);
+
+    // Act
+    List<UserImportResult> results = importUsers(csv, UserImportService.TEXT_CSV);
+
+    // Assert
+    assertThat(results)
+        .extracting(UserImportResult::getLine, UserImportResult::getStatus)
+        .containsExactly(
+            tuple(2L, Status.CREATED),
+            tuple(3L, Status.CREATED),
+            tuple(5L, Status.DUPLICATE),
+            tuple(6L, Status.DUPLICATE),
+            tuple(7L, Status.INVALID),
+            tuple(8L, Status.CREATED));
+    assertThat(results.get(4).getMessage()).isEqualTo("Invalid email format");
+
+    User john = userRepository.findByEmail("john@example.com").orElseThrow();
+    assertThat(john.getId()).isEqualTo(results.get(1).getId());
+    assertThat(john.getLastName()).isEqualTo("Smith, Jr");
+    assertThat(passwordEncoder.matches(PASSWORD, john.getPassword())).isTrue();
+    assertThat(john.getRoles()).extracting(Role::getName).containsExactly("ROLE_USER");
+  }
+
+  @Test
+  void csvImportShouldRejectHeaderWithoutRequiredColumns() {
+    // Act & Assert
+    assertThatThrownBy(() -> importUsers("email,password\n", UserImportService.TEXT_CSV))
+        .isInstanceOfSatisfying(
+            CustomException.class,
+            e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST));
+  }
+
+  @Test
+  void csvImportShouldRejectHeaderWithUnterminatedQuote() {
+    // Act & Assert
+    assertThatThrownBy(
+            () -> importUsers("email,password,\"firstName,lastName\n", UserImportService.TEXT_CSV))
+        .isInstanceOfSatisfying(
+            CustomException.class,
+            e -> {
+              assertThat(e.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST);
+              assertThat(e.getMessage()).isEqualTo("CSV header has an unterminated quoted field");
+            });
+  }
+
+  @Test
+  void csvImportShouldKeepPasswordWhitespace() throws IOException {
+    // Arrange: the other columns are trimmed, the password is not
+    String password = "  " + PASSWORD + " ";
+    String csv = "email,password,firstName,lastName\n pad@example.com ,%s, Pat , Lee \n";
+
+    // Act
+    List<UserImportResult> results =
+        importUsers(csv.formatted(password), UserImportService.TEXT_CSV);
+
+    // Assert
+    assertThat(results).extracting(UserImportResult::getStatus).containsExactly(Status.CREATED);
+    User pat = userRepository.findByEmail("pad@example.com").orElseThrow();
+    assertThat(pat.getFirstName()).isEqualTo("Pat");
+    assertThat(passwordEncoder.matches(password, pat.getPassword())).isTrue();
+    assertThat(passwordEncoder.matches(PASSWORD, pat.getPassword())).isFalse();
+  }
+
+  @Test
+  void ndjsonImportShouldReportMalformedLinesAndContinue() throws IOException {
+    // Arrange
+    String ndjson =
+        "{\"email\":\"ann@example.com\",\"password\":\"%s\",\"firstName\":\"Ann\",\"lastName\":\"Lee\",\"extra\":1}\n{not json\n"
+            .formatted(PASSWORD);
+
+    // Act
+    List<UserImportResult> results = importUsers(ndjson, MediaType.APPLICATION_NDJSON);
+
+    // Assert
+    assertThat(results)
+        .extracting(UserImportResult::getStatus)
+        .containsExactly(Status.CREATED, Status.INVALID);
+    assertThat(results.get(1).getMessage()).isEqualTo("Malformed JSON");
+    assertThat(userRepository.existsByEmail("ann@example.com")).isTrue();
+  }
+
+  @Test
+  void shouldCheckExistingEmailsOncePerChunk() throws IOException {
+    // Arrange
+    StringBuilder ndjson = new StringBuilder();
+    for (int i = 0; i < 6; i++) {
+      ndjson.append(
+          objectMapper.writeValueAsString(
+              new SignupRequest("bulk" + i + "@example.com", PASSWORD, "Bulk", "User")));
+      ndjson.append('\n');
+    }
+    QueryCounter queries = new QueryCounter(entityManagerFactory);
+
+    // Act: two chunks of three
+    long statements =
+        queries.count(
+            () -> {
+              try {
+                importUsers(ndjson.toString(), MediaType.APPLICATION_NDJSON);
+              } catch (IOException e) {
+                throw new IllegalStateException(e);
+              }
+            });
+
+    // Assert: at most one sequence call, then per chunk the email check and one batch each into
+    // users and user_roles
+    assertThat(statements).isBetween(6L, 7L);
+    assertThat(userRepository.findExistingEmails(List.of("bulk0@example.com", "bulk5@example.com")))
+        .hasSize(2);
+  }
+}
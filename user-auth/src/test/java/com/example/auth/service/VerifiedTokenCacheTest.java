@@ -0,0 +1,159 @@
+package com.example.auth.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.security.core.userdetails.User;
+
+import com.example.auth.model.ParsedToken;
+import com.example.auth.model.TokenType;
+import com.example.auth.model.VerifiedToken;
+import com.example.auth.security.InProcessInvalidationBus;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VerifiedTokenCacheTest {
+  private AuthorizationEpochRegistry registry;
+  private VerifiedTokenCache cache;
+  private AtomicInteger verifications;
+
+  @BeforeEach
+  void setUp() throws InterruptedException {
+    registry =
+        new AuthorizationEpochRegistry(new InProcessInvalidationBus(Duration.ofMinutes(1), 500));
+    cache = cache(true);
+    verifications = new AtomicInteger();
+    // Entries verified in the registry's first millisecond would count as older than its start
+    Thread.sleep(2);
+  }
+
+  private VerifiedTokenCache cache(boolean enabled) {
+    return new VerifiedTokenCache(
+        enabled,
+        100,
+        Duration.ofMinutes(5),
+        registry,
+        new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class));
+  }
+
+  private VerifiedToken verify(String subject, Instant expiresAt) {
+    verifications.incrementAndGet();
+    ParsedToken token =
+        new ParsedToken(
+            subject, Instant.now(), expiresAt, Set.of(), TokenType.ACCESS, null, "jti", null);
+    return new VerifiedToken(
+        token,
+        User.withUsername(subject).password("n/a").authorities("ROLE_USER", "user:read").build(),
+        System.currentTimeMillis());
+  }
+
+  private VerifiedToken get(String token, Instant expiresAt) {
+    return cache.get(token, jwt -> verify("a@example.com", expiresAt));
+  }
+
+  @Nested
+  class Lookup {
+    @Test
+    void shouldVerifyOnceAndServeHitsFromCache() {
+      // Arrange
+      Instant expiresAt = Instant.now().plusSeconds(60);
+
+      // Act
+      VerifiedToken first = get("token", expiresAt);
+      VerifiedToken second = get("token", expiresAt);
+
+      // Assert
+      assertThat(second).isSameAs(first);
+      assertThat(verifications).hasValue(1);
+      assertThat(cache.stats().hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotCacheTokensThatAuthenticateNoOne() {
+      // Act
+      cache.get("token", jwt -> null);
+      VerifiedToken verified = get("token", Instant.now().plusSeconds(60));
+
+      // Assert
+      assertThat(verified).isNotNull();
+      assertThat(verifications).hasValue(1);
+    }
+
+    @Test
+    void shouldVerifyEveryTimeWhenDisabled() {
+      // Arrange
+      cache = cache(false);
+
+      // Act
+      get("token", Instant.now().plusSeconds(60));
+      get("token", Instant.now().plusSeconds(60));
+
+      // Assert
+      assertThat(verifications).hasValue(2);
+    }
+
+    @Test
+    void shouldExpireEntryWithItsToken() throws InterruptedException {
+      // Arrange
+      Instant expiresAt = Instant.now().plusMillis(50);
+      get("token", expiresAt);
+
+      // Act
+      Thread.sleep(100);
+      get("token", Instant.now().plusSeconds(60));
+
+      // Assert
+      assertThat(verifications).hasValue(2);
+    }
+  }
+
+  @Nested
+  class Staleness {
+    @Test
+    void shouldReverifyAfterSubjectChange() {
+      // Arrange
+      get("token", Instant.now().plusSeconds(60));
+
+      // Act
+      registry.advanceSubject("a@example.com");
+      get("token", Instant.now().plusSeconds(60));
+
+      // Assert
+      assertThat(verifications).hasValue(2);
+    }
+
+    @Test
+    void shouldReverifyAfterChangeToHeldRole() {
+      // Arrange
+      get("token", Instant.now().plusSeconds(60));
+
+      // Act
+      registry.advanceRole("ROLE_USER");
+      get("token", Instant.now().plusSeconds(60));
+
+      // Assert
+      assertThat(verifications).hasValue(2);
+    }
+
+    @Test
+    void shouldKeepEntryWhenOtherRoleChanges() {
+      // Arrange
+      get("token", Instant.now().plusSeconds(60));
+
+      // Act
+      registry.advanceRole("ROLE_MANAGER");
+      get("token", Instant.now().plusSeconds(60));
+
+      // Assert
+      assertThat(verifications).hasValue(1);
+    }
+  }
+}
@@ -0,0 +1,33 @@
+package com.example.auth.support;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Counts the SQL statements Hibernate prepares while an action runs, using Hibernate statistics.
+ * The persistence context is flushed and cleared first so earlier work is neither counted nor
+ * served from the first-level cache, and flushed again afterwards so pending writes are counted.
+ */
+public final class QueryCounter {
+  private final EntityManager entityManager;
+  private final Statistics statistics;
+
+  public QueryCounter(EntityManagerFactory entityManagerFactory) {
+    this.entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+    this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    this.statistics.setStatisticsEnabled(true);
+  }
+
+  public long count(Runnable action) {
+    entityManager.flush();
+    entityManager.clear();
+    statistics.clear();
+    action.run();
+    entityManager.flush();
+    return statistics.getPrepareStatementCount();
+  }
+}
@@ -0,0 +1,67 @@
+package com.example.auth.support;
+
+import java.time.Duration;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import com.example.auth.security.InMemoryRefreshTokenStore;
+import com.example.auth.security.InMemoryRevocationLog;
+import com.example.auth.security.InProcessInvalidationBus;
+import com.example.auth.security.InvalidationBus;
+import com.example.auth.security.RefreshTokenStore;
+import com.example.auth.security.RevocationLog;
+import com.example.auth.service.UserDetailsServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Collaborators the services need in a {@code @DataJpaTest} slice, for use with {@code @Import}.
+ * Kept top-level so nested test classes resolve to the same application context as their enclosing
+ * class, and unannotated so component scanning in full-context tests skips it.
+ */
+public class ServiceTestConfiguration {
+  // Lowest BCrypt cost, so hashing stays fast without a deprecated no-op encoder
+  @Bean
+  PasswordEncoder passwordEncoder() {
+    return new BCryptPasswordEncoder(4);
+  }
+
+  @Bean
+  AuthenticationManager authenticationManager(
+      UserDetailsServiceImpl userDetailsService, PasswordEncoder passwordEncoder) {
+    DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+    provider.setUserDetailsService(userDetailsService);
+    provider.setPasswordEncoder(passwordEncoder);
+    return new ProviderManager(provider);
+  }
+
+  @Bean
+  RefreshTokenStore refreshTokenStore() {
+    return new InMemoryRefreshTokenStore();
+  }
+
+  @Bean
+  RevocationLog revocationLog() {
+    return new InMemoryRevocationLog();
+  }
+
+  @Bean
+  InvalidationBus invalidationBus() {
+    return new InProcessInvalidationBus(Duration.ofMinutes(1), 500);
+  }
+
+  @Bean
+  ObjectMapper objectMapper() {
+    return new ObjectMapper();
+  }
+
+  @Bean
+  LocalValidatorFactoryBean validator() {
+    return new LocalValidatorFactoryBean();
+  }
+}